@@ -0,0 +1,126 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.benchmarks;
+
+import org.mastodon4j.core.api.entities.Account;
+import org.mastodon4j.core.api.entities.Instance;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Recorded JSON responses used as benchmark input.
+ */
+public enum Fixture {
+    ACCOUNT("account.json", Account.class),
+    STATUS("status.json", Status.class),
+    INSTANCE("instance.json", Instance.class),
+    TIMELINE("timeline.json", listOf(Status.class)),
+    FOLLOWERS("followers.json", listOf(Account.class));
+
+    private final String resource;
+    private final Type type;
+
+    Fixture(String resource, Type type) {
+        this.resource = resource;
+        this.type = type;
+    }
+
+    /**
+     * Returns the Java type the fixture content is bound to.
+     *
+     * @return the entity type
+     */
+    public Type type() {
+        return type;
+    }
+
+    /**
+     * Returns the raw UTF-8 encoded JSON content of the fixture.
+     *
+     * @return the fixture bytes
+     */
+    public byte[] bytes() {
+        try (InputStream in = Fixture.class.getResourceAsStream("/fixtures/" + resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the JSON content of the fixture.
+     *
+     * @return the fixture text
+     */
+    public String json() {
+        return new String(bytes(), StandardCharsets.UTF_8);
+    }
+
+    static Type listOf(Type elementType) {
+        return new ListType(elementType);
+    }
+
+    private record ListType(Type elementType) implements ParameterizedType {
+        @Override
+        public Type[] getActualTypeArguments() {
+            return new Type[]{elementType};
+        }
+
+        @Override
+        public Type getRawType() {
+            return List.class;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return null;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ParameterizedType parameterizedType
+                    && parameterizedType.getOwnerType() == null
+                    && List.class.equals(parameterizedType.getRawType())
+                    && Arrays.equals(getActualTypeArguments(), parameterizedType.getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(getActualTypeArguments()) ^ List.class.hashCode();
+        }
+    }
+}
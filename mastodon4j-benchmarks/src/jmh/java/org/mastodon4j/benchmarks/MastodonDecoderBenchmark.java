@@ -0,0 +1,114 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.benchmarks;
+
+import feign.Request;
+import feign.Response;
+import org.mastodon4j.core.DeduplicatingJsonCodec;
+import org.mastodon4j.core.Projection;
+import org.mastodon4j.core.impl.JsonUtil;
+import org.mastodon4j.core.impl.MastodonDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding complete REST responses, including the deduplicating and projecting decode modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MastodonDecoderBenchmark {
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET,
+            "https://mastodon.social/api/v1/timelines/home", Map.of(), null, StandardCharsets.UTF_8, null);
+
+    @Param
+    public Fixture fixture;
+
+    private byte[] body;
+    private Type type;
+    private MastodonDecoder decoder;
+    private MastodonDecoder deduplicatingDecoder;
+    private Projection projection;
+
+    @Setup
+    public void setup() {
+        body = fixture.bytes();
+        type = fixture.type();
+        decoder = new MastodonDecoder(JsonUtil.defaultCodec());
+        deduplicatingDecoder = new MastodonDecoder(new DeduplicatingJsonCodec());
+        projection = Projection.of("id", "created_at", "account.id", "tags", "language");
+    }
+
+    private Response response() {
+        return Response.builder()
+                .status(200)
+                .request(REQUEST)
+                .headers(Map.of("Content-Type", List.of("application/json; charset=utf-8")))
+                .body(body)
+                .build();
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return decoder.decode(response(), type);
+    }
+
+    @Benchmark
+    public Object decodeDeduplicated() throws IOException {
+        return deduplicatingDecoder.decode(response(), type);
+    }
+
+    @Benchmark
+    public Object decodeProjected() {
+        return projection.apply(() -> {
+            try {
+                return decode();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
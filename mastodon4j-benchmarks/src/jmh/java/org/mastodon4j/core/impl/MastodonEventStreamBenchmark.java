@@ -0,0 +1,153 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import org.mastodon4j.benchmarks.Fixture;
+import org.mastodon4j.core.api.entities.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MastodonEventStream#onText(WebSocket, CharSequence, boolean)} assembling an {@code update} event
+ * from its frames and dispatching it to the registered consumers.
+ * <p>
+ * The benchmark lives in the package of the event stream, as its constructor is not public.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MastodonEventStreamBenchmark {
+    /**
+     * The maximum number of characters per frame.
+     */
+    @Param({"256", "65536"})
+    public int frameSize;
+
+    /**
+     * Whether the status payload is decoded by a typed consumer.
+     */
+    @Param({"false", "true"})
+    public boolean typed;
+
+    private List<String> frames;
+    private MastodonEventStream eventStream;
+    private WebSocket webSocket;
+    private Object received;
+
+    @Setup
+    public void setup() {
+        final String event = JsonUtil.toJson(new Event(List.of("public"), "update", Fixture.STATUS.json()));
+        frames = new ArrayList<>();
+        for (int start = 0; start < event.length(); start += frameSize) {
+            frames.add(event.substring(start, Math.min(event.length(), start + frameSize)));
+        }
+        eventStream = new MastodonEventStream(JsonUtil.defaultCodec());
+        if (typed) {
+            eventStream.registerTypedConsumer(typedEvent -> received = typedEvent.status().orElseThrow());
+        } else {
+            eventStream.registerConsumer(streamEvent -> received = streamEvent);
+        }
+        webSocket = new NoOpWebSocket();
+    }
+
+    @Benchmark
+    public Object onText() {
+        final int last = frames.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            eventStream.onText(webSocket, frames.get(i), i == last);
+        }
+        return received;
+    }
+
+    private static final class NoOpWebSocket implements WebSocket {
+        @Override
+        public CompletableFuture<WebSocket> sendText(CharSequence data, boolean last) {
+            return CompletableFuture.completedFuture(this);
+        }
+
+        @Override
+        public CompletableFuture<WebSocket> sendBinary(ByteBuffer data, boolean last) {
+            return CompletableFuture.completedFuture(this);
+        }
+
+        @Override
+        public CompletableFuture<WebSocket> sendPing(ByteBuffer message) {
+            return CompletableFuture.completedFuture(this);
+        }
+
+        @Override
+        public CompletableFuture<WebSocket> sendPong(ByteBuffer message) {
+            return CompletableFuture.completedFuture(this);
+        }
+
+        @Override
+        public CompletableFuture<WebSocket> sendClose(int statusCode, String reason) {
+            return CompletableFuture.completedFuture(this);
+        }
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public String getSubprotocol() {
+            return "";
+        }
+
+        @Override
+        public boolean isOutputClosed() {
+            return false;
+        }
+
+        @Override
+        public boolean isInputClosed() {
+            return false;
+        }
+
+        @Override
+        public void abort() {
+        }
+    }
+}
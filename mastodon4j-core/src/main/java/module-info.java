@@ -27,10 +27,15 @@ module org.mastodon4j.core {
     exports org.mastodon4j.core;
     exports org.mastodon4j.core.api;
     exports org.mastodon4j.core.api.entities;
+    exports org.mastodon4j.core.spi;
 
-    requires java.net.http;
+    requires transitive java.net.http;
+    requires transitive jakarta.json;
     requires jakarta.json.bind;
+    requires org.eclipse.yasson;
     requires feign.core;
     requires feign.java11;
     requires feign.json;
+
+    uses org.mastodon4j.core.spi.JsonCodec;
 }
\ No newline at end of file
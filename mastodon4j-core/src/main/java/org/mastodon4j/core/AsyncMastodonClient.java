@@ -0,0 +1,110 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import feign.AsyncFeign;
+import org.mastodon4j.core.api.AsyncAccounts;
+import org.mastodon4j.core.api.AsyncBaseMastodonApi;
+import org.mastodon4j.core.api.AsyncLists;
+import org.mastodon4j.core.api.AsyncMastodonApi;
+import org.mastodon4j.core.api.AsyncStatuses;
+import org.mastodon4j.core.api.AsyncTimelines;
+import org.mastodon4j.core.api.BaseMastodonApi.QueryOptions;
+import org.mastodon4j.core.api.entities.Instance;
+import org.mastodon4j.core.api.entities.Search;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+class AsyncMastodonClient implements AsyncMastodonApi {
+    private final AsyncFeign.AsyncBuilder<Object> builder;
+    private final String restUrl;
+    private final AsyncBaseMastodonApi globals;
+    private final InstanceCache instanceCache;
+    private final Supplier<Instance> instanceLoader;
+
+    private AsyncAccounts accounts;
+    private AsyncLists lists;
+    private AsyncStatuses statuses;
+    private AsyncTimelines timelines;
+
+    AsyncMastodonClient(final AsyncFeign.AsyncBuilder<Object> builder, final String restUrl,
+                        final InstanceCache instanceCache, final Supplier<Instance> instanceLoader) {
+        this.builder = builder;
+        this.restUrl = restUrl;
+        this.globals = builder.target(AsyncBaseMastodonApi.class, restUrl);
+        this.instanceCache = instanceCache;
+        this.instanceLoader = instanceLoader;
+    }
+
+    @Override
+    public AsyncAccounts accounts() {
+        if (accounts == null) {
+            accounts = builder.target(AsyncAccounts.class, restUrl);
+        }
+        return accounts;
+    }
+
+    @Override
+    public AsyncLists lists() {
+        if (lists == null) {
+            lists = builder.target(AsyncLists.class, restUrl);
+        }
+        return lists;
+    }
+
+    @Override
+    public AsyncStatuses statuses() {
+        if (statuses == null) {
+            statuses = builder.target(AsyncStatuses.class, restUrl);
+        }
+        return statuses;
+    }
+
+    @Override
+    public AsyncTimelines timelines() {
+        if (timelines == null) {
+            timelines = builder.target(AsyncTimelines.class, restUrl);
+        }
+        return timelines;
+    }
+
+    @Override
+    public CompletableFuture<Instance> instance() {
+        return instanceCache == null ? globals.instance()
+                : instanceCache.instanceAsync(restUrl, instanceLoader, globals::instance);
+    }
+
+    @Override
+    public CompletableFuture<Search> search(String query) {
+        return globals.search(QueryOptions.of(query));
+    }
+
+    @Override
+    public CompletableFuture<Search> search(QueryOptions queryOptions) {
+        return globals.search(queryOptions);
+    }
+}
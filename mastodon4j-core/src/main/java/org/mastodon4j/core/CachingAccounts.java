@@ -0,0 +1,110 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.mastodon4j.core.api.Accounts;
+import org.mastodon4j.core.api.Page;
+import org.mastodon4j.core.api.entities.Account;
+import org.mastodon4j.core.api.entities.MList;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+class CachingAccounts implements Accounts {
+    private final Accounts accounts;
+    private final EntityCache entityCache;
+
+    CachingAccounts(final Accounts accounts, final EntityCache entityCache) {
+        this.accounts = accounts;
+        this.entityCache = entityCache;
+    }
+
+    @Override
+    public Account get(String id) {
+        return entityCache.account(id, accounts::get);
+    }
+
+    @Override
+    public List<Account> get(List<String> ids) {
+        return entityCache.accounts(ids, accounts::get);
+    }
+
+    @Override
+    public List<MList> lists(String id) {
+        return accounts.lists(id);
+    }
+
+    @Override
+    public List<Status> statuses(String id) {
+        return accounts.statuses(id);
+    }
+
+    @Override
+    public Stream<Status> statusesStream(String id) {
+        return accounts.statusesStream(id);
+    }
+
+    @Override
+    public Page<Status> statusesPage(String id) {
+        return accounts.statusesPage(id);
+    }
+
+    @Override
+    public List<Account> followers(String id) {
+        return accounts.followers(id);
+    }
+
+    @Override
+    public Stream<Account> followersStream(String id) {
+        return accounts.followersStream(id);
+    }
+
+    @Override
+    public Page<Account> followersPage(String id) {
+        return accounts.followersPage(id);
+    }
+
+    @Override
+    public List<Account> following(String id) {
+        return accounts.following(id);
+    }
+
+    @Override
+    public Stream<Account> followingStream(String id) {
+        return accounts.followingStream(id);
+    }
+
+    @Override
+    public Page<Account> followingPage(String id) {
+        return accounts.followingPage(id);
+    }
+
+    @Override
+    public List<Account> search(String query) {
+        return accounts.search(query);
+    }
+}
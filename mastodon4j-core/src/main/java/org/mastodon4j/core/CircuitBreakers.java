@@ -0,0 +1,297 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.Request;
+import feign.RequestLine;
+import org.mastodon4j.core.impl.CircuitBreaker;
+import org.mastodon4j.core.impl.CircuitBreakingClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Circuit breakers of the endpoints of mastodon servers, each endpoint being identified by its {@code @RequestLine}
+ * template resolved against its server, for example {@code GET https://mastodon.social/api/v1/accounts/{id}}.
+ * <p>
+ * A closed circuit breaker keeps the outcome of the last calls of its endpoint. It opens, if the rate of failed
+ * calls, i.e. I/O errors and {@code 5xx} responses, or the rate of slow calls reaches its threshold. While open, calls
+ * fail immediately with a {@link CircuitOpenException}. After the open duration a limited number of trial calls is
+ * permitted, closing the circuit breaker if all of them succeed and opening it again otherwise. Circuit breakers are
+ * enabled using {@link MastodonClient.Builder#circuitBreakers(CircuitBreakers)} and may be shared by clients, the
+ * failures of one server do not affect the endpoints of other servers.
+ */
+public final class CircuitBreakers {
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration slowCallDuration;
+    private final double slowCallRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final List<Consumer<Transition>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The states of a circuit breaker.
+     */
+    public enum State {
+        /**
+         * Calls are permitted and their outcome is recorded.
+         */
+        CLOSED,
+        /**
+         * Calls fail immediately.
+         */
+        OPEN,
+        /**
+         * A limited number of trial calls is permitted.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * A state transition of a circuit breaker.
+     *
+     * @param endpoint the request line template of the endpoint resolved against its server
+     * @param from     the previous state
+     * @param to       the new state
+     * @param time     the time of the transition
+     */
+    public record Transition(String endpoint, State from, State to, Instant time) {
+    }
+
+    private CircuitBreakers(Builder builder) {
+        this.windowSize = builder.windowSize;
+        this.minimumCalls = builder.minimumCalls;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallDuration = builder.slowCallDuration;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.openDuration = builder.openDuration;
+        this.halfOpenCalls = builder.halfOpenCalls;
+    }
+
+    /**
+     * Creates a builder of circuit breakers.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    CircuitBreakingClient client(Client client, AsyncClient<Object> asyncClient) {
+        return new CircuitBreakingClient(client, asyncClient, this::breaker);
+    }
+
+    private CircuitBreaker breaker(Request request) {
+        return breakers.computeIfAbsent(endpoint(request), endpoint -> new CircuitBreaker(endpoint, windowSize,
+                minimumCalls, failureRateThreshold, slowCallDuration, slowCallRateThreshold, openDuration,
+                halfOpenCalls, this::onTransition));
+    }
+
+    private static String endpoint(Request request) {
+        final URI uri = URI.create(request.url());
+        final String server = uri.getScheme() + "://" + uri.getRawAuthority();
+        if (request.requestTemplate() != null && request.requestTemplate().methodMetadata() != null
+                && request.requestTemplate().methodMetadata().method() != null) {
+            final RequestLine requestLine = request.requestTemplate().methodMetadata().method()
+                    .getAnnotation(RequestLine.class);
+            final String template = requestLine == null ? "" : requestLine.value().trim();
+            final int space = template.indexOf(' ');
+            // a request line without path, such as the one following page links, falls back to the request path
+            if (space > 0) {
+                return template.substring(0, space) + " " + server + template.substring(space + 1).trim();
+            }
+        }
+        return request.httpMethod() + " " + server + uri.getRawPath();
+    }
+
+    private void onTransition(Transition transition) {
+        listeners.forEach(listener -> listener.accept(transition));
+    }
+
+    /**
+     * Registers a listener notified about the state transitions of all circuit breakers. Listeners are called by the
+     * thread causing the transition and should return quickly.
+     *
+     * @param listener the transition listener
+     */
+    public void addListener(Consumer<Transition> listener) {
+        listeners.add(requireNonNull(listener, "listener must not be null"));
+    }
+
+    /**
+     * Returns the state of the circuit breaker of the given endpoint.
+     *
+     * @param endpoint the request line template of the endpoint resolved against its server
+     * @return the current state, {@link State#CLOSED} for endpoints not called yet
+     */
+    public State state(String endpoint) {
+        final CircuitBreaker breaker = breakers.get(endpoint);
+        return breaker == null ? State.CLOSED : breaker.state();
+    }
+
+    /**
+     * Returns the states of the circuit breakers of all called endpoints.
+     *
+     * @return the current states by request line template resolved against its server
+     */
+    public Map<String, State> states() {
+        final Map<String, State> states = new TreeMap<>();
+        breakers.forEach((endpoint, breaker) -> states.put(endpoint, breaker.state()));
+        return states;
+    }
+
+    /**
+     * Builder of circuit breakers.
+     */
+    public static final class Builder {
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 0.5;
+        private Duration slowCallDuration = Duration.ofSeconds(10);
+        private double slowCallRateThreshold = 1.0;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 3;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the number of last calls whose outcome is kept, defaults to 20.
+         *
+         * @param windowSize the number of recorded calls
+         * @return this builder
+         */
+        public Builder windowSize(int windowSize) {
+            if (windowSize <= 0) {
+                throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        /**
+         * Sets the minimum number of recorded calls before a circuit breaker may open, defaults to 10.
+         *
+         * @param minimumCalls the minimum number of calls
+         * @return this builder
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls <= 0) {
+                throw new IllegalArgumentException("minimumCalls must be positive: " + minimumCalls);
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Sets the rate of failed calls opening a circuit breaker, defaults to {@code 0.5}.
+         *
+         * @param failureRateThreshold the failure rate between {@code 0} (exclusive) and {@code 1}
+         * @return this builder
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = rate("failureRateThreshold", failureRateThreshold);
+            return this;
+        }
+
+        /**
+         * Sets the duration from which on a call is considered slow, defaults to 10 seconds.
+         *
+         * @param slowCallDuration the slow call duration
+         * @return this builder
+         */
+        public Builder slowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = requireNonNull(slowCallDuration);
+            return this;
+        }
+
+        /**
+         * Sets the rate of slow calls opening a circuit breaker, defaults to {@code 1}.
+         *
+         * @param slowCallRateThreshold the slow call rate between {@code 0} (exclusive) and {@code 1}
+         * @return this builder
+         */
+        public Builder slowCallRateThreshold(double slowCallRateThreshold) {
+            this.slowCallRateThreshold = rate("slowCallRateThreshold", slowCallRateThreshold);
+            return this;
+        }
+
+        /**
+         * Sets the time a circuit breaker stays open before permitting trial calls, defaults to 30 seconds.
+         *
+         * @param openDuration the open duration
+         * @return this builder
+         */
+        public Builder openDuration(Duration openDuration) {
+            this.openDuration = requireNonNull(openDuration);
+            return this;
+        }
+
+        /**
+         * Sets the number of trial calls of a half open circuit breaker, defaults to 3.
+         *
+         * @param halfOpenCalls the number of trial calls
+         * @return this builder
+         */
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            if (halfOpenCalls <= 0) {
+                throw new IllegalArgumentException("halfOpenCalls must be positive: " + halfOpenCalls);
+            }
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        private static double rate(String name, double rate) {
+            if (rate <= 0 || rate > 1) {
+                throw new IllegalArgumentException(name + " must be within (0, 1]: " + rate);
+            }
+            return rate;
+        }
+
+        /**
+         * Creates the circuit breakers.
+         *
+         * @return new circuit breakers
+         */
+        public CircuitBreakers build() {
+            return new CircuitBreakers(this);
+        }
+    }
+}
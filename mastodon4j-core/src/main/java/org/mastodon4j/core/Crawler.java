@@ -0,0 +1,641 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.mastodon4j.core.api.AsyncAccounts;
+import org.mastodon4j.core.api.MastodonApi;
+import org.mastodon4j.core.api.Page;
+import org.mastodon4j.core.api.entities.Account;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Crawls the followers, followed accounts or statuses of many accounts concurrently, page by page.
+ * <p>
+ * The page requests of all crawls of a crawler share a bounded number of requests in flight. Requests waiting for
+ * a free slot are queued per host and dispatched round-robin, so a large crawl of one server does not starve the
+ * crawls of others, and at most a given number of requests is in flight per host. The items of every page are
+ * passed to a {@link Sink} as soon as the page has been decoded, and the URI of the following page is then stored
+ * as the cursor of the crawled account in the {@link Checkpoints}. Crawling an account with a stored cursor resumes
+ * at that page, after fetching the first page to obtain the pagination client, and completed accounts are skipped.
+ * <p>
+ * The sink is called and the cursor stored by the thread completing the page request, typically a thread of the
+ * HTTP client, unless a {@link Builder#sinkExecutor(Executor) sink executor} is configured.
+ */
+public final class Crawler {
+    private static final String COMPLETED = "";
+
+    private final int maxInFlight;
+    private final int maxInFlightPerHost;
+    private final Checkpoints checkpoints;
+    private final Executor sinkExecutor;
+    private final Map<String, Host> hosts = new HashMap<>();
+    private final Queue<Host> ready = new ArrayDeque<>();
+    private int inFlight;
+
+    /**
+     * Crawled relation of an account.
+     *
+     * @param <T> the type of the crawled items
+     */
+    public static final class Relation<T> {
+        /**
+         * The accounts following an account.
+         */
+        public static final Relation<Account> FOLLOWERS = new Relation<>("followers", AsyncAccounts::followersPage);
+        /**
+         * The accounts followed by an account.
+         */
+        public static final Relation<Account> FOLLOWING = new Relation<>("following", AsyncAccounts::followingPage);
+        /**
+         * The statuses posted by an account.
+         */
+        public static final Relation<Status> STATUSES = new Relation<>("statuses", AsyncAccounts::statusesPage);
+
+        private final String name;
+        private final BiFunction<AsyncAccounts, String, CompletableFuture<Page<T>>> firstPage;
+
+        private Relation(String name, BiFunction<AsyncAccounts, String, CompletableFuture<Page<T>>> firstPage) {
+            this.name = name;
+            this.firstPage = firstPage;
+        }
+
+        /**
+         * Returns the name of the relation, as used in the checkpoint keys.
+         *
+         * @return the relation name
+         */
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Account crawled for one relation.
+     *
+     * @param relation  the crawled relation
+     * @param accountId the account id
+     * @param <T>       the type of the crawled items
+     */
+    public record Target<T>(Relation<T> relation, String accountId) {
+        public Target {
+            requireNonNull(relation);
+            requireNonNull(accountId);
+        }
+
+        public static Target<Account> followers(String accountId) {
+            return new Target<>(Relation.FOLLOWERS, accountId);
+        }
+
+        public static Target<Account> following(String accountId) {
+            return new Target<>(Relation.FOLLOWING, accountId);
+        }
+
+        public static Target<Status> statuses(String accountId) {
+            return new Target<>(Relation.STATUSES, accountId);
+        }
+    }
+
+    /**
+     * Receives the items of the crawled pages. A sink is called concurrently for different targets, but in page
+     * order for the same target. An exception thrown by the sink stops the crawl of the target before its cursor
+     * is stored. The sink is called by the thread completing the page request unless a
+     * {@link Builder#sinkExecutor(Executor) sink executor} is configured, so a sink blocking that thread delays
+     * the responses of other requests.
+     *
+     * @param <T> the type of the crawled items
+     */
+    @FunctionalInterface
+    public interface Sink<T> {
+        /**
+         * Accepts the items of a page.
+         *
+         * @param target the crawled target
+         * @param items  the items of the page
+         */
+        void accept(Target<T> target, List<T> items);
+    }
+
+    /**
+     * Stores the cursors of crawled targets, being the URI of the next page or an empty string once a target has
+     * been crawled completely. Implementations must be thread safe.
+     */
+    public interface Checkpoints {
+        /**
+         * Returns the stored cursor of the given key.
+         *
+         * @param key the key of a crawled target
+         * @return the cursor, or an empty optional if not crawled yet
+         */
+        Optional<String> load(String key);
+
+        /**
+         * Stores the cursor of the given key.
+         *
+         * @param key    the key of a crawled target
+         * @param cursor the cursor
+         */
+        void store(String key, String cursor);
+
+        /**
+         * Writes the stored cursors not written yet to durable storage. The crawler flushes its checkpoints once a
+         * crawl has finished, whether successfully or not.
+         *
+         * @throws UncheckedIOException if the cursors cannot be written
+         */
+        default void flush() {
+        }
+
+        /**
+         * Returns checkpoints kept in memory, allowing to resume a crawl within the same process.
+         *
+         * @return new in memory checkpoints
+         */
+        static Checkpoints inMemory() {
+            final Map<String, String> cursors = new ConcurrentHashMap<>();
+            return new Checkpoints() {
+                @Override
+                public Optional<String> load(String key) {
+                    return Optional.ofNullable(cursors.get(key));
+                }
+
+                @Override
+                public void store(String key, String cursor) {
+                    cursors.put(key, cursor);
+                }
+            };
+        }
+
+        /**
+         * Returns checkpoints kept in a properties file, which is written at most once per second. See
+         * {@link #file(Path, Duration)}.
+         *
+         * @param file the checkpoint file
+         * @return new file based checkpoints
+         * @throws UncheckedIOException if the existing file cannot be read
+         */
+        static Checkpoints file(Path file) {
+            return file(file, Duration.ofSeconds(1));
+        }
+
+        /**
+         * Returns checkpoints kept in a properties file, which is read initially if it exists. The file is
+         * atomically replaced by a store at most once per write interval and by a flush, so the cursors stored since
+         * the last write are lost if the process dies and up to one interval of pages is crawled again on resume.
+         *
+         * @param file          the checkpoint file
+         * @param writeInterval the minimum interval between writes of the file, zero to write it on every store
+         * @return new file based checkpoints
+         * @throws UncheckedIOException if the existing file cannot be read
+         */
+        static Checkpoints file(Path file, Duration writeInterval) {
+            requireNonNull(file);
+            if (writeInterval.isNegative()) {
+                throw new IllegalArgumentException("writeInterval must not be negative: " + writeInterval);
+            }
+            return new FileCheckpoints(file, writeInterval.toNanos());
+        }
+    }
+
+    private Crawler(Builder builder) {
+        this.maxInFlight = builder.maxInFlight;
+        this.maxInFlightPerHost = builder.maxInFlightPerHost;
+        this.checkpoints = builder.checkpoints;
+        this.sinkExecutor = builder.sinkExecutor;
+    }
+
+    /**
+     * Creates a builder of a crawler.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Crawls the given targets using the given client. The returned future completes once all targets have been
+     * crawled and the checkpoints have been flushed, exceptionally if the crawl of any target failed. Cancelling the
+     * future stops issuing new requests.
+     *
+     * @param api     the client of the server of the targets
+     * @param host    the host of the server, grouping its requests for fairness and in the checkpoint keys
+     * @param targets the accounts to crawl
+     * @param sink    the sink of the crawled items
+     * @param <T>     the type of the crawled items
+     * @return a future completing once the crawl has finished
+     */
+    public <T> CompletableFuture<Void> crawl(MastodonApi api, String host, Collection<Target<T>> targets,
+                                             Sink<T> sink) {
+        requireNonNull(api);
+        return crawl(host, targets, target -> target.relation().firstPage.apply(api.async().accounts(),
+                target.accountId()), sink);
+    }
+
+    <T> CompletableFuture<Void> crawl(String host, Collection<Target<T>> targets,
+                                      Function<Target<T>, CompletableFuture<Page<T>>> firstPage, Sink<T> sink) {
+        requireNonNull(host);
+        requireNonNull(sink);
+        final Crawl<T> crawl = new Crawl<>(host, firstPage, sink);
+        final CompletableFuture<?>[] futures = targets.stream()
+                .map(crawl::start)
+                .toArray(CompletableFuture<?>[]::new);
+        final CompletableFuture<Void> result = CompletableFuture.allOf(futures);
+        final CompletableFuture<Void> cancellable = new CompletableFuture<>();
+        result.whenComplete((ignored, crawlFailure) -> {
+            Throwable failure = crawlFailure;
+            try {
+                checkpoints.flush();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+            if (failure == null) {
+                cancellable.complete(null);
+            } else {
+                cancellable.completeExceptionally(failure);
+            }
+        });
+        cancellable.whenComplete((ignored, failure) -> crawl.stopped = cancellable.isCancelled());
+        return cancellable;
+    }
+
+    /**
+     * Returns the checkpoint key of the given target.
+     *
+     * @param host   the host of the server
+     * @param target the crawled target
+     * @return the checkpoint key
+     */
+    public static String key(String host, Target<?> target) {
+        return host + '/' + target.relation().name() + '/' + target.accountId();
+    }
+
+    /**
+     * Returns the number of page requests currently in flight.
+     *
+     * @return the number of requests in flight
+     */
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    private final class Crawl<T> {
+        private final String host;
+        private final Function<Target<T>, CompletableFuture<Page<T>>> firstPage;
+        private final Sink<T> sink;
+        private volatile boolean stopped;
+
+        Crawl(String host, Function<Target<T>, CompletableFuture<Page<T>>> firstPage, Sink<T> sink) {
+            this.host = host;
+            this.firstPage = firstPage;
+            this.sink = sink;
+        }
+
+        CompletableFuture<Void> start(Target<T> target) {
+            final String key = key(host, target);
+            final Optional<String> cursor = checkpoints.load(key);
+            if (cursor.filter(COMPLETED::equals).isPresent()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            final CompletableFuture<Void> done = new CompletableFuture<>();
+            final CompletableFuture<Page<T>> first = submit(host, () -> firstPage.apply(target));
+            if (cursor.isPresent()) {
+                final URI uri = URI.create(cursor.get());
+                first.whenComplete((page, failure) -> {
+                    if (failure != null) {
+                        done.completeExceptionally(failure);
+                    } else {
+                        next(target, key, submit(host, () -> page.pageAsync(uri)), done);
+                    }
+                });
+            } else {
+                next(target, key, first, done);
+            }
+            return done;
+        }
+
+        private void next(Target<T> target, String key, CompletableFuture<Page<T>> fetch,
+                          CompletableFuture<Void> done) {
+            fetch.whenCompleteAsync((page, failure) -> {
+                if (failure != null) {
+                    done.completeExceptionally(failure);
+                    return;
+                }
+                try {
+                    sink.accept(target, page.items());
+                    checkpoints.store(key, page.nextUri().map(URI::toString).orElse(COMPLETED));
+                } catch (RuntimeException e) {
+                    done.completeExceptionally(e);
+                    return;
+                }
+                if (page.hasNext()) {
+                    next(target, key, submit(host, page::nextAsync), done);
+                } else {
+                    done.complete(null);
+                }
+            }, sinkExecutor).exceptionally(failure -> {
+                // the sink executor rejected the page
+                done.completeExceptionally(failure);
+                return null;
+            });
+        }
+
+        private CompletableFuture<Page<T>> submit(String host, Supplier<CompletableFuture<Page<T>>> request) {
+            final CompletableFuture<Page<T>> result = new CompletableFuture<>();
+            if (stopped) {
+                result.completeExceptionally(new CancellationException("Crawl cancelled"));
+                return result;
+            }
+            enqueue(host, () -> {
+                CompletableFuture<Page<T>> response;
+                try {
+                    response = stopped ? CompletableFuture.failedFuture(new CancellationException("Crawl cancelled"))
+                            : request.get();
+                } catch (RuntimeException e) {
+                    response = CompletableFuture.failedFuture(e);
+                }
+                response.whenComplete((page, failure) -> {
+                    release(host);
+                    if (failure != null) {
+                        result.completeExceptionally(failure);
+                    } else {
+                        result.complete(page);
+                    }
+                });
+            });
+            return result;
+        }
+    }
+
+    private void enqueue(String host, Runnable request) {
+        synchronized (this) {
+            final Host queue = hosts.computeIfAbsent(host, name -> new Host());
+            queue.requests.add(request);
+            if (!ready.contains(queue)) {
+                ready.add(queue);
+            }
+        }
+        dispatch();
+    }
+
+    private void release(String host) {
+        synchronized (this) {
+            inFlight--;
+            final Host queue = hosts.get(host);
+            queue.inFlight--;
+            if (queue.inFlight == 0 && queue.requests.isEmpty()) {
+                hosts.remove(host);
+            } else if (!queue.requests.isEmpty() && !ready.contains(queue)) {
+                ready.add(queue);
+            }
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (true) {
+            final Runnable request;
+            synchronized (this) {
+                if (inFlight >= maxInFlight) {
+                    return;
+                }
+                Host queue = ready.poll();
+                while (queue != null && queue.inFlight >= maxInFlightPerHost) {
+                    // the host is added again once one of its requests completes
+                    queue = ready.poll();
+                }
+                if (queue == null) {
+                    return;
+                }
+                request = queue.requests.poll();
+                queue.inFlight++;
+                inFlight++;
+                if (!queue.requests.isEmpty()) {
+                    ready.add(queue);
+                }
+            }
+            request.run();
+        }
+    }
+
+    private static final class Host {
+        private final Queue<Runnable> requests = new ArrayDeque<>();
+        private int inFlight;
+    }
+
+    private static final class FileCheckpoints implements Checkpoints {
+        private final Path file;
+        private final long writeInterval;
+        private final Properties cursors = new Properties();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private final ReentrantLock writing = new ReentrantLock();
+        private volatile long written;
+
+        FileCheckpoints(Path file, long writeInterval) {
+            this.file = file;
+            this.writeInterval = writeInterval;
+            this.written = System.nanoTime() - writeInterval;
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                cursors.load(reader);
+            } catch (NoSuchFileException e) {
+                // nothing crawled yet
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Optional<String> load(String key) {
+            return Optional.ofNullable(cursors.getProperty(key));
+        }
+
+        @Override
+        public void store(String key, String cursor) {
+            cursors.setProperty(key, cursor);
+            dirty.set(true);
+            // a store during a write leaves the file dirty for the next store or flush instead of waiting
+            if (System.nanoTime() - written >= writeInterval && writing.tryLock()) {
+                try {
+                    write();
+                } finally {
+                    writing.unlock();
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+            writing.lock();
+            try {
+                write();
+            } finally {
+                writing.unlock();
+            }
+        }
+
+        private void write() {
+            if (!dirty.getAndSet(false)) {
+                return;
+            }
+            written = System.nanoTime();
+            try {
+                final Path directory = file.toAbsolutePath().getParent();
+                Files.createDirectories(directory);
+                final Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+                try {
+                    try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                        cursors.store(writer, null);
+                    }
+                    try {
+                        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                                StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(temporary);
+                }
+            } catch (IOException e) {
+                dirty.set(true);
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Builder of a {@link Crawler}.
+     */
+    public static final class Builder {
+        private int maxInFlight = 16;
+        private int maxInFlightPerHost = 4;
+        private Checkpoints checkpoints = Checkpoints.inMemory();
+        private Executor sinkExecutor = Runnable::run;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of page requests in flight over all hosts, defaults to 16.
+         *
+         * @param maxInFlight the maximum number of requests in flight
+         * @return this builder
+         */
+        public Builder maxInFlight(int maxInFlight) {
+            if (maxInFlight <= 0) {
+                throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+            }
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of page requests in flight per host, defaults to 4.
+         *
+         * @param maxInFlightPerHost the maximum number of requests in flight per host
+         * @return this builder
+         */
+        public Builder maxInFlightPerHost(int maxInFlightPerHost) {
+            if (maxInFlightPerHost <= 0) {
+                throw new IllegalArgumentException("maxInFlightPerHost must be positive: " + maxInFlightPerHost);
+            }
+            this.maxInFlightPerHost = maxInFlightPerHost;
+            return this;
+        }
+
+        /**
+         * Sets the checkpoints storing the cursors of the crawled targets, defaults to
+         * {@link Checkpoints#inMemory() in memory checkpoints}.
+         *
+         * @param checkpoints the checkpoints
+         * @return this builder
+         */
+        public Builder checkpoints(Checkpoints checkpoints) {
+            this.checkpoints = requireNonNull(checkpoints);
+            return this;
+        }
+
+        /**
+         * Sets the executor calling the sink and storing the cursors of the crawled pages, defaults to the thread
+         * completing the page request. A crawl of a target fails if the executor rejects one of its pages.
+         *
+         * @param sinkExecutor the sink executor
+         * @return this builder
+         */
+        public Builder sinkExecutor(Executor sinkExecutor) {
+            this.sinkExecutor = requireNonNull(sinkExecutor);
+            return this;
+        }
+
+        /**
+         * Creates the crawler.
+         *
+         * @return a new crawler
+         */
+        public Crawler build() {
+            return new Crawler(this);
+        }
+    }
+}
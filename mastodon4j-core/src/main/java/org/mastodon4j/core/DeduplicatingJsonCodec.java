@@ -0,0 +1,133 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import jakarta.json.stream.JsonParser;
+import org.mastodon4j.core.impl.CodecSupport;
+import org.mastodon4j.core.impl.JsonUtil;
+import org.mastodon4j.core.spi.JsonCodec;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link JsonCodec} sharing equal {@link org.mastodon4j.core.api.entities.Account Account},
+ * {@link org.mastodon4j.core.api.entities.CustomEmoji CustomEmoji} and
+ * {@link org.mastodon4j.core.api.entities.Status.Tag Status.Tag} instances while decoding, for example the author
+ * repeated across a timeline page or within its reblogs.
+ * <p>
+ * Instances are shared only if they are equal, an account with changed counters is therefore decoded as a new
+ * instance. By default the instances are shared within each decoded value only, using a window size greater than
+ * zero shares them across values by keeping the most recently used canonical instances. The shared instances
+ * must be treated as immutable, including their lists.
+ * <p>
+ * The deduplication requires the generated entity codecs of the built-in default codec, other delegate codecs
+ * decode as usual.
+ */
+public final class DeduplicatingJsonCodec implements JsonCodec {
+    private final JsonCodec delegate;
+    private final Map<Object, Object> window;
+
+    /**
+     * Creates a codec sharing the instances within each decoded value.
+     */
+    public DeduplicatingJsonCodec() {
+        this(0);
+    }
+
+    /**
+     * Creates a codec sharing the instances across decoded values, keeping up to the given number of canonical
+     * instances.
+     *
+     * @param windowSize the maximum number of canonical instances kept, or {@code 0} to share instances within
+     *                   each decoded value only
+     */
+    public DeduplicatingJsonCodec(int windowSize) {
+        this(JsonUtil.defaultCodec(), windowSize);
+    }
+
+    /**
+     * Creates a codec deduplicating the values decoded by the given codec.
+     *
+     * @param delegate   the codec used for decoding and encoding
+     * @param windowSize the maximum number of canonical instances kept, or {@code 0} to share instances within
+     *                   each decoded value only
+     */
+    public DeduplicatingJsonCodec(JsonCodec delegate, int windowSize) {
+        if (windowSize < 0) {
+            throw new IllegalArgumentException("Negative window size: " + windowSize);
+        }
+        this.delegate = requireNonNull(delegate);
+        this.window = windowSize == 0 ? null : Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                return size() > windowSize;
+            }
+        });
+    }
+
+    private Map<Object, Object> canonicalInstances() {
+        return window == null ? new HashMap<>() : window;
+    }
+
+    @Override
+    public <T> T fromJson(String json, Type runtimeType) {
+        return CodecSupport.deduplicating(canonicalInstances(), () -> delegate.fromJson(json, runtimeType));
+    }
+
+    @Override
+    public <T> T fromJson(Reader reader, Type runtimeType) {
+        return CodecSupport.deduplicating(canonicalInstances(), () -> delegate.fromJson(reader, runtimeType));
+    }
+
+    @Override
+    public <T> T fromJson(InputStream inputStream, Type runtimeType) {
+        return CodecSupport.deduplicating(canonicalInstances(), () -> delegate.fromJson(inputStream, runtimeType));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method is used for the elements of the streaming list variants, without a window the instances are
+     * therefore shared within each element only.
+     */
+    @Override
+    public <T> T fromJson(JsonParser parser, Type runtimeType) {
+        return CodecSupport.deduplicating(canonicalInstances(), () -> delegate.fromJson(parser, runtimeType));
+    }
+
+    @Override
+    public String toJson(Object object) {
+        return delegate.toJson(object);
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.mastodon4j.core.api.EventStream;
+import org.mastodon4j.core.api.TypedEvent;
+import org.mastodon4j.core.api.entities.Account;
+import org.mastodon4j.core.api.entities.Status;
+import org.mastodon4j.core.impl.CodecSupport;
+import org.mastodon4j.core.impl.TtlLruCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * In-memory cache of the statuses and accounts returned by {@code Statuses.get(id)} and {@code Accounts.get(id)}.
+ * The batch variants {@code Statuses.get(ids)} and {@code Accounts.get(ids)} only request the entities not cached.
+ * <p>
+ * A cache is enabled using {@link MastodonClient.Builder#entityCache(EntityCache)}. Each entity type has its own
+ * time to live and maximum size, the least recently used entries are evicted first. Statuses are invalidated by the
+ * {@code delete} and {@code status.update} events of the event streams the cache is
+ * {@link #attach(EventStream) attached} to.
+ */
+public final class EntityCache {
+    private final TtlLruCache<Status> statuses;
+    private final TtlLruCache<Account> accounts;
+
+    private EntityCache(Builder builder) {
+        this.statuses = new TtlLruCache<>(builder.maximumSize, builder.statusTtl);
+        this.accounts = new TtlLruCache<>(builder.maximumSize, builder.accountTtl);
+    }
+
+    /**
+     * Creates a builder of an entity cache.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    Status status(String id, Function<String, Status> loader) {
+        return projecting() ? loader.apply(id) : statuses.get(id, loader);
+    }
+
+    Account account(String id, Function<String, Account> loader) {
+        return projecting() ? loader.apply(id) : accounts.get(id, loader);
+    }
+
+    List<Status> statuses(List<String> ids, Function<List<String>, List<Status>> loader) {
+        return projecting() ? loader.apply(ids) : all(statuses, ids, loader, Status::id);
+    }
+
+    List<Account> accounts(List<String> ids, Function<List<String>, List<Account>> loader) {
+        return projecting() ? loader.apply(ids) : all(accounts, ids, loader, Account::id);
+    }
+
+    private static boolean projecting() {
+        // partially decoded entities of a projection are neither served nor kept
+        return CodecSupport.projection() != null;
+    }
+
+    private static <V> List<V> all(TtlLruCache<V> cache, List<String> ids, Function<List<String>, List<V>> loader,
+                                   Function<V, String> id) {
+        return List.copyOf(cache.getAll(ids, missing -> loader.apply(missing).stream()
+                .collect(Collectors.toMap(id, value -> value, (first, second) -> first))).values());
+    }
+
+    /**
+     * Registers a consumer on the given event stream invalidating deleted and edited statuses.
+     *
+     * @param eventStream the event stream to attach to
+     */
+    public void attach(EventStream eventStream) {
+        requireNonNull(eventStream, "eventStream must not be null").registerTypedConsumer(this::onEvent);
+    }
+
+    private void onEvent(TypedEvent event) {
+        switch (event.type()) {
+            case DELETE -> event.deletedStatusId().ifPresent(statuses::invalidate);
+            case STATUS_UPDATE -> event.status().map(Status::id).ifPresent(statuses::invalidate);
+            default -> {
+                // other events do not affect cached entities
+            }
+        }
+    }
+
+    /**
+     * Removes the status with the given id.
+     *
+     * @param id the status id
+     */
+    public void invalidateStatus(String id) {
+        statuses.invalidate(id);
+    }
+
+    /**
+     * Removes the account with the given id.
+     *
+     * @param id the account id
+     */
+    public void invalidateAccount(String id) {
+        accounts.invalidate(id);
+    }
+
+    /**
+     * Removes all statuses and accounts.
+     */
+    public void invalidateAll() {
+        statuses.invalidateAll();
+        accounts.invalidateAll();
+    }
+
+    /**
+     * Returns the statistics of the status cache.
+     *
+     * @return the status statistics
+     */
+    public Stats statusStats() {
+        return stats(statuses);
+    }
+
+    /**
+     * Returns the statistics of the account cache.
+     *
+     * @return the account statistics
+     */
+    public Stats accountStats() {
+        return stats(accounts);
+    }
+
+    private static Stats stats(TtlLruCache<?> cache) {
+        return new Stats(cache.hits(), cache.misses(), cache.evictions(), cache.size());
+    }
+
+    /**
+     * Snapshot of the statistics of a cached entity type.
+     *
+     * @param hits      the number of lookups served from the cache
+     * @param misses    the number of lookups loading the entity
+     * @param evictions the number of entries evicted due to the maximum size
+     * @param size      the current number of entries
+     */
+    public record Stats(long hits, long misses, long evictions, int size) {
+        /**
+         * Returns the ratio of lookups served from the cache.
+         *
+         * @return the hit rate between {@code 0} and {@code 1}, or {@code 0} without any lookup
+         */
+        public double hitRate() {
+            final long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    /**
+     * Builder of an entity cache.
+     */
+    public static final class Builder {
+        private Duration statusTtl = Duration.ofMinutes(1);
+        private Duration accountTtl = Duration.ofMinutes(5);
+        private int maximumSize = 10_000;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the time to live of cached statuses, defaults to one minute.
+         *
+         * @param statusTtl the status time to live
+         * @return this builder
+         */
+        public Builder statusTtl(Duration statusTtl) {
+            this.statusTtl = requireNonNull(statusTtl);
+            return this;
+        }
+
+        /**
+         * Sets the time to live of cached accounts, defaults to five minutes.
+         *
+         * @param accountTtl the account time to live
+         * @return this builder
+         */
+        public Builder accountTtl(Duration accountTtl) {
+            this.accountTtl = requireNonNull(accountTtl);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of cached entities per type, defaults to 10000.
+         *
+         * @param maximumSize the maximum number of statuses and accounts each
+         * @return this builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Creates the entity cache.
+         *
+         * @return a new entity cache
+         */
+        public EntityCache build() {
+            return new EntityCache(this);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import feign.FeignException;
+import org.mastodon4j.core.api.AsyncMastodonApi;
+import org.mastodon4j.core.api.MastodonApi;
+import org.mastodon4j.core.api.entities.Account;
+import org.mastodon4j.core.api.entities.Instance;
+import org.mastodon4j.core.api.entities.Status;
+import org.mastodon4j.core.impl.BatchLoader;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Loads accounts and statuses by id, collecting the ids requested within a short time window into a single
+ * multi-id request.
+ * <p>
+ * Servers supporting {@code GET /api/v1/accounts?id[]=} and {@code GET /api/v1/statuses?id[]=}, being Mastodon 4.3
+ * and later according to the {@link Instance#version() version} of the server, receive one request per batch.
+ * Older servers receive the single id requests of a batch in parallel. Ids not found complete with {@code null}.
+ */
+public final class EntityLoader {
+    private static final Pattern VERSION = Pattern.compile("^(\\d+)\\.(\\d+)");
+
+    private final AsyncMastodonApi api;
+    private final BatchLoader<Account> accounts;
+    private final BatchLoader<Status> statuses;
+    private CompletableFuture<Boolean> multipleIds;
+
+    private EntityLoader(Builder builder) {
+        this.api = builder.api.async();
+        this.accounts = new BatchLoader<>(ids -> load(ids, api.accounts()::get, api.accounts()::get, Account::id),
+                builder.window, builder.maxBatchSize);
+        this.statuses = new BatchLoader<>(ids -> load(ids, api.statuses()::get, api.statuses()::get, Status::id),
+                builder.window, builder.maxBatchSize);
+    }
+
+    /**
+     * Creates a builder of an entity loader using the given client.
+     *
+     * @param api the client of the server of the entities
+     * @return a new builder
+     */
+    public static Builder builder(MastodonApi api) {
+        return new Builder(requireNonNull(api));
+    }
+
+    /**
+     * Loads the account of the given id as part of the current batch.
+     *
+     * @param id the account id
+     * @return a future of the account, completing with {@code null} if not found
+     */
+    public CompletableFuture<Account> account(String id) {
+        return accounts.load(requireNonNull(id));
+    }
+
+    /**
+     * Loads the status of the given id as part of the current batch.
+     *
+     * @param id the status id
+     * @return a future of the status, completing with {@code null} if not found
+     */
+    public CompletableFuture<Status> status(String id) {
+        return statuses.load(requireNonNull(id));
+    }
+
+    private <V> CompletableFuture<Map<String, V>> load(List<String> ids,
+                                                      Function<List<String>, CompletableFuture<List<V>>> batchCall,
+                                                      Function<String, CompletableFuture<V>> singleCall,
+                                                      Function<V, String> id) {
+        return multipleIds().thenCompose(supported -> {
+            if (supported) {
+                return batchCall.apply(ids).thenApply(values -> {
+                    final Map<String, V> result = new HashMap<>();
+                    values.forEach(value -> result.put(id.apply(value), value));
+                    return result;
+                });
+            }
+            final Map<String, CompletableFuture<V>> futures = new HashMap<>();
+            ids.forEach(key -> futures.put(key, singleCall.apply(key).exceptionally(EntityLoader::notFound)));
+            return CompletableFuture.allOf(futures.values().toArray(CompletableFuture<?>[]::new)).thenApply(ignored -> {
+                final Map<String, V> result = new HashMap<>();
+                futures.forEach((key, future) -> result.put(key, future.join()));
+                return result;
+            });
+        });
+    }
+
+    private static <V> V notFound(Throwable failure) {
+        final Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        if (cause instanceof FeignException.NotFound) {
+            return null;
+        }
+        throw failure instanceof CompletionException completionException
+                ? completionException : new CompletionException(failure);
+    }
+
+    private synchronized CompletableFuture<Boolean> multipleIds() {
+        if (multipleIds == null || multipleIds.isCompletedExceptionally()) {
+            multipleIds = api.instance().thenApply(instance -> supportsMultipleIds(instance.version()));
+        }
+        return multipleIds;
+    }
+
+    static boolean supportsMultipleIds(String version) {
+        final Matcher matcher = VERSION.matcher(version == null ? "" : version);
+        if (!matcher.find()) {
+            return false;
+        }
+        final int major = Integer.parseInt(matcher.group(1));
+        final int minor = Integer.parseInt(matcher.group(2));
+        return major > 4 || major == 4 && minor >= 3;
+    }
+
+    /**
+     * Builder of an {@link EntityLoader}.
+     */
+    public static final class Builder {
+        private final MastodonApi api;
+        private Duration window = Duration.ofMillis(5);
+        private int maxBatchSize = 40;
+
+        private Builder(MastodonApi api) {
+            this.api = api;
+        }
+
+        /**
+         * Sets the time to wait for further ids after the first id of a batch, defaults to 5 milliseconds.
+         *
+         * @param window the batch window
+         * @return this builder
+         */
+        public Builder window(Duration window) {
+            requireNonNull(window);
+            if (window.isNegative()) {
+                throw new IllegalArgumentException("window must not be negative: " + window);
+            }
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of ids of a batch, defaults to 40 being the maximum accepted by Mastodon.
+         *
+         * @param maxBatchSize the maximum batch size
+         * @return this builder
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0 || maxBatchSize > 40) {
+                throw new IllegalArgumentException("maxBatchSize must be between 1 and 40: " + maxBatchSize);
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Creates the entity loader.
+         *
+         * @return a new entity loader
+         */
+        public EntityLoader build() {
+            return new EntityLoader(this);
+        }
+    }
+}
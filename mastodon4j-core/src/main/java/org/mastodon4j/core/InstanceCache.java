@@ -0,0 +1,345 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.mastodon4j.core.api.entities.Instance;
+import org.mastodon4j.core.impl.CodecSupport;
+import org.mastodon4j.core.impl.JsonUtil;
+import org.mastodon4j.core.spi.JsonCodec;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Cache of the {@link Instance} metadata of mastodon servers, loaded once per server and refreshed in the background.
+ * <p>
+ * The metadata is loaded on first use, by either the synchronous or the asynchronous API, and then refreshed
+ * periodically by a daemon thread, a failed refresh keeps the previous metadata and is reported by
+ * {@link #lastFailure(String)}. The refresh uses the client of the first call, replaced by the client of the next call
+ * after a failed refresh, for example once the first client is closed. If a snapshot directory is set, the metadata of
+ * each server is also written to a JSON file in that directory and read from there on first use, so restarted
+ * applications do not wait for the server. A snapshot older than the refresh interval is refreshed immediately after
+ * being read. The cache is enabled using {@link MastodonClient.Builder#instanceCache(InstanceCache)} and may be shared
+ * by clients of different servers.
+ */
+public final class InstanceCache implements AutoCloseable {
+    private final Duration refreshInterval;
+    private final Path snapshotDirectory;
+    private final JsonCodec jsonCodec;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private boolean closed;
+
+    private InstanceCache(Builder builder) {
+        this.refreshInterval = builder.refreshInterval;
+        this.snapshotDirectory = builder.snapshotDirectory;
+        this.jsonCodec = builder.jsonCodec;
+    }
+
+    /**
+     * Creates a builder of an instance cache.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    Instance instance(String restUrl, Supplier<Instance> loader) {
+        if (CodecSupport.projection() != null) {
+            // a partially decoded instance is neither served nor kept
+            return loader.get();
+        }
+        final Entry entry = entries.computeIfAbsent(restUrl, url -> new Entry(url, loader));
+        if (entry.failure != null) {
+            entry.loader = loader;
+        }
+        return entry.get();
+    }
+
+    CompletableFuture<Instance> instanceAsync(String restUrl, Supplier<Instance> loader,
+                                              Supplier<CompletableFuture<Instance>> asyncLoader) {
+        if (CodecSupport.projection() != null) {
+            // a partially decoded instance is neither served nor kept
+            return asyncLoader.get();
+        }
+        final Entry entry = entries.computeIfAbsent(restUrl, url -> new Entry(url, loader));
+        if (entry.failure != null) {
+            entry.loader = loader;
+        }
+        return entry.getAsync(asyncLoader);
+    }
+
+    /**
+     * Returns the cached metadata of the given server.
+     *
+     * @param restUrl the base URL of a mastodon server
+     * @return the metadata, or an empty optional if not loaded yet
+     */
+    public Optional<Instance> cached(String restUrl) {
+        final Entry entry = entries.get(restUrl);
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.value);
+    }
+
+    /**
+     * Returns the failure of the last refresh of the metadata of the given server.
+     *
+     * @param restUrl the base URL of a mastodon server
+     * @return the failure, or an empty optional if the last refresh succeeded or none happened yet
+     */
+    public Optional<RuntimeException> lastFailure(String restUrl) {
+        final Entry entry = entries.get(restUrl);
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.failure);
+    }
+
+    /**
+     * Stops the background refresh, waiting for a running refresh to complete. The cached metadata remains
+     * available.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            try {
+                scheduler.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private synchronized void schedule(Entry entry, Duration initialDelay) {
+        if (closed) {
+            return;
+        }
+        if (scheduler == null) {
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "mastodon4j-instance-refresh");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            scheduler = executor;
+        }
+        scheduler.scheduleWithFixedDelay(entry::refresh, initialDelay.toNanos(), refreshInterval.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    private Path snapshot(String restUrl) {
+        final String authority = URI.create(restUrl).getAuthority();
+        final String name = (authority == null ? restUrl : authority).toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9.-]", "_");
+        return snapshotDirectory.resolve(name + ".json");
+    }
+
+    private record Snapshot(Instance instance, Instant modified) {
+    }
+
+    private final class Entry {
+        private final String restUrl;
+        private volatile Supplier<Instance> loader;
+        private volatile Instance value;
+        private volatile RuntimeException failure;
+
+        Entry(String restUrl, Supplier<Instance> loader) {
+            this.restUrl = restUrl;
+            this.loader = loader;
+        }
+
+        Instance get() {
+            final Instance current = value;
+            return current != null ? current : load();
+        }
+
+        CompletableFuture<Instance> getAsync(Supplier<CompletableFuture<Instance>> asyncLoader) {
+            final Instance current = value;
+            if (current != null || restore()) {
+                return CompletableFuture.completedFuture(value);
+            }
+            // concurrent first calls may load the metadata more than once, the first result is kept
+            return asyncLoader.get().thenApply(this::loaded);
+        }
+
+        private synchronized Instance load() {
+            return restore() ? value : loaded(loader.get());
+        }
+
+        private synchronized boolean restore() {
+            if (value == null) {
+                final Snapshot snapshot = readSnapshot();
+                if (snapshot == null) {
+                    return false;
+                }
+                value = snapshot.instance();
+                final Duration age = Duration.between(snapshot.modified(), Instant.now());
+                schedule(this, age.compareTo(refreshInterval) >= 0 ? Duration.ZERO : refreshInterval.minus(age));
+            }
+            return true;
+        }
+
+        private synchronized Instance loaded(Instance instance) {
+            if (value == null) {
+                store(instance);
+                schedule(this, refreshInterval);
+            }
+            return value;
+        }
+
+        void refresh() {
+            try {
+                store(loader.get());
+                failure = null;
+            } catch (RuntimeException e) {
+                // keep the previous metadata until the next refresh, possibly using the loader of another client
+                failure = e;
+            }
+        }
+
+        private void store(Instance instance) {
+            value = instance;
+            if (snapshotDirectory != null) {
+                writeSnapshot(instance);
+            }
+        }
+
+        private Snapshot readSnapshot() {
+            if (snapshotDirectory == null) {
+                return null;
+            }
+            final Path path = snapshot(restUrl);
+            try {
+                if (!Files.isRegularFile(path)) {
+                    return null;
+                }
+                final Instant modified = Files.getLastModifiedTime(path).toInstant();
+                final Instance instance = jsonCodec.fromJson(Files.readString(path, StandardCharsets.UTF_8),
+                        Instance.class);
+                return instance == null ? null : new Snapshot(instance, modified);
+            } catch (IOException | RuntimeException e) {
+                // an unreadable snapshot is replaced by the next load
+                return null;
+            }
+        }
+
+        private void writeSnapshot(Instance instance) {
+            final Path path = snapshot(restUrl);
+            try {
+                Files.createDirectories(snapshotDirectory);
+                final Path temporary = Files.createTempFile(snapshotDirectory, path.getFileName().toString(), ".tmp");
+                try {
+                    Files.writeString(temporary, jsonCodec.toJson(instance), StandardCharsets.UTF_8);
+                    try {
+                        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+                                StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(temporary);
+                }
+            } catch (IOException e) {
+                // a missing snapshot only delays the next start
+            }
+        }
+    }
+
+    /**
+     * Builder of an instance cache.
+     */
+    public static final class Builder {
+        private Duration refreshInterval = Duration.ofHours(1);
+        private Path snapshotDirectory;
+        private JsonCodec jsonCodec = JsonUtil.defaultCodec();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the interval of the background refresh, defaults to one hour.
+         *
+         * @param refreshInterval the refresh interval
+         * @return this builder
+         */
+        public Builder refreshInterval(Duration refreshInterval) {
+            requireNonNull(refreshInterval);
+            if (refreshInterval.isNegative() || refreshInterval.isZero()) {
+                throw new IllegalArgumentException("refreshInterval must be positive: " + refreshInterval);
+            }
+            this.refreshInterval = refreshInterval;
+            return this;
+        }
+
+        /**
+         * Sets the directory of the metadata snapshots, not writing snapshots by default.
+         *
+         * @param snapshotDirectory the snapshot directory, created if missing
+         * @return this builder
+         */
+        public Builder snapshotDirectory(Path snapshotDirectory) {
+            this.snapshotDirectory = requireNonNull(snapshotDirectory);
+            return this;
+        }
+
+        /**
+         * Sets the JSON codec of the snapshots, defaults to the built-in codec.
+         *
+         * @param jsonCodec the JSON codec
+         * @return this builder
+         */
+        public Builder jsonCodec(JsonCodec jsonCodec) {
+            this.jsonCodec = requireNonNull(jsonCodec);
+            return this;
+        }
+
+        /**
+         * Creates the instance cache.
+         *
+         * @return a new instance cache
+         */
+        public InstanceCache build() {
+            return new InstanceCache(this);
+        }
+    }
+}
@@ -25,13 +25,21 @@
  */
 package org.mastodon4j.core;
 
+import feign.AsyncClient;
+import feign.AsyncFeign;
+import feign.BaseBuilder;
+import feign.Client;
+import feign.Contract;
 import feign.Feign;
-import feign.Response;
+import feign.InvocationHandlerFactory;
+import feign.Request;
 import feign.RequestTemplate;
-import feign.Util;
+import feign.Retryer;
+import feign.codec.Decoder;
 import feign.http2client.Http2Client;
 import org.mastodon4j.core.api.Accounts;
 import org.mastodon4j.core.api.Apps;
+import org.mastodon4j.core.api.AsyncMastodonApi;
 import org.mastodon4j.core.api.BaseMastodonApi;
 import org.mastodon4j.core.api.BaseStreaming;
 import org.mastodon4j.core.api.Lists;
@@ -43,17 +51,25 @@ import org.mastodon4j.core.api.Timelines;
 import org.mastodon4j.core.api.entities.AccessToken;
 import org.mastodon4j.core.api.entities.Instance;
 import org.mastodon4j.core.api.entities.Search;
+import org.mastodon4j.core.impl.AuthorizationContext;
+import org.mastodon4j.core.impl.CircuitBreakingClient;
+import org.mastodon4j.core.impl.ConditionalRequestCache;
+import org.mastodon4j.core.impl.DecompressingClient;
+import org.mastodon4j.core.impl.EmptyIdLists;
 import org.mastodon4j.core.impl.JsonUtil;
+import org.mastodon4j.core.impl.MastodonDecoder;
+import org.mastodon4j.core.impl.PageDecoder;
 import org.mastodon4j.core.impl.MastodonStreaming;
+import org.mastodon4j.core.impl.RateLimitingClient;
+import org.mastodon4j.core.impl.ResilientClient;
+import org.mastodon4j.core.impl.SingleFlight;
+import org.mastodon4j.core.impl.VirtualThreads;
+import org.mastodon4j.core.spi.JsonCodec;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.Reader;
-import java.io.StringWriter;
-import java.lang.reflect.Type;
 import java.net.http.HttpClient;
 import java.net.http.WebSocket;
 import java.time.Duration;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import static java.util.Objects.requireNonNull;
@@ -62,10 +78,16 @@ public class MastodonClient implements MastodonApi {
     public static final String USER_AGENT_NAME = "Mastodon4J";
     private final HttpClient httpClient;
     private final Feign.Builder builder;
+    private final AsyncFeign.AsyncBuilder<Object> asyncBuilder;
     private final String restUrl;
     private final Supplier<String> authorizationSupplier;
+    private final JsonCodec jsonCodec;
+    private final EntityCache entityCache;
+    private final InstanceCache instanceCache;
     private final BaseMastodonApi globals;
 
+    private Accounts uncachedAccounts;
+    private Statuses uncachedStatuses;
     private Accounts accounts;
     private Apps apps;
     private Lists lists;
@@ -73,12 +95,20 @@ public class MastodonClient implements MastodonApi {
     private Statuses statuses;
     private Streaming streaming;
     private Timelines timelines;
+    private AsyncMastodonApi async;
 
-    MastodonClient(final HttpClient httpClient, final Feign.Builder builder, final String restUrl, final Supplier<String> authorizationSupplier) {
+    MastodonClient(final HttpClient httpClient, final Feign.Builder builder,
+                   final AsyncFeign.AsyncBuilder<Object> asyncBuilder, final String restUrl,
+                   final Supplier<String> authorizationSupplier, final JsonCodec jsonCodec,
+                   final EntityCache entityCache, final InstanceCache instanceCache) {
         this.httpClient = httpClient;
         this.builder = builder;
+        this.asyncBuilder = asyncBuilder;
         this.restUrl = restUrl;
         this.authorizationSupplier = authorizationSupplier;
+        this.jsonCodec = jsonCodec;
+        this.entityCache = entityCache;
+        this.instanceCache = instanceCache;
         this.globals = builder.target(BaseMastodonApi.class, restUrl);
     }
 
@@ -90,50 +120,59 @@ public class MastodonClient implements MastodonApi {
      * @return a new API ineraction instance
      */
     public static MastodonApi create(String restUrl, AccessToken accessToken) {
-        requireNonNull(restUrl);
-        requireNonNull(accessToken);
+        return create(restUrl, accessToken, JsonUtil.defaultCodec());
+    }
 
-        final HttpClient httpClient = HttpClient.newBuilder()
-                .followRedirects(HttpClient.Redirect.ALWAYS)
-                .version(HttpClient.Version.HTTP_2)
-                .connectTimeout(Duration.ofSeconds(10))
+    /**
+     * Creates an mastodon API instance for the given restUrl and access token using the given JSON codec.
+     * <p>
+     * The codec is used for all REST calls and event streams of the returned instance and may be shared with other
+     * instances.
+     *
+     * @param restUrl     the base URL of a mastodon server
+     * @param accessToken the access token for the given instance
+     * @param jsonCodec   the JSON codec to be used
+     * @return a new API ineraction instance
+     */
+    public static MastodonApi create(String restUrl, AccessToken accessToken, JsonCodec jsonCodec) {
+        return builder()
+                .restUrl(restUrl)
+                .accessToken(accessToken)
+                .jsonCodec(jsonCodec)
                 .build();
+    }
 
-        final Feign.Builder builder = Feign.builder()
-                .client(new Http2Client(httpClient))
-                .encoder(MastodonClient::encode)
-                .decoder(MastodonClient::decode)
-                .requestInterceptor(template -> template.header("User-Agent", USER_AGENT_NAME))
-                .requestInterceptor(template -> template.header("Authorization", accessToken.authorization()));
+    /**
+     * Creates a builder for a mastodon API instance, allowing to tune the HTTP transport.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
 
-        return new MastodonClient(httpClient, builder, restUrl, accessToken::authorization);
+    private static void encode(JsonCodec jsonCodec, Object object, RequestTemplate template) {
+        template.body(jsonCodec.toJson(object));
     }
 
-    private static Object decode(Response response, Type type) throws IOException {
-        if (response.status() == 404 || response.status() == 204) {
-            return Util.emptyValueOf(type);
-        } else if (response.body() == null) {
-            return null;
-        }
-        try (Reader reader = response.body().asReader(response.charset())) {
-            // special handling for basic java types
-            if (String.class.equals(type)) {
-                StringWriter sw = new StringWriter();
-                reader.transferTo(sw);
-                return sw.toString();
-            }
-            return JsonUtil.fromJson(reader, type);
+    Accounts uncachedAccounts() {
+        if (uncachedAccounts == null) {
+            uncachedAccounts = builder.target(Accounts.class, restUrl);
         }
+        return uncachedAccounts;
     }
 
-    private static void encode(Object object, Type bodyType, RequestTemplate template) {
-        template.body(JsonUtil.toJson(object));
+    Statuses uncachedStatuses() {
+        if (uncachedStatuses == null) {
+            uncachedStatuses = builder.target(Statuses.class, restUrl);
+        }
+        return uncachedStatuses;
     }
 
     @Override
     public Accounts accounts() {
         if (accounts == null) {
-            accounts = builder.target(Accounts.class, restUrl);
+            accounts = entityCache == null ? uncachedAccounts() : new CachingAccounts(uncachedAccounts(), entityCache);
         }
         return accounts;
     }
@@ -165,7 +204,7 @@ public class MastodonClient implements MastodonApi {
     @Override
     public Statuses statuses() {
         if (statuses == null) {
-            statuses = builder.target(Statuses.class, restUrl);
+            statuses = entityCache == null ? uncachedStatuses() : new CachingStatuses(uncachedStatuses(), entityCache);
         }
         return statuses;
     }
@@ -173,18 +212,22 @@ public class MastodonClient implements MastodonApi {
     @Override
     public Streaming streaming() {
         if (streaming == null) {
-            final WebSocket.Builder webSocketBuilder = httpClient
-                    .newWebSocketBuilder()
-                    .header("User-Agent", USER_AGENT_NAME)
-                    .header("Authorization", authorizationSupplier.get());
-            final String baseStreamingUri = instance().configuration().urls().streaming();
-            final String streamingRestUrl = baseStreamingUri.replaceFirst("ws", "http");
-            final BaseStreaming baseStreaming = builder.target(BaseStreaming.class, streamingRestUrl);
-            streaming = new MastodonStreaming(baseStreaming, webSocketBuilder, baseStreamingUri);
+            streaming = streaming(authorizationSupplier.get());
         }
         return streaming;
     }
 
+    Streaming streaming(String authorization) {
+        final WebSocket.Builder webSocketBuilder = httpClient
+                .newWebSocketBuilder()
+                .header("User-Agent", USER_AGENT_NAME)
+                .header("Authorization", authorization);
+        final String baseStreamingUri = instance().configuration().urls().streaming();
+        final String streamingRestUrl = baseStreamingUri.replaceFirst("ws", "http");
+        final BaseStreaming baseStreaming = builder.target(BaseStreaming.class, streamingRestUrl);
+        return new MastodonStreaming(baseStreaming, webSocketBuilder, baseStreamingUri, jsonCodec);
+    }
+
     @Override
     public Timelines timelines() {
         if (timelines == null) {
@@ -193,9 +236,22 @@ public class MastodonClient implements MastodonApi {
         return timelines;
     }
 
+    @Override
+    public AsyncMastodonApi async() {
+        if (async == null) {
+            async = new AsyncMastodonClient(asyncBuilder, restUrl, instanceCache, globals::instance);
+        }
+        return async;
+    }
+
+    @Override
+    public MastodonApi withToken(AccessToken accessToken) {
+        return new TokenView(this, requireNonNull(accessToken, "accessToken must not be null"));
+    }
+
     @Override
     public Instance instance() {
-        return globals.instance();
+        return instanceCache == null ? globals.instance() : instanceCache.instance(restUrl, globals::instance);
     }
 
     @Override
@@ -207,4 +263,377 @@ public class MastodonClient implements MastodonApi {
     public Search search(QueryOptions queryOptions) {
         return globals.search(queryOptions);
     }
+
+    /**
+     * Builder of a mastodon API instance. The REST URL and the access token are required, all other settings have
+     * defaults matching {@link MastodonClient#create(String, AccessToken)}.
+     */
+    public static final class Builder {
+        private String restUrl;
+        private AccessToken accessToken;
+        private JsonCodec jsonCodec = JsonUtil.defaultCodec();
+        private Executor executor;
+        private boolean virtualThreads;
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration requestTimeout = Duration.ofSeconds(60);
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+        private boolean followRedirects = true;
+        private boolean compression = true;
+        private int conditionalRequests;
+        private EntityCache entityCache;
+        private InstanceCache instanceCache;
+        private boolean singleFlight;
+        private RateLimits rateLimits;
+        private Resilience resilience;
+        private CircuitBreakers circuitBreakers;
+        private HttpClient httpClient;
+        private Client transport;
+        private AsyncClient<Object> asyncTransport;
+        private Contract contract;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the base URL of the mastodon server.
+         *
+         * @param restUrl the base URL of a mastodon server
+         * @return this builder
+         */
+        public Builder restUrl(String restUrl) {
+            this.restUrl = requireNonNull(restUrl);
+            return this;
+        }
+
+        /**
+         * Sets the access token used for all calls.
+         *
+         * @param accessToken the access token for the given instance
+         * @return this builder
+         */
+        public Builder accessToken(AccessToken accessToken) {
+            this.accessToken = requireNonNull(accessToken);
+            return this;
+        }
+
+        /**
+         * Sets the JSON codec used for all REST calls and event streams, defaults to the built-in codec.
+         *
+         * @param jsonCodec the JSON codec to be used
+         * @return this builder
+         */
+        public Builder jsonCodec(JsonCodec jsonCodec) {
+            this.jsonCodec = requireNonNull(jsonCodec);
+            return this;
+        }
+
+        /**
+         * Sets the executor handling the asynchronous HTTP tasks, including the completion of the asynchronous API
+         * calls and the WebSocket callbacks of event streams. Defaults to the executor of the HTTP client.
+         *
+         * @param executor the executor to be used
+         * @return this builder
+         */
+        public Builder executor(Executor executor) {
+            this.executor = requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * Sets whether the asynchronous HTTP tasks, including the completion of the asynchronous API calls and the
+         * WebSocket callbacks of event streams, run on virtual threads. This requires Java 21 or later, on older
+         * versions the setting has no effect. An explicitly set {@link #executor(Executor) executor} takes
+         * precedence.
+         *
+         * @param virtualThreads {@code true} to use virtual threads if available
+         * @return this builder
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Sets the timeout for establishing connections, defaults to 10 seconds.
+         *
+         * @param connectTimeout the connect timeout
+         * @return this builder
+         */
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = requireNonNull(connectTimeout);
+            return this;
+        }
+
+        /**
+         * Sets the timeout for receiving a response, defaults to 60 seconds.
+         *
+         * @param requestTimeout the request timeout
+         * @return this builder
+         */
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requireNonNull(requestTimeout);
+            return this;
+        }
+
+        /**
+         * Sets the preferred HTTP protocol version, defaults to HTTP/2 falling back to HTTP/1.1 if not supported by
+         * the server.
+         *
+         * @param version the preferred protocol version
+         * @return this builder
+         */
+        public Builder version(HttpClient.Version version) {
+            this.version = requireNonNull(version);
+            return this;
+        }
+
+        /**
+         * Sets whether redirects are followed, defaults to {@code true}.
+         *
+         * @param followRedirects {@code true} to follow redirects
+         * @return this builder
+         */
+        public Builder followRedirects(boolean followRedirects) {
+            this.followRedirects = followRedirects;
+            return this;
+        }
+
+        /**
+         * Sets whether {@code gzip} and {@code deflate} compressed responses are requested, defaults to
+         * {@code true}. Compressed responses are inflated while they are decoded.
+         *
+         * @param compression {@code false} to disable response compression
+         * @return this builder
+         */
+        public Builder compression(boolean compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of GET responses revalidated using their {@code ETag} and {@code Last-Modified}
+         * validators, defaults to {@code 0} disabling conditional requests. The decoded entity of such a response is
+         * returned again, if the server answers a repeated request with {@code 304 Not Modified}.
+         *
+         * @param maxEntries the maximum number of kept responses, least recently used ones are evicted first
+         * @return this builder
+         */
+        public Builder conditionalRequests(int maxEntries) {
+            if (maxEntries < 0) {
+                throw new IllegalArgumentException("maxEntries must not be negative: " + maxEntries);
+            }
+            this.conditionalRequests = maxEntries;
+            return this;
+        }
+
+        /**
+         * Sets the cache of the statuses and accounts returned by {@link Statuses#get(String)} and
+         * {@link Accounts#get(String)}, not caching them by default.
+         *
+         * @param entityCache the entity cache, which may be shared by instances using the same access token
+         * @return this builder
+         */
+        public Builder entityCache(EntityCache entityCache) {
+            this.entityCache = requireNonNull(entityCache);
+            return this;
+        }
+
+        /**
+         * Sets the cache of the instance metadata returned by {@link MastodonApi#instance()} and
+         * {@link AsyncMastodonApi#instance()} and used to discover the streaming URL, fetching the metadata on each
+         * call by default.
+         *
+         * @param instanceCache the instance cache, which may be shared by instances of different servers
+         * @return this builder
+         */
+        public Builder instanceCache(InstanceCache instanceCache) {
+            this.instanceCache = requireNonNull(instanceCache);
+            return this;
+        }
+
+        /**
+         * Sets whether concurrent identical GET calls are collapsed into a single request, defaults to
+         * {@code false}. Calls are identical if they result in the same request using the same authorization, all
+         * callers then share the decoded result.
+         *
+         * @param singleFlight {@code true} to share the result of identical calls in flight
+         * @return this builder
+         */
+        public Builder singleFlight(boolean singleFlight) {
+            this.singleFlight = singleFlight;
+            return this;
+        }
+
+        /**
+         * Sets the rate limits pacing the requests within the budgets announced by the server, not pacing requests
+         * by default.
+         *
+         * @param rateLimits the rate limits, which should be shared by instances using the same access token
+         * @return this builder
+         */
+        public Builder rateLimits(RateLimits rateLimits) {
+            this.rateLimits = requireNonNull(rateLimits);
+            return this;
+        }
+
+        /**
+         * Sets the retry and hedging policy of idempotent GET requests, using the default retries of Feign if not
+         * set.
+         *
+         * @param resilience the resilience policy
+         * @return this builder
+         */
+        public Builder resilience(Resilience resilience) {
+            this.resilience = requireNonNull(resilience);
+            return this;
+        }
+
+        /**
+         * Sets the circuit breakers of the endpoints, failing fast with a {@link CircuitOpenException} while the
+         * endpoint of a call is considered unavailable. Not set by default.
+         *
+         * @param circuitBreakers the circuit breakers, which may be shared by instances of any servers
+         * @return this builder
+         */
+        public Builder circuitBreakers(CircuitBreakers circuitBreakers) {
+            this.circuitBreakers = requireNonNull(circuitBreakers);
+            return this;
+        }
+
+        /**
+         * Creates the mastodon API instance.
+         *
+         * @return a new API interaction instance
+         */
+        public MastodonApi build() {
+            requireNonNull(restUrl, "restUrl must not be null");
+            requireNonNull(accessToken, "accessToken must not be null");
+
+            final HttpClient httpClient = this.httpClient != null ? this.httpClient : httpClient();
+            final Request.Options options = new Request.Options(connectTimeout, requestTimeout, followRedirects);
+            Client client = transport;
+            AsyncClient<Object> asyncClient = asyncTransport;
+            if (client == null) {
+                final Http2Client http2Client = new Http2Client(httpClient);
+                client = http2Client;
+                asyncClient = http2Client;
+            }
+            if (compression) {
+                final DecompressingClient decompressingClient = new DecompressingClient(client, asyncClient);
+                client = decompressingClient;
+                asyncClient = decompressingClient;
+            }
+            if (rateLimits != null) {
+                final RateLimitingClient rateLimitingClient = new RateLimitingClient(client, asyncClient,
+                        rateLimits.scheduler());
+                client = rateLimitingClient;
+                asyncClient = rateLimitingClient;
+            }
+            if (resilience != null) {
+                final ResilientClient resilientClient = resilience.client(client, asyncClient);
+                client = resilientClient;
+                asyncClient = resilientClient;
+            }
+            if (circuitBreakers != null) {
+                final CircuitBreakingClient circuitBreakingClient = circuitBreakers.client(client, asyncClient);
+                client = circuitBreakingClient;
+                asyncClient = circuitBreakingClient;
+            }
+            Decoder decoder = new MastodonDecoder(jsonCodec);
+            if (conditionalRequests > 0) {
+                final ConditionalRequestCache cache = new ConditionalRequestCache(client, asyncClient,
+                        conditionalRequests);
+                client = cache;
+                asyncClient = cache;
+                decoder = cache.decoder(decoder);
+            }
+            final PageDecoder pageDecoder = new PageDecoder(decoder);
+            decoder = pageDecoder;
+            final Feign.Builder builder = configure(Feign.builder(), options, decoder)
+                    .client(client);
+            final AsyncFeign.AsyncBuilder<Object> asyncBuilder = configure(AsyncFeign.builder(), options, decoder)
+                    .client(asyncClient);
+            final InvocationHandlerFactory invocationHandlerFactory = new EmptyIdLists(singleFlight
+                    ? new SingleFlight(this::authorization) : new InvocationHandlerFactory.Default());
+            builder.invocationHandlerFactory(invocationHandlerFactory);
+            asyncBuilder.invocationHandlerFactory(invocationHandlerFactory);
+            pageDecoder.requests(asyncBuilder.target(PageDecoder.Requests.class, restUrl));
+
+            return new MastodonClient(httpClient, builder, asyncBuilder, restUrl, accessToken::authorization,
+                    jsonCodec, entityCache, instanceCache);
+        }
+
+        /**
+         * Creates a HTTP client using the transport settings of this builder.
+         *
+         * @return a new HTTP client
+         */
+        HttpClient httpClient() {
+            final HttpClient.Builder httpClientBuilder = HttpClient.newBuilder()
+                    .followRedirects(followRedirects ? HttpClient.Redirect.ALWAYS : HttpClient.Redirect.NEVER)
+                    .version(version)
+                    .connectTimeout(connectTimeout);
+            if (executor != null) {
+                httpClientBuilder.executor(executor);
+            } else if (virtualThreads) {
+                VirtualThreads.executor().ifPresent(httpClientBuilder::executor);
+            }
+            return httpClientBuilder.build();
+        }
+
+        /**
+         * Sets a shared HTTP client and the clients sending the requests through it, replacing the HTTP client
+         * created from the transport settings of this builder.
+         *
+         * @param httpClient     the HTTP client used for event streams
+         * @param transport      the client sending synchronous requests
+         * @param asyncTransport the client sending asynchronous requests
+         * @return this builder
+         */
+        Builder transport(HttpClient httpClient, Client transport, AsyncClient<Object> asyncTransport) {
+            this.httpClient = requireNonNull(httpClient);
+            this.transport = requireNonNull(transport);
+            this.asyncTransport = requireNonNull(asyncTransport);
+            return this;
+        }
+
+        /**
+         * Sets a shared contract parsing the REST interfaces.
+         *
+         * @param contract the contract
+         * @return this builder
+         */
+        Builder contract(Contract contract) {
+            this.contract = requireNonNull(contract);
+            return this;
+        }
+
+        private <B extends BaseBuilder<B, ?>> B configure(B builder, Request.Options options, Decoder decoder) {
+            if (resilience != null) {
+                builder.retryer(Retryer.NEVER_RETRY);
+            }
+            if (contract != null) {
+                builder.contract(contract);
+            }
+            return builder
+                    .options(options)
+                    .encoder((object, bodyType, template) -> encode(jsonCodec, object, template))
+                    .decoder(decoder)
+                    .doNotCloseAfterDecode()
+                    .requestInterceptor(template -> template.header("User-Agent", USER_AGENT_NAME))
+                    .requestInterceptor(this::authorize);
+        }
+
+        private void authorize(RequestTemplate template) {
+            // a retry applies the interceptors again to the template of the first attempt, asynchronous calls on
+            // the thread completing that attempt, so its authorization is kept
+            if (!template.headers().containsKey("Authorization")) {
+                template.header("Authorization", authorization());
+            }
+        }
+
+        private String authorization() {
+            return AuthorizationContext.authorization(accessToken::authorization);
+        }
+    }
 }
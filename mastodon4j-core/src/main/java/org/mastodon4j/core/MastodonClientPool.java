@@ -0,0 +1,204 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import feign.Contract;
+import feign.http2client.Http2Client;
+import org.mastodon4j.core.api.MastodonApi;
+import org.mastodon4j.core.api.entities.AccessToken;
+import org.mastodon4j.core.impl.CachingContract;
+import org.mastodon4j.core.impl.ConcurrencyLimitingClient;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Pool of the clients of many mastodon servers sharing a single {@link HttpClient} and the parsed REST interfaces.
+ * <p>
+ * The clients of a host are created lazily on first use and share a limit of concurrent requests, which also bounds
+ * the number of HTTP/1.1 connections to the host. Hosts without any request during the idle timeout are evicted
+ * together with their clients. An evicted client remains usable, but is no longer handed out by the pool.
+ */
+public final class MastodonClientPool {
+    private static final long EVICTION_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final Consumer<MastodonClient.Builder> configurer;
+    private final int maxConcurrentRequestsPerHost;
+    private final long idleTimeout;
+    private final HttpClient httpClient;
+    private final Contract contract = new CachingContract();
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+    private final AtomicLong lastEviction = new AtomicLong(System.nanoTime());
+
+    private record Host(ConcurrencyLimitingClient transport, Map<String, MastodonApi> clients) {
+    }
+
+    private MastodonClientPool(Builder builder) {
+        this.configurer = builder.configurer;
+        this.maxConcurrentRequestsPerHost = builder.maxConcurrentRequestsPerHost;
+        this.idleTimeout = builder.idleTimeout.toNanos();
+        final MastodonClient.Builder prototype = MastodonClient.builder();
+        configurer.accept(prototype);
+        this.httpClient = prototype.httpClient();
+    }
+
+    /**
+     * Creates a builder of a client pool.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the client of the given server and access token, creating it if not pooled yet.
+     *
+     * @param restUrl     the base URL of a mastodon server
+     * @param accessToken the access token for the given instance
+     * @return the pooled API interaction instance
+     */
+    public MastodonApi client(String restUrl, AccessToken accessToken) {
+        requireNonNull(restUrl, "restUrl must not be null");
+        requireNonNull(accessToken, "accessToken must not be null");
+        final long now = System.nanoTime();
+        final long last = lastEviction.get();
+        if (now - last >= EVICTION_INTERVAL && lastEviction.compareAndSet(last, now)) {
+            evictIdle();
+        }
+        final Host host = hosts.computeIfAbsent(host(restUrl), key -> {
+            final Http2Client http2Client = new Http2Client(httpClient);
+            return new Host(new ConcurrencyLimitingClient(http2Client, http2Client, maxConcurrentRequestsPerHost),
+                    new ConcurrentHashMap<>());
+        });
+        return host.clients().computeIfAbsent(restUrl + '\n' + accessToken.authorization(), key -> {
+            final MastodonClient.Builder builder = MastodonClient.builder();
+            configurer.accept(builder);
+            return builder
+                    .restUrl(restUrl)
+                    .accessToken(accessToken)
+                    .transport(httpClient, host.transport(), host.transport())
+                    .contract(contract)
+                    .build();
+        });
+    }
+
+    /**
+     * Evicts all hosts without any request during the idle timeout. This happens automatically while clients are
+     * requested from the pool.
+     *
+     * @return the number of evicted hosts
+     */
+    public int evictIdle() {
+        final int size = hosts.size();
+        hosts.values().removeIf(host -> host.transport().isIdle(idleTimeout));
+        return size - hosts.size();
+    }
+
+    /**
+     * Returns the number of pooled hosts.
+     *
+     * @return the number of hosts
+     */
+    public int size() {
+        return hosts.size();
+    }
+
+    private static String host(String restUrl) {
+        final String authority = URI.create(restUrl).getAuthority();
+        return authority == null ? restUrl : authority.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Builder of a client pool.
+     */
+    public static final class Builder {
+        private Consumer<MastodonClient.Builder> configurer = builder -> {
+        };
+        private int maxConcurrentRequestsPerHost = 64;
+        private Duration idleTimeout = Duration.ofMinutes(5);
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the configuration applied to the builders of all clients. The REST URL and access token are set by
+         * the pool, the transport settings configure the shared HTTP client.
+         *
+         * @param configurer configures a client builder
+         * @return this builder
+         */
+        public Builder configure(Consumer<MastodonClient.Builder> configurer) {
+            this.configurer = requireNonNull(configurer);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of concurrent requests per host, defaults to 64. Further requests wait until a
+         * running request completes.
+         *
+         * @param maxConcurrentRequestsPerHost the maximum number of concurrent requests
+         * @return this builder
+         */
+        public Builder maxConcurrentRequestsPerHost(int maxConcurrentRequestsPerHost) {
+            if (maxConcurrentRequestsPerHost <= 0) {
+                throw new IllegalArgumentException("maxConcurrentRequestsPerHost must be positive: "
+                        + maxConcurrentRequestsPerHost);
+            }
+            this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Sets the time after which a host without requests is evicted, defaults to five minutes.
+         *
+         * @param idleTimeout the idle timeout
+         * @return this builder
+         */
+        public Builder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = requireNonNull(idleTimeout);
+            return this;
+        }
+
+        /**
+         * Creates the client pool.
+         *
+         * @return a new client pool
+         */
+        public MastodonClientPool build() {
+            return new MastodonClientPool(this);
+        }
+    }
+}
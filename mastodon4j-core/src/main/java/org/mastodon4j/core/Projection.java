@@ -0,0 +1,133 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.mastodon4j.core.impl.CodecSupport;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Declares the fields to be decoded from the entities of a response, all other fields are skipped by the parser
+ * and left {@code null}.
+ * <p>
+ * Fields are given as property names of the response entity, nested fields are separated by dots. For a response
+ * being a list, the fields refer to the list elements. The following example decodes only a few fields of a
+ * public timeline:
+ * <pre>{@code
+ * Projection projection = Projection.of("id", "created_at", "account.id", "tags", "language");
+ * List<Status> statuses = projection.apply(() -> client.timelines().pub());
+ * }</pre>
+ * A projection is only applied to the entities decoded by the built-in default codec on the calling thread,
+ * streaming list variants must therefore be consumed within {@link #apply(Supplier)}. Calls made while a projection
+ * is applied bypass the conditional request, entity and instance caches, partial entities are never cached.
+ */
+public final class Projection {
+    private static final Projection ALL = new Projection(Map.of());
+
+    private final Map<String, Projection> fields;
+
+    private Projection(Map<String, Projection> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Creates a projection of the given fields.
+     *
+     * @param fields the field names, using dots to separate nested fields
+     * @return the projection
+     */
+    public static Projection of(String... fields) {
+        final Map<String, Object> tree = new LinkedHashMap<>();
+        for (String field : fields) {
+            add(tree, requireNonNull(field).split("\\.", -1), 0);
+        }
+        return create(tree);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void add(Map<String, Object> tree, String[] names, int index) {
+        final String name = names[index];
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Invalid field: " + String.join(".", names));
+        }
+        if (index == names.length - 1) {
+            tree.put(name, ALL);
+        } else if (tree.get(name) != ALL) {
+            add((Map<String, Object>) tree.computeIfAbsent(name, key -> new LinkedHashMap<String, Object>()),
+                    names, index + 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Projection create(Map<String, Object> tree) {
+        final Map<String, Projection> fields = new LinkedHashMap<>();
+        tree.forEach((name, value) -> fields.put(name, value == ALL ? ALL : create((Map<String, Object>) value)));
+        return new Projection(Collections.unmodifiableMap(fields));
+    }
+
+    /**
+     * Returns the projection of the given field.
+     *
+     * @param name the field name
+     * @return the projection of the field, or {@code null} if the field is not included
+     */
+    public Projection field(String name) {
+        return fields.get(name);
+    }
+
+    /**
+     * Checks whether all fields are included, which is the case for fields requested without nested fields.
+     *
+     * @return {@code true} if all fields are included
+     */
+    public boolean includesAll() {
+        return this == ALL;
+    }
+
+    /**
+     * Runs the given call, applying this projection to the responses decoded on the current thread.
+     *
+     * @param call the call, typically a method of one of the API interfaces
+     * @param <T>  the result type
+     * @return the result of the call
+     */
+    public <T> T apply(Supplier<T> call) {
+        return CodecSupport.projecting(this, call);
+    }
+
+    @Override
+    public String toString() {
+        return fields.entrySet().stream()
+                .map(entry -> entry.getValue() == ALL ? entry.getKey() : entry.getKey() + entry.getValue())
+                .collect(Collectors.joining(",", "{", "}"));
+    }
+}
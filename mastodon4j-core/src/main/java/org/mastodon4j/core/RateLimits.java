@@ -0,0 +1,123 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.mastodon4j.core.api.entities.AccessToken;
+import org.mastodon4j.core.impl.RateLimitScheduler;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Schedules the requests of one or more clients within the rate limits announced by the server.
+ * <p>
+ * The {@code X-RateLimit-Limit}, {@code X-RateLimit-Remaining} and {@code X-RateLimit-Reset} headers of the
+ * responses are tracked per access token and {@link Category category}. Once a budget is known, the requests are
+ * paced by a token bucket spreading the remaining requests evenly until the reset of the budget, allowing bursts of
+ * the configured size. If the budget is exhausted, requests wait for its reset. Rate limiting is enabled using
+ * {@link MastodonClient.Builder#rateLimits(RateLimits)}, clients using the same access token should share the same
+ * instance.
+ */
+public final class RateLimits {
+    private final RateLimitScheduler scheduler;
+
+    /**
+     * The categories of requests having their own rate limit.
+     */
+    public enum Category {
+        /**
+         * All requests not belonging to another category.
+         */
+        DEFAULT,
+        /**
+         * Media uploads.
+         */
+        MEDIA_UPLOADS,
+        /**
+         * Deleting and unreblogging statuses.
+         */
+        STATUS_DELETIONS
+    }
+
+    /**
+     * The budget of requests as last announced by the server minus the requests sent since.
+     *
+     * @param limit     the number of requests allowed per period
+     * @param remaining the number of requests remaining in the current period
+     * @param reset     the time the budget is reset
+     */
+    public record Budget(int limit, int remaining, Instant reset) {
+    }
+
+    /**
+     * Creates rate limits allowing bursts of up to 10 requests.
+     */
+    public RateLimits() {
+        this(10);
+    }
+
+    /**
+     * Creates rate limits allowing bursts of up to the given number of requests.
+     *
+     * @param burst the number of requests sent without pacing
+     */
+    public RateLimits(int burst) {
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be positive: " + burst);
+        }
+        this.scheduler = new RateLimitScheduler(burst);
+    }
+
+    RateLimitScheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Returns the current budget of requests of the given access token and the {@link Category#DEFAULT default}
+     * category.
+     *
+     * @param accessToken the access token of the requests
+     * @return the budget or an empty optional if no response announced a budget yet
+     */
+    public Optional<Budget> budget(AccessToken accessToken) {
+        return budget(accessToken, Category.DEFAULT);
+    }
+
+    /**
+     * Returns the current budget of requests of the given access token and category.
+     *
+     * @param accessToken the access token of the requests
+     * @param category    the category of the requests
+     * @return the budget or an empty optional if no response announced a budget yet
+     */
+    public Optional<Budget> budget(AccessToken accessToken, Category category) {
+        requireNonNull(accessToken, "accessToken must not be null");
+        requireNonNull(category, "category must not be null");
+        return scheduler.budget(accessToken.authorization(), category);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import feign.AsyncClient;
+import feign.Client;
+import org.mastodon4j.core.impl.ResilientClient;
+
+import java.time.Duration;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Retry and hedging policy of the idempotent GET requests of a client.
+ * <p>
+ * Requests failing with an I/O error or answered with {@code 429}, {@code 502}, {@code 503} or {@code 504} are
+ * retried up to the maximum number of attempts. The delay before a retry grows exponentially with full jitter and
+ * honors the {@code Retry-After} header of the response, a response asking for a delay exceeding the maximum backoff
+ * is not retried. If hedging is enabled, a second request is sent if no response arrived within the 95th percentile
+ * of the recent response times of the same endpoint, the first response wins. The policy is enabled using
+ * {@link MastodonClient.Builder#resilience(Resilience)} and replaces the default retries of Feign.
+ */
+public final class Resilience {
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final boolean hedging;
+    private final Duration minHedgeDelay;
+
+    private Resilience(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.hedging = builder.hedging;
+        this.minHedgeDelay = builder.minHedgeDelay;
+    }
+
+    /**
+     * Creates a builder of a resilience policy.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    ResilientClient client(Client client, AsyncClient<Object> asyncClient) {
+        return new ResilientClient(client, asyncClient, maxAttempts, initialBackoff, maxBackoff,
+                hedging ? minHedgeDelay : null);
+    }
+
+    /**
+     * Builder of a resilience policy.
+     */
+    public static final class Builder {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(100);
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        private boolean hedging;
+        private Duration minHedgeDelay = Duration.ofMillis(50);
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of attempts of a request including the first one, defaults to 3.
+         *
+         * @param maxAttempts the maximum number of attempts, {@code 1} disables retries
+         * @return this builder
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts <= 0) {
+                throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the upper bound of the delay before the first retry, defaults to 100 milliseconds. The bound doubles
+         * with each further retry.
+         *
+         * @param initialBackoff the initial backoff
+         * @return this builder
+         */
+        public Builder initialBackoff(Duration initialBackoff) {
+            this.initialBackoff = requireNonNull(initialBackoff);
+            return this;
+        }
+
+        /**
+         * Sets the maximum delay before a retry, defaults to 10 seconds.
+         *
+         * @param maxBackoff the maximum backoff
+         * @return this builder
+         */
+        public Builder maxBackoff(Duration maxBackoff) {
+            this.maxBackoff = requireNonNull(maxBackoff);
+            return this;
+        }
+
+        /**
+         * Sets whether slow requests are hedged by a second request, defaults to {@code false}.
+         *
+         * @param hedging {@code true} to enable hedged requests
+         * @return this builder
+         */
+        public Builder hedging(boolean hedging) {
+            this.hedging = hedging;
+            return this;
+        }
+
+        /**
+         * Sets the minimum delay before a hedged request is sent, defaults to 50 milliseconds.
+         *
+         * @param minHedgeDelay the minimum hedge delay
+         * @return this builder
+         */
+        public Builder minHedgeDelay(Duration minHedgeDelay) {
+            this.minHedgeDelay = requireNonNull(minHedgeDelay);
+            return this;
+        }
+
+        /**
+         * Creates the resilience policy.
+         *
+         * @return a new resilience policy
+         */
+        public Resilience build() {
+            return new Resilience(this);
+        }
+    }
+}
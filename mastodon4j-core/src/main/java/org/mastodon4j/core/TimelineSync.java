@@ -0,0 +1,372 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.mastodon4j.core.api.AsyncTimelines;
+import org.mastodon4j.core.api.MastodonApi;
+import org.mastodon4j.core.api.MastodonId;
+import org.mastodon4j.core.api.Timelines.Range;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Synchronizes timelines incrementally, fetching only the statuses posted since the previous synchronization.
+ * <p>
+ * The newest status id of every synchronized timeline is remembered. A synchronization requests the newest page of
+ * statuses since that id. If the page is full, more statuses arrived than fit a page and the gap between the
+ * remembered id and the oldest status of the page is backfilled: the id range of the gap is split into slices,
+ * each paged backwards by its own chain of requests, with one chain per slice running in parallel. Mastodon ids
+ * embed their creation time in the high bits, so the slices cover equal periods of time. The first
+ * synchronization of a timeline only fetches its newest page.
+ * <p>
+ * The number of statuses backfilled per synchronization is limited by a budget shared by all slices. The parts of
+ * a gap left unfilled are remembered and backfilled by the following synchronizations before newer gaps, so no
+ * status is skipped.
+ */
+public final class TimelineSync {
+    private final AsyncTimelines timelines;
+    private final int pageSize;
+    private final int backfillParallelism;
+    private final int maxBackfill;
+    private final Map<String, String> newestIds = new ConcurrentHashMap<>();
+    private final Map<String, List<Gap>> gaps = new ConcurrentHashMap<>();
+
+    /**
+     * Exclusive id range of statuses not fetched yet.
+     */
+    private record Gap(String since, String max) {
+    }
+
+    /**
+     * Synchronized timeline.
+     */
+    public static final class Timeline {
+        private final String key;
+        private final BiFunction<AsyncTimelines, Range, CompletableFuture<List<Status>>> fetch;
+
+        private Timeline(String key, BiFunction<AsyncTimelines, Range, CompletableFuture<List<Status>>> fetch) {
+            this.key = key;
+            this.fetch = fetch;
+        }
+
+        public static Timeline home() {
+            return new Timeline("home", AsyncTimelines::home);
+        }
+
+        public static Timeline pub() {
+            return new Timeline("public", AsyncTimelines::pub);
+        }
+
+        public static Timeline tag(String hashtag) {
+            requireNonNull(hashtag);
+            return new Timeline("tag/" + hashtag, (timelines, range) -> timelines.tag(hashtag, range));
+        }
+
+        public static Timeline list(String listId) {
+            requireNonNull(listId);
+            return new Timeline("list/" + listId, (timelines, range) -> timelines.list(listId, range));
+        }
+
+        /**
+         * Returns the key of the timeline, for example {@code home} or {@code tag/java}.
+         *
+         * @return the timeline key
+         */
+        public String key() {
+            return key;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Timeline timeline && key.equals(timeline.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+
+    private TimelineSync(Builder builder) {
+        this.timelines = builder.api.async().timelines();
+        this.pageSize = builder.pageSize;
+        this.backfillParallelism = builder.backfillParallelism;
+        this.maxBackfill = builder.maxBackfill;
+    }
+
+    /**
+     * Creates a builder of a timeline synchronization using the given client.
+     *
+     * @param api the client of the server of the timelines
+     * @return a new builder
+     */
+    public static Builder builder(MastodonApi api) {
+        return new Builder(requireNonNull(api));
+    }
+
+    /**
+     * Returns the newest status id of the given timeline seen so far.
+     *
+     * @param timeline the timeline
+     * @return the newest id, or an empty optional if not synchronized yet
+     */
+    public Optional<String> newestId(Timeline timeline) {
+        return Optional.ofNullable(newestIds.get(timeline.key()));
+    }
+
+    /**
+     * Sets the newest status id of the given timeline, for example to restore the state of a previous run. The next
+     * synchronization returns the statuses newer than the given id, gaps left by previous synchronizations are
+     * discarded.
+     *
+     * @param timeline the timeline
+     * @param newestId the newest id seen
+     */
+    public void newestId(Timeline timeline, String newestId) {
+        newestIds.put(timeline.key(), requireNonNull(newestId));
+        gaps.remove(timeline.key());
+    }
+
+    /**
+     * Returns whether the backfill of the given timeline exceeded its budget, leaving statuses older than the
+     * newest id to be returned by the following synchronizations.
+     *
+     * @param timeline the timeline
+     * @return {@code true} if parts of gaps are left unfilled
+     */
+    public boolean hasGaps(Timeline timeline) {
+        return gaps.containsKey(timeline.key());
+    }
+
+    /**
+     * Synchronizes the given timeline.
+     *
+     * @param timeline the timeline
+     * @return the new statuses including those of previously unfilled gaps, oldest first
+     */
+    public Stream<Status> sync(Timeline timeline) {
+        try {
+            return syncAsync(timeline).join().stream();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Synchronizes the given timeline asynchronously. The newest id and the gaps of the timeline are only updated
+     * once all statuses within the backfill budget have been fetched, a failed synchronization is therefore repeated
+     * completely by the next one.
+     *
+     * @param timeline the timeline
+     * @return a future of the new statuses including those of previously unfilled gaps, oldest first
+     */
+    public CompletableFuture<List<Status>> syncAsync(Timeline timeline) {
+        final String since = newestIds.get(timeline.key());
+        final List<Gap> previous = gaps.getOrDefault(timeline.key(), List.of());
+        return timeline.fetch.apply(timelines, range(since, null)).thenCompose(top -> {
+            final TreeMap<String, Status> statuses = new TreeMap<>(MastodonId.ORDER);
+            top.forEach(status -> statuses.put(status.id(), status));
+            final Queue<Gap> unfilled = new ConcurrentLinkedQueue<>(previous);
+            if (since != null && top.size() >= pageSize) {
+                unfilled.addAll(split(since, statuses.firstKey()));
+            }
+            final Queue<Status> backfilled = new ConcurrentLinkedQueue<>();
+            final Queue<Gap> left = new ConcurrentLinkedQueue<>();
+            final AtomicInteger budget = new AtomicInteger(maxBackfill);
+            final List<CompletableFuture<Void>> chains = new ArrayList<>(backfillParallelism);
+            for (int i = 0; i < Math.min(backfillParallelism, unfilled.size()); i++) {
+                chains.add(backfill(timeline, unfilled, budget, backfilled, left));
+            }
+            return CompletableFuture.allOf(chains.toArray(CompletableFuture<?>[]::new)).thenApply(ignored -> {
+                backfilled.forEach(status -> statuses.putIfAbsent(status.id(), status));
+                if (!statuses.isEmpty()) {
+                    newestIds.merge(timeline.key(), statuses.lastKey(), (current, candidate) ->
+                            MastodonId.compare(current, candidate) < 0 ? candidate : current);
+                }
+                if (left.isEmpty()) {
+                    gaps.remove(timeline.key());
+                } else {
+                    gaps.put(timeline.key(), List.copyOf(left));
+                }
+                return List.copyOf(statuses.values());
+            });
+        });
+    }
+
+    /**
+     * Fills the given gaps one after the other, paging each gap backwards while the budget lasts.
+     */
+    private CompletableFuture<Void> backfill(Timeline timeline, Queue<Gap> unfilled, AtomicInteger budget,
+                                             Queue<Status> backfilled, Queue<Gap> left) {
+        final Gap gap = unfilled.poll();
+        if (gap == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (budget.getAndAdd(-pageSize) <= 0) {
+            left.add(gap);
+            return backfill(timeline, unfilled, budget, backfilled, left);
+        }
+        return timeline.fetch.apply(timelines, range(gap.since(), gap.max())).thenCompose(page -> {
+            backfilled.addAll(page);
+            if (page.size() >= pageSize) {
+                final String oldest = page.stream().map(Status::id).min(MastodonId.ORDER).orElseThrow();
+                unfilled.add(new Gap(gap.since(), oldest));
+            }
+            return backfill(timeline, unfilled, budget, backfilled, left);
+        });
+    }
+
+    private List<Gap> split(String since, String until) {
+        final List<String> bounds = slices(since, until, backfillParallelism);
+        final int slices = bounds.size() - 1;
+        final List<Gap> split = new ArrayList<>(slices);
+        for (int i = 0; i < slices; i++) {
+            final String max = i == slices - 1 ? until : Long.toString(MastodonId.parse(bounds.get(i + 1)) + 1);
+            split.add(new Gap(bounds.get(i), max));
+        }
+        return split;
+    }
+
+    private Range range(String since, String max) {
+        return Range.of().sinceId(since).maxId(max).limit(pageSize);
+    }
+
+    /**
+     * Splits the exclusive id range between the given ids into slices of equal size.
+     *
+     * @param since  the lower exclusive bound
+     * @param until  the upper exclusive bound
+     * @param slices the number of slices
+     * @return the slice bounds, starting with {@code since} and ending with {@code until}
+     */
+    static List<String> slices(String since, String until, int slices) {
+        final long low;
+        final long high;
+        try {
+            low = MastodonId.parse(since);
+            high = MastodonId.parse(until);
+        } catch (NumberFormatException e) {
+            return List.of(since, until);
+        }
+        final List<String> bounds = new ArrayList<>(slices + 1);
+        bounds.add(since);
+        final long step = (high - low) / slices;
+        for (int i = 1; i < slices && step > 1; i++) {
+            bounds.add(Long.toString(low + step * i));
+        }
+        bounds.add(until);
+        return bounds;
+    }
+
+    /**
+     * Builder of a {@link TimelineSync}.
+     */
+    public static final class Builder {
+        private final MastodonApi api;
+        private int pageSize = 40;
+        private int backfillParallelism = 4;
+        private int maxBackfill = 800;
+
+        private Builder(MastodonApi api) {
+            this.api = api;
+        }
+
+        /**
+         * Sets the number of statuses requested per page, defaults to 40 being the maximum accepted by Mastodon.
+         *
+         * @param pageSize the page size
+         * @return this builder
+         */
+        public Builder pageSize(int pageSize) {
+            if (pageSize <= 0 || pageSize > 40) {
+                throw new IllegalArgumentException("pageSize must be between 1 and 40: " + pageSize);
+            }
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of gap slices backfilled in parallel, defaults to 4.
+         *
+         * @param backfillParallelism the backfill parallelism
+         * @return this builder
+         */
+        public Builder backfillParallelism(int backfillParallelism) {
+            if (backfillParallelism <= 0) {
+                throw new IllegalArgumentException("backfillParallelism must be positive: " + backfillParallelism);
+            }
+            this.backfillParallelism = backfillParallelism;
+            return this;
+        }
+
+        /**
+         * Sets the approximate maximum number of statuses backfilled per synchronization, defaults to 800. The rest
+         * of a larger gap is backfilled by the following synchronizations.
+         *
+         * @param maxBackfill the maximum number of backfilled statuses
+         * @return this builder
+         */
+        public Builder maxBackfill(int maxBackfill) {
+            if (maxBackfill <= 0) {
+                throw new IllegalArgumentException("maxBackfill must be positive: " + maxBackfill);
+            }
+            this.maxBackfill = maxBackfill;
+            return this;
+        }
+
+        /**
+         * Creates the timeline synchronization.
+         *
+         * @return a new timeline synchronization
+         */
+        public TimelineSync build() {
+            return new TimelineSync(this);
+        }
+    }
+}
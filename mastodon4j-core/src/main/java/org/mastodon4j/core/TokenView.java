@@ -0,0 +1,147 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.mastodon4j.core.api.Accounts;
+import org.mastodon4j.core.api.Apps;
+import org.mastodon4j.core.api.AsyncMastodonApi;
+import org.mastodon4j.core.api.Lists;
+import org.mastodon4j.core.api.MastodonApi;
+import org.mastodon4j.core.api.Notifications;
+import org.mastodon4j.core.api.Statuses;
+import org.mastodon4j.core.api.Streaming;
+import org.mastodon4j.core.api.Timelines;
+import org.mastodon4j.core.api.entities.AccessToken;
+import org.mastodon4j.core.api.entities.Instance;
+import org.mastodon4j.core.api.entities.Search;
+import org.mastodon4j.core.impl.AuthorizationContext;
+
+class TokenView implements MastodonApi {
+    private final MastodonClient client;
+    private final String authorization;
+
+    private Accounts accounts;
+    private Apps apps;
+    private Lists lists;
+    private Notifications notifications;
+    private Statuses statuses;
+    private Streaming streaming;
+    private Timelines timelines;
+    private AsyncMastodonApi async;
+
+    TokenView(final MastodonClient client, final AccessToken accessToken) {
+        this.client = client;
+        this.authorization = accessToken.authorization();
+    }
+
+    private <T> T bind(Class<T> type, T target) {
+        return AuthorizationContext.bind(type, target, authorization);
+    }
+
+    @Override
+    public Accounts accounts() {
+        if (accounts == null) {
+            accounts = bind(Accounts.class, client.uncachedAccounts());
+        }
+        return accounts;
+    }
+
+    @Override
+    public Apps apps() {
+        if (apps == null) {
+            apps = bind(Apps.class, client.apps());
+        }
+        return apps;
+    }
+
+    @Override
+    public Lists lists() {
+        if (lists == null) {
+            lists = bind(Lists.class, client.lists());
+        }
+        return lists;
+    }
+
+    @Override
+    public Notifications notifications() {
+        if (notifications == null) {
+            notifications = bind(Notifications.class, client.notifications());
+        }
+        return notifications;
+    }
+
+    @Override
+    public Statuses statuses() {
+        if (statuses == null) {
+            statuses = bind(Statuses.class, client.uncachedStatuses());
+        }
+        return statuses;
+    }
+
+    @Override
+    public Streaming streaming() {
+        if (streaming == null) {
+            streaming = client.streaming(authorization);
+        }
+        return streaming;
+    }
+
+    @Override
+    public Timelines timelines() {
+        if (timelines == null) {
+            timelines = bind(Timelines.class, client.timelines());
+        }
+        return timelines;
+    }
+
+    @Override
+    public AsyncMastodonApi async() {
+        if (async == null) {
+            async = bind(AsyncMastodonApi.class, client.async());
+        }
+        return async;
+    }
+
+    @Override
+    public MastodonApi withToken(AccessToken accessToken) {
+        return client.withToken(accessToken);
+    }
+
+    @Override
+    public Instance instance() {
+        return AuthorizationContext.call(authorization, client::instance);
+    }
+
+    @Override
+    public Search search(String query) {
+        return AuthorizationContext.call(authorization, () -> client.search(query));
+    }
+
+    @Override
+    public Search search(QueryOptions queryOptions) {
+        return AuthorizationContext.call(authorization, () -> client.search(queryOptions));
+    }
+}
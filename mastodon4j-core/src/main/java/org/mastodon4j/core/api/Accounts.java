@@ -32,6 +32,7 @@ import org.mastodon4j.core.api.entities.MList;
 import org.mastodon4j.core.api.entities.Status;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Contains all account related REST call methods.
@@ -50,6 +51,17 @@ public interface Accounts {
     @RequestLine("GET /api/v1/accounts/{id}")
     Account get(@Param("id") String id);
 
+    /**
+     * <a href="https://docs.joinmastodon.org/methods/accounts/#index">Get multiple accounts</a>.
+     * <p>
+     * View information about multiple profiles, supported since Mastodon 4.3.
+     *
+     * @param ids the account ids, at most 40, no request is sent for an empty list
+     * @return the found accounts
+     */
+    @RequestLine("GET /api/v1/accounts?id[]={ids}")
+    List<Account> get(@Param("ids") List<String> ids);
+
     /**
      * <a href="https://docs.joinmastodon.org/methods/accounts/#lists">Get lists containing this account</a>.
      * <p>
@@ -72,6 +84,28 @@ public interface Accounts {
     @RequestLine("GET /api/v1/accounts/{id}/statuses")
     List<Status> statuses(@Param("id") String id);
 
+    /**
+     * Streaming variant of {@link #statuses(String)}, decoding the account statuses one at a time
+     * while the response is read.
+     * <p>
+     * The returned stream holds the underlying connection and needs to be closed by the consumer, unless all
+     * elements have been consumed.
+     *
+     * @param id the account id
+     * @return a stream of account statuses
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/statuses")
+    Stream<Status> statusesStream(@Param("id") String id);
+
+    /**
+     * Paginated variant of {@link #statuses(String)}, linking to the following pages as announced by the server.
+     *
+     * @param id the account id
+     * @return the first page of account statuses
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/statuses")
+    Page<Status> statusesPage(@Param("id") String id);
+
     /**
      * <a href="https://docs.joinmastodon.org/methods/accounts/#followers">Get account’s followers</a>.
      * <p>
@@ -83,6 +117,28 @@ public interface Accounts {
     @RequestLine("GET /api/v1/accounts/{id}/followers")
     List<Account> followers(@Param("id") String id);
 
+    /**
+     * Streaming variant of {@link #followers(String)}, decoding the account followers one at a time
+     * while the response is read.
+     * <p>
+     * The returned stream holds the underlying connection and needs to be closed by the consumer, unless all
+     * elements have been consumed.
+     *
+     * @param id the account id
+     * @return a stream of account followers
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/followers")
+    Stream<Account> followersStream(@Param("id") String id);
+
+    /**
+     * Paginated variant of {@link #followers(String)}, linking to the following pages as announced by the server.
+     *
+     * @param id the account id
+     * @return the first page of account followers
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/followers")
+    Page<Account> followersPage(@Param("id") String id);
+
     /**
      * <a href="https://docs.joinmastodon.org/methods/accounts/#following">Get account’s following</a>.
      * <p>
@@ -94,6 +150,28 @@ public interface Accounts {
     @RequestLine("GET /api/v1/accounts/{id}/following")
     List<Account> following(@Param("id") String id);
 
+    /**
+     * Streaming variant of {@link #following(String)}, decoding the followed accounts one at a time
+     * while the response is read.
+     * <p>
+     * The returned stream holds the underlying connection and needs to be closed by the consumer, unless all
+     * elements have been consumed.
+     *
+     * @param id the account id
+     * @return a stream of followed accounts
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/following")
+    Stream<Account> followingStream(@Param("id") String id);
+
+    /**
+     * Paginated variant of {@link #following(String)}, linking to the following pages as announced by the server.
+     *
+     * @param id the account id
+     * @return the first page of followed accounts
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/following")
+    Page<Account> followingPage(@Param("id") String id);
+
     /**
      * <a href="https://docs.joinmastodon.org/methods/accounts/#search">Search for matching accounts</a>.
      * <p>
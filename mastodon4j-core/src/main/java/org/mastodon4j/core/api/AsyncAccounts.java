@@ -0,0 +1,132 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.api;
+
+import feign.Param;
+import feign.RequestLine;
+import org.mastodon4j.core.api.entities.Account;
+import org.mastodon4j.core.api.entities.MList;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link Accounts}, completing the returned futures once the response has been decoded.
+ *
+ * @see <a href="https://docs.joinmastodon.org/methods/accounts/">mastodon/accounts</a>
+ */
+public interface AsyncAccounts {
+    /**
+     * Asynchronous variant of {@link Accounts#get(String)}.
+     *
+     * @param id the account id
+     * @return a future of the account
+     */
+    @RequestLine("GET /api/v1/accounts/{id}")
+    CompletableFuture<Account> get(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link Accounts#get(List)}.
+     *
+     * @param ids the account ids, at most 40
+     * @return a future of the found accounts
+     */
+    @RequestLine("GET /api/v1/accounts?id[]={ids}")
+    CompletableFuture<List<Account>> get(@Param("ids") List<String> ids);
+
+    /**
+     * Asynchronous variant of {@link Accounts#lists(String)}.
+     *
+     * @param id the account id
+     * @return a future of the lists containing the account
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/lists")
+    CompletableFuture<List<MList>> lists(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link Accounts#statuses(String)}.
+     *
+     * @param id the account id
+     * @return a future of the account statuses
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/statuses")
+    CompletableFuture<List<Status>> statuses(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link Accounts#statusesPage(String)}.
+     *
+     * @param id the account id
+     * @return a future of the first page of account statuses
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/statuses")
+    CompletableFuture<Page<Status>> statusesPage(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link Accounts#followers(String)}.
+     *
+     * @param id the account id
+     * @return a future of the account followers
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/followers")
+    CompletableFuture<List<Account>> followers(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link Accounts#followersPage(String)}.
+     *
+     * @param id the account id
+     * @return a future of the first page of account followers
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/followers")
+    CompletableFuture<Page<Account>> followersPage(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link Accounts#following(String)}.
+     *
+     * @param id the account id
+     * @return a future of the accounts followed by the account
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/following")
+    CompletableFuture<List<Account>> following(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link Accounts#followingPage(String)}.
+     *
+     * @param id the account id
+     * @return a future of the first page of accounts followed by the account
+     */
+    @RequestLine("GET /api/v1/accounts/{id}/following")
+    CompletableFuture<Page<Account>> followingPage(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link Accounts#search(String)}.
+     *
+     * @param query the search query
+     * @return a future of the matching accounts
+     */
+    @RequestLine("GET /api/v1/accounts/search?q={query}")
+    CompletableFuture<List<Account>> search(@Param("query") String query);
+}
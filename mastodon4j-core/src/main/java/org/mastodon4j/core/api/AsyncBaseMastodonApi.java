@@ -0,0 +1,57 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.api;
+
+import feign.QueryMap;
+import feign.RequestLine;
+import org.mastodon4j.core.api.BaseMastodonApi.QueryOptions;
+import org.mastodon4j.core.api.entities.Instance;
+import org.mastodon4j.core.api.entities.Search;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link BaseMastodonApi}, completing the returned futures once the response has been
+ * decoded.
+ */
+public interface AsyncBaseMastodonApi {
+    /**
+     * Asynchronous variant of {@link BaseMastodonApi#instance()}.
+     *
+     * @return a future of the instance information
+     */
+    @RequestLine("GET /api/v2/instance")
+    CompletableFuture<Instance> instance();
+
+    /**
+     * Asynchronous variant of {@link BaseMastodonApi#search(QueryOptions)}.
+     *
+     * @param queryOptions query options record containing all query parameters
+     * @return a future of the search result
+     */
+    @RequestLine("GET /api/v2/search")
+    CompletableFuture<Search> search(@QueryMap QueryOptions queryOptions);
+}
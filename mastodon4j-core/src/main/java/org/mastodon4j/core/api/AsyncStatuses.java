@@ -0,0 +1,58 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.api;
+
+import feign.Param;
+import feign.RequestLine;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link Statuses}, completing the returned futures once the response has been decoded.
+ *
+ * @see <a href="https://docs.joinmastodon.org/methods/statuses/">mastodon/statuses</a>
+ */
+public interface AsyncStatuses {
+    /**
+     * Asynchronous variant of {@link Statuses#get(String)}.
+     *
+     * @param id the status id
+     * @return a future of the status
+     */
+    @RequestLine("GET /api/v1/statuses/{id}")
+    CompletableFuture<Status> get(@Param("id") String id);
+
+    /**
+     * Asynchronous variant of {@link Statuses#get(List)}.
+     *
+     * @param ids the status ids, at most 40
+     * @return a future of the found statuses
+     */
+    @RequestLine("GET /api/v1/statuses?id[]={ids}")
+    CompletableFuture<List<Status>> get(@Param("ids") List<String> ids);
+}
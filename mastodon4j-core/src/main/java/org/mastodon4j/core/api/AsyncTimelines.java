@@ -0,0 +1,113 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.api;
+
+import feign.Param;
+import feign.QueryMap;
+import feign.RequestLine;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link Timelines}, completing the returned futures once the response has been decoded.
+ *
+ * @see <a href="https://docs.joinmastodon.org/methods/timelines/">mastodon/timelines</a>
+ */
+public interface AsyncTimelines {
+    /**
+     * Asynchronous variant of {@link Timelines#pub()}.
+     *
+     * @return a future of the statuses from the public timeline
+     */
+    @RequestLine("GET /api/v1/timelines/public")
+    CompletableFuture<List<Status>> pub();
+
+    /**
+     * Asynchronous variant of {@link Timelines#pub(Timelines.Range)}.
+     *
+     * @param range the id range and page size
+     * @return a future of the statuses from the public timeline
+     */
+    @RequestLine("GET /api/v1/timelines/public")
+    CompletableFuture<List<Status>> pub(@QueryMap Timelines.Range range);
+
+    /**
+     * Asynchronous variant of {@link Timelines#tag(String)}.
+     *
+     * @param hashtag the tag id without the leading {@code #} symbol
+     * @return a future of the statuses from the hashtag timeline
+     */
+    @RequestLine("GET /api/v1/timelines/tag/{hashtag}")
+    CompletableFuture<List<Status>> tag(@Param("hashtag") String hashtag);
+
+    /**
+     * Asynchronous variant of {@link Timelines#tag(String, Timelines.Range)}.
+     *
+     * @param hashtag the tag id without the leading {@code #} symbol
+     * @param range   the id range and page size
+     * @return a future of the statuses from the hashtag timeline
+     */
+    @RequestLine("GET /api/v1/timelines/tag/{hashtag}")
+    CompletableFuture<List<Status>> tag(@Param("hashtag") String hashtag, @QueryMap Timelines.Range range);
+
+    /**
+     * Asynchronous variant of {@link Timelines#home()}.
+     *
+     * @return a future of the statuses from the home timeline
+     */
+    @RequestLine("GET /api/v1/timelines/home")
+    CompletableFuture<List<Status>> home();
+
+    /**
+     * Asynchronous variant of {@link Timelines#home(Timelines.Range)}.
+     *
+     * @param range the id range and page size
+     * @return a future of the statuses from the home timeline
+     */
+    @RequestLine("GET /api/v1/timelines/home")
+    CompletableFuture<List<Status>> home(@QueryMap Timelines.Range range);
+
+    /**
+     * Asynchronous variant of {@link Timelines#list(String)}.
+     *
+     * @param listId the list id
+     * @return a future of the statuses from the list timeline
+     */
+    @RequestLine("GET /api/v1/timelines/list/{listId}")
+    CompletableFuture<List<Status>> list(@Param("listId") String listId);
+
+    /**
+     * Asynchronous variant of {@link Timelines#list(String, Timelines.Range)}.
+     *
+     * @param listId the list id
+     * @param range  the id range and page size
+     * @return a future of the statuses from the list timeline
+     */
+    @RequestLine("GET /api/v1/timelines/list/{listId}")
+    CompletableFuture<List<Status>> list(@Param("listId") String listId, @QueryMap Timelines.Range range);
+}
@@ -39,6 +39,16 @@ public interface EventStream extends AutoCloseable {
      */
     void registerConsumer(Consumer<Event> statusConsumer);
 
+    /**
+     * Adds a new typed event consumer to this stream.
+     * <p>
+     * All typed consumers receive the same {@link TypedEvent} instance per event, so that its payload is decoded only
+     * once regardless of the number of consumers accessing it.
+     *
+     * @param eventConsumer the typed event consumer to add
+     */
+    void registerTypedConsumer(Consumer<TypedEvent> eventConsumer);
+
     /**
      * Sends the given subscription to that stream.
      *
@@ -31,6 +31,7 @@ import org.mastodon4j.core.api.entities.Account;
 import org.mastodon4j.core.api.entities.MList;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Contains all lists related REST call methods.
@@ -70,4 +71,26 @@ public interface Lists {
      */
     @RequestLine("GET /api/v1/lists/{id}/accounts")
     List<Account> accounts(@Param("id") String id);
+
+    /**
+     * Streaming variant of {@link #accounts(String)}, decoding the list members one at a time
+     * while the response is read.
+     * <p>
+     * The returned stream holds the underlying connection and needs to be closed by the consumer, unless all
+     * elements have been consumed.
+     *
+     * @param id the list id
+     * @return a stream of list members
+     */
+    @RequestLine("GET /api/v1/lists/{id}/accounts")
+    Stream<Account> accountsStream(@Param("id") String id);
+
+    /**
+     * Paginated variant of {@link #accounts(String)}, linking to the following pages as announced by the server.
+     *
+     * @param id the list id
+     * @return the first page of list members
+     */
+    @RequestLine("GET /api/v1/lists/{id}/accounts")
+    Page<Account> accountsPage(@Param("id") String id);
 }
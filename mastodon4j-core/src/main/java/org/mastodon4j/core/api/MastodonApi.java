@@ -25,6 +25,7 @@
  */
 package org.mastodon4j.core.api;
 
+import org.mastodon4j.core.api.entities.AccessToken;
 import org.mastodon4j.core.api.entities.Search;
 
 /**
@@ -45,6 +46,23 @@ public interface MastodonApi extends BaseMastodonApi {
 
     Timelines timelines();
 
+    /**
+     * Returns the asynchronous variant of this API, sharing the same HTTP client.
+     *
+     * @return the asynchronous API
+     */
+    AsyncMastodonApi async();
+
+    /**
+     * Returns a view of this API making all calls on behalf of the given access token, sharing the HTTP client,
+     * rate limits and caches keyed by authorization of this API. Views are cheap to create, for example per request
+     * of a user. Statuses and accounts are not served from the entity cache of this API.
+     *
+     * @param accessToken the access token of the calls
+     * @return a view of this API using the given access token
+     */
+    MastodonApi withToken(AccessToken accessToken);
+
     // other global methods
 
     /**
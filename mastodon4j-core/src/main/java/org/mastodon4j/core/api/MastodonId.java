@@ -0,0 +1,194 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.api;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+/**
+ * Mastodon entity id, a 64-bit snowflake number carrying the creation time of the entity in milliseconds in its
+ * upper 48 bits and a sequence in its lower 16 bits.
+ * <p>
+ * The static methods work on the ids as returned by the server without allocating: parsing them to a {@code long},
+ * comparing them numerically and extracting their timestamps. Ids of entities created before Mastodon 2.0 are plain
+ * sequence numbers without timestamp. The methods taking an instant accept the instants between the epoch and the
+ * last millisecond representable in an id, about the year 6429.
+ *
+ * @param value the numeric id
+ */
+public record MastodonId(long value) implements Comparable<MastodonId> {
+    /**
+     * Orders ids numerically, comparing their decimal digits without parsing.
+     */
+    public static final Comparator<CharSequence> ORDER = MastodonId::compare;
+
+    private static final int SEQUENCE_BITS = 16;
+    private static final long MAX_EPOCH_MILLI = Long.MAX_VALUE >>> SEQUENCE_BITS;
+
+    /**
+     * Creates an id.
+     *
+     * @param value the numeric id
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public MastodonId {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must not be negative: " + value);
+        }
+    }
+
+    /**
+     * Parses the given id.
+     *
+     * @param id the decimal id
+     * @return the id
+     * @throws NumberFormatException if the id is not a non-negative decimal number fitting a {@code long}
+     */
+    public static MastodonId of(CharSequence id) {
+        return new MastodonId(parse(id));
+    }
+
+    /**
+     * Returns the id of the first entity possibly created at the given instant.
+     *
+     * @param instant the creation time
+     * @return the smallest id of the instant
+     * @throws IllegalArgumentException if the instant is out of the range of ids
+     */
+    public static MastodonId of(Instant instant) {
+        return new MastodonId(firstId(instant));
+    }
+
+    /**
+     * Parses the given id without allocating.
+     *
+     * @param id the decimal id
+     * @return the numeric id
+     * @throws NumberFormatException if the id is not a non-negative decimal number fitting a {@code long}
+     */
+    public static long parse(CharSequence id) {
+        final int length = id.length();
+        if (length == 0) {
+            throw new NumberFormatException("Empty id");
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            final int digit = id.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                throw new NumberFormatException("Invalid id: " + id);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Compares the given decimal ids numerically without parsing them, assuming they have no leading zeros.
+     *
+     * @param first  the first id
+     * @param second the second id
+     * @return a negative number, zero or a positive number if the first id is less than, equal to or greater than
+     * the second id
+     */
+    public static int compare(CharSequence first, CharSequence second) {
+        int result = Integer.compare(first.length(), second.length());
+        for (int i = 0; result == 0 && i < first.length(); i++) {
+            result = Character.compare(first.charAt(i), second.charAt(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the creation time embedded in the given id, in milliseconds since the epoch.
+     *
+     * @param id the numeric id
+     * @return the epoch milliseconds
+     */
+    public static long epochMilli(long id) {
+        return id >>> SEQUENCE_BITS;
+    }
+
+    /**
+     * Returns the creation time embedded in the given id, in milliseconds since the epoch.
+     *
+     * @param id the decimal id
+     * @return the epoch milliseconds
+     * @throws NumberFormatException if the id is not a valid id
+     */
+    public static long epochMilli(CharSequence id) {
+        return epochMilli(parse(id));
+    }
+
+    /**
+     * Returns a {@code max_id} cursor selecting the entities created before the given instant.
+     *
+     * @param instant the exclusive upper bound of the creation time
+     * @return the decimal cursor id
+     * @throws IllegalArgumentException if the instant is out of the range of ids
+     */
+    public static String maxId(Instant instant) {
+        return Long.toString(firstId(instant));
+    }
+
+    /**
+     * Returns a {@code min_id} or {@code since_id} cursor selecting the entities created at or after the given
+     * instant. The cursor of the epoch is {@code 0}, selecting all entities as ids start at 1.
+     *
+     * @param instant the inclusive lower bound of the creation time
+     * @return the decimal cursor id
+     * @throws IllegalArgumentException if the instant is out of the range of ids
+     */
+    public static String minId(Instant instant) {
+        return Long.toString(Math.max(firstId(instant) - 1, 0));
+    }
+
+    private static long firstId(Instant instant) {
+        if (instant.isBefore(Instant.EPOCH) || instant.getEpochSecond() > MAX_EPOCH_MILLI / 1000
+                || instant.toEpochMilli() > MAX_EPOCH_MILLI) {
+            throw new IllegalArgumentException("instant out of the range of ids: " + instant);
+        }
+        return instant.toEpochMilli() << SEQUENCE_BITS;
+    }
+
+    /**
+     * Returns the creation time embedded in this id.
+     *
+     * @return the creation time
+     */
+    public Instant instant() {
+        return Instant.ofEpochMilli(epochMilli(value));
+    }
+
+    @Override
+    public int compareTo(MastodonId other) {
+        return Long.compare(value, other.value);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value);
+    }
+}
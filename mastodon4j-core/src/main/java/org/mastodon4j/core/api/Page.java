@@ -0,0 +1,298 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.api;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A page of a paginated result, linking to the adjacent pages as announced by the {@code Link} response header.
+ * <p>
+ * The adjacent pages are fetched using the client and access token of this page. When iterating over the
+ * {@link #pages(int, int) following pages}, up to a given number of them is fetched in the background while the
+ * current page is processed.
+ *
+ * @param <T> the type of the items
+ */
+public final class Page<T> implements Iterable<T> {
+    private final List<T> items;
+    private final URI next;
+    private final URI previous;
+    private final Function<URI, CompletableFuture<Page<T>>> fetcher;
+
+    /**
+     * Creates a page.
+     *
+     * @param items    the items of the page
+     * @param next     the URI of the next page, {@code null} if this is the last page
+     * @param previous the URI of the previous page, {@code null} if this is the first page
+     * @param fetcher  fetches the page of a URI
+     */
+    public Page(List<T> items, URI next, URI previous, Function<URI, CompletableFuture<Page<T>>> fetcher) {
+        this.items = List.copyOf(items);
+        this.next = next;
+        this.previous = previous;
+        this.fetcher = requireNonNull(fetcher);
+    }
+
+    /**
+     * Returns the items of this page.
+     *
+     * @return the unmodifiable items
+     */
+    public List<T> items() {
+        return items;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return items.iterator();
+    }
+
+    /**
+     * Returns the URI of the next page, containing older items.
+     *
+     * @return the next page URI, or an empty optional if this is the last page
+     */
+    public Optional<URI> nextUri() {
+        return Optional.ofNullable(next);
+    }
+
+    /**
+     * Returns the URI of the previous page, containing newer items.
+     *
+     * @return the previous page URI, or an empty optional if not announced
+     */
+    public Optional<URI> previousUri() {
+        return Optional.ofNullable(previous);
+    }
+
+    /**
+     * Checks whether a next page exists.
+     *
+     * @return {@code true} if a next page is linked
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Fetches the next page.
+     *
+     * @return the next page
+     * @throws NoSuchElementException if this is the last page
+     */
+    public Page<T> next() {
+        return join(nextAsync());
+    }
+
+    /**
+     * Fetches the next page asynchronously.
+     *
+     * @return the future next page
+     * @throws NoSuchElementException if this is the last page
+     */
+    public CompletableFuture<Page<T>> nextAsync() {
+        if (next == null) {
+            throw new NoSuchElementException("No next page");
+        }
+        return fetcher.apply(next);
+    }
+
+    /**
+     * Fetches the previous page.
+     *
+     * @return the previous page
+     * @throws NoSuchElementException if no previous page is linked
+     */
+    public Page<T> previous() {
+        if (previous == null) {
+            throw new NoSuchElementException("No previous page");
+        }
+        return join(fetcher.apply(previous));
+    }
+
+    /**
+     * Fetches the page of the given URI of the same endpoint, using the client and access token of this page. This
+     * allows to resume an iteration at a previously stored {@link #nextUri() next page URI}.
+     *
+     * @param uri the page URI
+     * @return the future page
+     */
+    public CompletableFuture<Page<T>> pageAsync(URI uri) {
+        return fetcher.apply(requireNonNull(uri));
+    }
+
+    /**
+     * Returns this page and all following pages, prefetching one page ahead.
+     *
+     * @return a sequential stream of pages
+     */
+    public Stream<Page<T>> pages() {
+        return pages(1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns this page and all following pages. While a page is processed, up to {@code prefetchDepth} following
+     * pages are fetched in the background, as long as the fetched but not yet consumed pages hold less than
+     * {@code maxBufferedItems} items. Closing the stream stops prefetching.
+     *
+     * @param prefetchDepth    the maximum number of pages fetched ahead, {@code 0} disables prefetching
+     * @param maxBufferedItems the maximum number of items fetched ahead
+     * @return a sequential stream of pages
+     */
+    public Stream<Page<T>> pages(int prefetchDepth, int maxBufferedItems) {
+        if (prefetchDepth < 0) {
+            throw new IllegalArgumentException("prefetchDepth must not be negative: " + prefetchDepth);
+        }
+        final Prefetcher<T> prefetcher = new Prefetcher<>(this, prefetchDepth, maxBufferedItems);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(prefetcher,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(prefetcher::close);
+    }
+
+    /**
+     * Returns the items of this page and all following pages, prefetching up to the given number of pages.
+     *
+     * @param prefetchDepth the maximum number of pages fetched ahead, {@code 0} disables prefetching
+     * @return a sequential stream of items
+     */
+    public Stream<T> stream(int prefetchDepth) {
+        final Stream<Page<T>> pages = pages(prefetchDepth, Integer.MAX_VALUE);
+        return pages.flatMap(page -> page.items().stream()).onClose(pages::close);
+    }
+
+    @Override
+    public String toString() {
+        return "Page{items=" + items.size() + ", next=" + next + ", previous=" + previous + '}';
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Iterates over a page and its following pages, fetching pages ahead of the consumer.
+     */
+    private static final class Prefetcher<T> implements Iterator<Page<T>> {
+        private final int prefetchDepth;
+        private final int maxBufferedItems;
+        private final Queue<Page<T>> buffer = new ArrayDeque<>();
+        private Page<T> first;
+        private Page<T> tail;
+        private int bufferedItems;
+        private CompletableFuture<Page<T>> pending;
+        private boolean closed;
+
+        Prefetcher(Page<T> first, int prefetchDepth, int maxBufferedItems) {
+            this.first = first;
+            this.tail = first;
+            this.prefetchDepth = prefetchDepth;
+            this.maxBufferedItems = maxBufferedItems;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            return first != null || !buffer.isEmpty() || pending != null || tail.hasNext();
+        }
+
+        @Override
+        public Page<T> next() {
+            while (true) {
+                final CompletableFuture<Page<T>> fetch;
+                synchronized (this) {
+                    if (first != null) {
+                        final Page<T> page = first;
+                        first = null;
+                        prefetch(false);
+                        return page;
+                    } else if (!buffer.isEmpty()) {
+                        final Page<T> page = buffer.poll();
+                        bufferedItems -= page.items().size();
+                        prefetch(false);
+                        return page;
+                    }
+                    fetch = pending != null ? pending : prefetch(true);
+                    if (fetch == null) {
+                        throw new NoSuchElementException();
+                    }
+                }
+                join(fetch);
+            }
+        }
+
+        private CompletableFuture<Page<T>> prefetch(boolean demanded) {
+            if (closed || pending != null || !tail.hasNext()) {
+                return null;
+            } else if (!demanded && (buffer.size() >= prefetchDepth || bufferedItems >= maxBufferedItems)) {
+                return null;
+            }
+            final CompletableFuture<Page<T>> fetch = tail.nextAsync();
+            pending = fetch;
+            // runs inline if already completed, a failed fetch is repeated once the page is demanded
+            fetch.whenComplete((page, failure) -> {
+                synchronized (this) {
+                    if (pending != fetch) {
+                        return;
+                    }
+                    pending = null;
+                    if (failure == null) {
+                        buffer.add(page);
+                        bufferedItems += page.items().size();
+                        tail = page;
+                        prefetch(false);
+                    }
+                }
+            });
+            return fetch;
+        }
+
+        synchronized void close() {
+            closed = true;
+            buffer.clear();
+        }
+    }
+}
@@ -29,6 +29,8 @@ import feign.Param;
 import feign.RequestLine;
 import org.mastodon4j.core.api.entities.Status;
 
+import java.util.List;
+
 /**
  * Contains all status related REST call methods.
  *
@@ -45,4 +47,15 @@ public interface Statuses {
      */
     @RequestLine("GET /api/v1/statuses/{id}")
     Status get(@Param("id") String id);
+
+    /**
+     * <a href="https://docs.joinmastodon.org/methods/statuses/#index">View multiple statuses</a>.
+     * <p>
+     * Obtain information about multiple statuses, supported since Mastodon 4.3.
+     *
+     * @param ids the status ids, at most 40, no request is sent for an empty list
+     * @return the found statuses
+     */
+    @RequestLine("GET /api/v1/statuses?id[]={ids}")
+    List<Status> get(@Param("ids") List<String> ids);
 }
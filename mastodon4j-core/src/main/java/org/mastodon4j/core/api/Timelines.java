@@ -26,10 +26,12 @@
 package org.mastodon4j.core.api;
 
 import feign.Param;
+import feign.QueryMap;
 import feign.RequestLine;
 import org.mastodon4j.core.api.entities.Status;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Contains all timeline related REST call methods.
@@ -45,6 +47,35 @@ public interface Timelines {
     @RequestLine("GET /api/v1/timelines/public")
     List<Status> pub();
 
+    /**
+     * Variant of {@link #pub()} returning the statuses of the given id range.
+     *
+     * @param range the id range and page size
+     * @return a list containing statuses from the public timeline
+     */
+    @RequestLine("GET /api/v1/timelines/public")
+    List<Status> pub(@QueryMap Range range);
+
+    /**
+     * Streaming variant of {@link #pub()}, decoding the public timeline statuses one at a time
+     * while the response is read.
+     * <p>
+     * The returned stream holds the underlying connection and needs to be closed by the consumer, unless all
+     * elements have been consumed.
+     *
+     * @return a stream of public timeline statuses
+     */
+    @RequestLine("GET /api/v1/timelines/public")
+    Stream<Status> pubStream();
+
+    /**
+     * Paginated variant of {@link #pub()}, linking to the following pages as announced by the server.
+     *
+     * @return the first page of public timeline statuses
+     */
+    @RequestLine("GET /api/v1/timelines/public")
+    Page<Status> pubPage();
+
     /**
      * <a href="https://docs.joinmastodon.org/methods/timelines/#tag">View hashtag timeline</a>.
      *
@@ -54,6 +85,38 @@ public interface Timelines {
     @RequestLine("GET /api/v1/timelines/tag/{hashtag}}")
     List<Status> tag(@Param("hashtag") String hashtag);
 
+    /**
+     * Variant of {@link #tag(String)} returning the statuses of the given id range.
+     *
+     * @param hashtag the tag id without the leading {@code #} symbol
+     * @param range   the id range and page size
+     * @return a list containing statuses from the hashtag timeline
+     */
+    @RequestLine("GET /api/v1/timelines/tag/{hashtag}")
+    List<Status> tag(@Param("hashtag") String hashtag, @QueryMap Range range);
+
+    /**
+     * Streaming variant of {@link #tag(String)}, decoding the hashtag timeline statuses one at a time
+     * while the response is read.
+     * <p>
+     * The returned stream holds the underlying connection and needs to be closed by the consumer, unless all
+     * elements have been consumed.
+     *
+     * @param hashtag the tag id without the leading {@code #} symbol
+     * @return a stream of hashtag timeline statuses
+     */
+    @RequestLine("GET /api/v1/timelines/tag/{hashtag}")
+    Stream<Status> tagStream(@Param("hashtag") String hashtag);
+
+    /**
+     * Paginated variant of {@link #tag(String)}, linking to the following pages as announced by the server.
+     *
+     * @param hashtag the tag id without the leading {@code #} symbol
+     * @return the first page of hashtag timeline statuses
+     */
+    @RequestLine("GET /api/v1/timelines/tag/{hashtag}")
+    Page<Status> tagPage(@Param("hashtag") String hashtag);
+
     /**
      * <a href="https://docs.joinmastodon.org/methods/timelines/#home">View home timeline</a>.
      *
@@ -62,6 +125,35 @@ public interface Timelines {
     @RequestLine("GET /api/v1/timelines/home")
     List<Status> home();
 
+    /**
+     * Variant of {@link #home()} returning the statuses of the given id range.
+     *
+     * @param range the id range and page size
+     * @return a list containing statuses from the home timeline
+     */
+    @RequestLine("GET /api/v1/timelines/home")
+    List<Status> home(@QueryMap Range range);
+
+    /**
+     * Streaming variant of {@link #home()}, decoding the home timeline statuses one at a time
+     * while the response is read.
+     * <p>
+     * The returned stream holds the underlying connection and needs to be closed by the consumer, unless all
+     * elements have been consumed.
+     *
+     * @return a stream of home timeline statuses
+     */
+    @RequestLine("GET /api/v1/timelines/home")
+    Stream<Status> homeStream();
+
+    /**
+     * Paginated variant of {@link #home()}, linking to the following pages as announced by the server.
+     *
+     * @return the first page of home timeline statuses
+     */
+    @RequestLine("GET /api/v1/timelines/home")
+    Page<Status> homePage();
+
     /**
      * <a href="https://docs.joinmastodon.org/methods/timelines/#list">View list timeline</a>.
      *
@@ -70,4 +162,70 @@ public interface Timelines {
      */
     @RequestLine("GET /api/v1/timelines/list/{listId}")
     List<Status> list(@Param("listId") String listId);
+
+    /**
+     * Variant of {@link #list(String)} returning the statuses of the given id range.
+     *
+     * @param listId the list id
+     * @param range  the id range and page size
+     * @return a list containing statuses from the list timeline
+     */
+    @RequestLine("GET /api/v1/timelines/list/{listId}")
+    List<Status> list(@Param("listId") String listId, @QueryMap Range range);
+
+    /**
+     * Streaming variant of {@link #list(String)}, decoding the list timeline statuses one at a time
+     * while the response is read.
+     * <p>
+     * The returned stream holds the underlying connection and needs to be closed by the consumer, unless all
+     * elements have been consumed.
+     *
+     * @param listId the list id
+     * @return a stream of list timeline statuses
+     */
+    @RequestLine("GET /api/v1/timelines/list/{listId}")
+    Stream<Status> listStream(@Param("listId") String listId);
+
+    /**
+     * Paginated variant of {@link #list(String)}, linking to the following pages as announced by the server.
+     *
+     * @param listId the list id
+     * @return the first page of list timeline statuses
+     */
+    @RequestLine("GET /api/v1/timelines/list/{listId}")
+    Page<Status> listPage(@Param("listId") String listId);
+
+    /**
+     * Id range of the returned statuses, all bounds being exclusive.
+     *
+     * @param max_id   return statuses older than this id
+     * @param since_id return the newest statuses newer than this id
+     * @param min_id   return the statuses immediately newer than this id
+     * @param limit    the maximum number of statuses, defaults to 20 and is capped at 40 by the server
+     */
+    record Range(String max_id,
+                 String since_id,
+                 String min_id,
+                 Integer limit) {
+
+        public static Range of() {
+            return new Range(null, null, null, null);
+        }
+
+        public Range maxId(String max_id) {
+            return new Range(max_id, since_id, min_id, limit);
+        }
+
+        public Range sinceId(String since_id) {
+            return new Range(max_id, since_id, min_id, limit);
+        }
+
+        public Range minId(String min_id) {
+            return new Range(max_id, since_id, min_id, limit);
+        }
+
+        public Range limit(int limit) {
+            return new Range(max_id, since_id, min_id, limit);
+        }
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.api;
+
+import org.mastodon4j.core.api.entities.Event;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Represents a streaming event with a typed view of its payload.
+ * <p>
+ * The payload is decoded lazily on first access and at most once, the decoded value is shared between all consumers
+ * of the same event. Events whose payload is never accessed are not decoded beyond their envelope.
+ *
+ * @see <a href="https://docs.joinmastodon.org/methods/streaming/#events">Event types and payloads</a>
+ */
+public interface TypedEvent {
+    /**
+     * Returns the raw event envelope.
+     *
+     * @return the raw event
+     */
+    Event event();
+
+    /**
+     * Returns the type of this event.
+     *
+     * @return the event type, {@link Type#UNKNOWN} if not known by this library
+     */
+    Type type();
+
+    /**
+     * Returns the streams this event belongs to.
+     *
+     * @return the stream names
+     */
+    default List<String> stream() {
+        return event().stream();
+    }
+
+    /**
+     * Returns the created or updated status of an {@link Type#UPDATE} or {@link Type#STATUS_UPDATE} event.
+     *
+     * @return the status, or an empty optional for other event types
+     */
+    Optional<Status> status();
+
+    /**
+     * Returns the id of the deleted status of a {@link Type#DELETE} event.
+     *
+     * @return the status id, or an empty optional for other event types
+     */
+    Optional<String> deletedStatusId();
+
+    /**
+     * Returns the payload decoded to the given type.
+     *
+     * @param payloadType the type of the payload
+     * @param <T>         the payload type
+     * @return the decoded payload, or {@code null} if the event has no payload
+     */
+    <T> T payload(Class<T> payloadType);
+
+    enum Type {
+        UPDATE("update"),
+        DELETE("delete"),
+        NOTIFICATION("notification"),
+        FILTERS_CHANGED("filters_changed"),
+        CONVERSATION("conversation"),
+        ANNOUNCEMENT("announcement"),
+        ANNOUNCEMENT_REACTION("announcement.reaction"),
+        ANNOUNCEMENT_DELETE("announcement.delete"),
+        STATUS_UPDATE("status.update"),
+        ENCRYPTED_MESSAGE("encrypted_message"),
+        UNKNOWN(null);
+
+        private final String value;
+
+        Type(String value) {
+            this.value = value;
+        }
+
+        public static Type ofValue(String value) {
+            for (Type type : values()) {
+                if (type.value != null && type.value.equals(value)) {
+                    return type;
+                }
+            }
+            return UNKNOWN;
+        }
+
+        public String value() {
+            return value;
+        }
+    }
+}
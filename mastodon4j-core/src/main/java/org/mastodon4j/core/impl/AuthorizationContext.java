@@ -0,0 +1,130 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+/**
+ * Holds the authorization of the calls made by the current thread on behalf of another access token than the one of
+ * the client.
+ * <p>
+ * Feign applies the request interceptors of the first attempt of a call in the calling thread, also for asynchronous
+ * calls, so the authorization only needs to be set while the call is issued. A retry of an asynchronous call applies
+ * them again on the thread completing the previous attempt, where no authorization is set, so the interceptor setting
+ * the {@code Authorization} header keeps the one of the first attempt.
+ */
+public final class AuthorizationContext {
+    private static final ThreadLocal<String> AUTHORIZATION = new ThreadLocal<>();
+
+    private AuthorizationContext() {
+    }
+
+    /**
+     * Returns the authorization of the current call.
+     *
+     * @param defaultAuthorization supplies the authorization of the client, if no other one is set
+     * @return the authorization header value
+     */
+    public static String authorization(Supplier<String> defaultAuthorization) {
+        final String authorization = AUTHORIZATION.get();
+        return authorization == null ? defaultAuthorization.get() : authorization;
+    }
+
+    /**
+     * Calls the given supplier using the given authorization.
+     *
+     * @param authorization the authorization header value
+     * @param call          the call to make
+     * @param <T>           the result type
+     * @return the result of the call
+     */
+    public static <T> T call(String authorization, Supplier<T> call) {
+        final String previous = AUTHORIZATION.get();
+        AUTHORIZATION.set(authorization);
+        try {
+            return call.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Returns a view of the given target making all calls using the given authorization. The results of methods
+     * returning an interface of the package of the given type are bound as well.
+     *
+     * @param type          the interface of the target
+     * @param target        the target
+     * @param authorization the authorization header value
+     * @param <T>           the interface type
+     * @return the bound view of the target
+     */
+    public static <T> T bind(Class<T> type, T target, String authorization) {
+        final InvocationHandler handler = (proxy, method, arguments) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == arguments[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + "(" + target + ")";
+                };
+            }
+            final String previous = AUTHORIZATION.get();
+            AUTHORIZATION.set(authorization);
+            final Object result;
+            try {
+                result = method.invoke(target, arguments);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                restore(previous);
+            }
+            return isBound(type, method) && result != null
+                    ? bindResult(method.getReturnType(), result, authorization) : result;
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static boolean isBound(Class<?> type, Method method) {
+        return method.getReturnType().isInterface()
+                && method.getReturnType().getPackageName().equals(type.getPackageName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object bindResult(Class<?> type, Object target, String authorization) {
+        return bind((Class<Object>) type, target, authorization);
+    }
+
+    private static void restore(String previous) {
+        if (previous == null) {
+            AUTHORIZATION.remove();
+        } else {
+            AUTHORIZATION.set(previous);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Collects the keys loaded within a time window and loads them using a single batch call.
+ * <p>
+ * The window starts with the first key of a batch, a batch reaching the maximum size is loaded immediately. Loading
+ * the same key again within a window returns the same future. Keys omitted from the result of the batch call
+ * complete with {@code null}.
+ *
+ * @param <V> the value type
+ */
+public final class BatchLoader<V> {
+    private final Function<List<String>, CompletableFuture<Map<String, V>>> batchCall;
+    private final int maxBatchSize;
+    private final Executor delayedExecutor;
+    private Map<String, CompletableFuture<V>> batch;
+
+    /**
+     * Creates a batch loader.
+     *
+     * @param batchCall    loads the values of a batch of keys
+     * @param window       the time to wait for further keys after the first key of a batch
+     * @param maxBatchSize the maximum number of keys of a batch
+     */
+    public BatchLoader(Function<List<String>, CompletableFuture<Map<String, V>>> batchCall, Duration window,
+                       int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        this.batchCall = batchCall;
+        this.maxBatchSize = maxBatchSize;
+        this.delayedExecutor = CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Loads the value of the given key as part of the current batch.
+     *
+     * @param key the key
+     * @return a future of the value
+     */
+    public CompletableFuture<V> load(String key) {
+        final Map<String, CompletableFuture<V>> started;
+        final Map<String, CompletableFuture<V>> full;
+        final CompletableFuture<V> future;
+        synchronized (this) {
+            started = batch == null ? new LinkedHashMap<>() : null;
+            if (started != null) {
+                batch = started;
+            } else if (batch.containsKey(key)) {
+                return batch.get(key);
+            }
+            future = new CompletableFuture<>();
+            batch.put(key, future);
+            full = batch.size() >= maxBatchSize ? batch : null;
+            if (full != null) {
+                batch = null;
+            }
+        }
+        if (full != null) {
+            call(full);
+        } else if (started != null) {
+            delayedExecutor.execute(() -> flush(started));
+        }
+        return future;
+    }
+
+    private void flush(Map<String, CompletableFuture<V>> expired) {
+        synchronized (this) {
+            if (batch != expired) {
+                // already loaded for reaching the maximum size
+                return;
+            }
+            batch = null;
+        }
+        call(expired);
+    }
+
+    private void call(Map<String, CompletableFuture<V>> futures) {
+        CompletableFuture<Map<String, V>> values;
+        try {
+            values = batchCall.apply(new ArrayList<>(futures.keySet()));
+        } catch (RuntimeException e) {
+            values = CompletableFuture.failedFuture(e);
+        }
+        values.whenComplete((result, failure) -> futures.forEach((key, future) -> {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result.get(key));
+            }
+        }));
+    }
+}
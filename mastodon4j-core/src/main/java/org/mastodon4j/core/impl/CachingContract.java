@@ -0,0 +1,63 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.Contract;
+import feign.MethodMetadata;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link Contract} decorator parsing each REST interface only once, allowing many clients to share the parsed
+ * method metadata.
+ */
+public final class CachingContract implements Contract {
+    private final Contract contract;
+    private final Map<Class<?>, List<MethodMetadata>> metadata = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a cache of the default contract.
+     */
+    public CachingContract() {
+        this(new Contract.Default());
+    }
+
+    /**
+     * Creates a cache of the given contract.
+     *
+     * @param contract the contract parsing the interfaces
+     */
+    public CachingContract(Contract contract) {
+        this.contract = contract;
+    }
+
+    @Override
+    public List<MethodMetadata> parseAndValidateMetadata(Class<?> targetType) {
+        return metadata.computeIfAbsent(targetType, type -> List.copyOf(contract.parseAndValidateMetadata(type)));
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import org.mastodon4j.core.CircuitBreakers.State;
+import org.mastodon4j.core.CircuitBreakers.Transition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker of a single endpoint, recording the outcome of its calls in a count based sliding window.
+ */
+public final class CircuitBreaker {
+    private final String endpoint;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallDuration;
+    private final double slowCallRateThreshold;
+    private final long openDuration;
+    private final int halfOpenCalls;
+    private final Consumer<Transition> listener;
+    private final LongSupplier nanoTime;
+    private final boolean[] failures;
+    private final boolean[] slowCalls;
+
+    private State state = State.CLOSED;
+    private int calls;
+    private int next;
+    private int failureCount;
+    private int slowCallCount;
+    private long openedAt;
+    private int trialCalls;
+    private int succeededTrialCalls;
+
+    /**
+     * Creates a closed circuit breaker.
+     *
+     * @param endpoint              the endpoint of the calls
+     * @param windowSize            the number of recorded calls
+     * @param minimumCalls          the minimum number of recorded calls before opening
+     * @param failureRateThreshold  the rate of failed calls opening the circuit breaker
+     * @param slowCallDuration      the duration from which on a call is slow
+     * @param slowCallRateThreshold the rate of slow calls opening the circuit breaker
+     * @param openDuration          the time the circuit breaker stays open
+     * @param halfOpenCalls         the number of trial calls after being open
+     * @param listener              the listener of state transitions
+     */
+    public CircuitBreaker(String endpoint, int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration slowCallDuration, double slowCallRateThreshold, Duration openDuration,
+                          int halfOpenCalls, Consumer<Transition> listener) {
+        this(endpoint, windowSize, minimumCalls, failureRateThreshold, slowCallDuration, slowCallRateThreshold,
+                openDuration, halfOpenCalls, listener, System::nanoTime);
+    }
+
+    CircuitBreaker(String endpoint, int windowSize, int minimumCalls, double failureRateThreshold,
+                   Duration slowCallDuration, double slowCallRateThreshold, Duration openDuration,
+                   int halfOpenCalls, Consumer<Transition> listener, LongSupplier nanoTime) {
+        this.endpoint = endpoint;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallDuration = slowCallDuration.toNanos();
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openDuration = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.listener = listener;
+        this.nanoTime = nanoTime;
+        this.failures = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+    }
+
+    /**
+     * Returns the endpoint of the calls.
+     *
+     * @return the request line template of the endpoint resolved against its server
+     */
+    public String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Returns the current state.
+     *
+     * @return the state
+     */
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Checks whether a call is permitted, switching an open circuit breaker to half open after the open duration.
+     *
+     * @return {@code true} if the call may be sent, its outcome must then be {@link #record(boolean, long) recorded}
+     */
+    public boolean tryAcquire() {
+        final Transition transition;
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return true;
+            } else if (state == State.HALF_OPEN) {
+                if (trialCalls == halfOpenCalls) {
+                    return false;
+                }
+                trialCalls++;
+                return true;
+            } else if (nanoTime.getAsLong() - openedAt < openDuration) {
+                return false;
+            }
+            transition = transition(State.HALF_OPEN);
+            trialCalls = 1;
+            succeededTrialCalls = 0;
+        }
+        listener.accept(transition);
+        return true;
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param failed   {@code true} if the call failed
+     * @param duration the duration of the call in nanoseconds
+     */
+    public void record(boolean failed, long duration) {
+        final boolean slow = duration >= slowCallDuration;
+        final Transition transition;
+        synchronized (this) {
+            if (state == State.HALF_OPEN) {
+                if (failed || slow) {
+                    transition = open();
+                } else if (++succeededTrialCalls >= halfOpenCalls) {
+                    transition = transition(State.CLOSED);
+                    reset();
+                } else {
+                    transition = null;
+                }
+            } else if (state == State.CLOSED) {
+                transition = add(failed, slow) ? open() : null;
+            } else {
+                // a late outcome of a call permitted before opening
+                transition = null;
+            }
+        }
+        if (transition != null) {
+            listener.accept(transition);
+        }
+    }
+
+    private boolean add(boolean failed, boolean slow) {
+        if (calls == failures.length) {
+            failureCount -= failures[next] ? 1 : 0;
+            slowCallCount -= slowCalls[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        failures[next] = failed;
+        slowCalls[next] = slow;
+        failureCount += failed ? 1 : 0;
+        slowCallCount += slow ? 1 : 0;
+        next = (next + 1) % failures.length;
+        return calls >= minimumCalls && ((double) failureCount / calls >= failureRateThreshold
+                || (double) slowCallCount / calls >= slowCallRateThreshold);
+    }
+
+    private Transition open() {
+        final Transition transition = transition(State.OPEN);
+        openedAt = nanoTime.getAsLong();
+        reset();
+        return transition;
+    }
+
+    private void reset() {
+        calls = 0;
+        next = 0;
+        failureCount = 0;
+        slowCallCount = 0;
+    }
+
+    private Transition transition(State to) {
+        final Transition transition = new Transition(endpoint, state, to, Instant.now());
+        state = to;
+        return transition;
+    }
+}
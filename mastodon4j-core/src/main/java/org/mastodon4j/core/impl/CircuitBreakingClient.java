@@ -0,0 +1,102 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.mastodon4j.core.CircuitOpenException;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * {@link Client} decorator failing fast with a {@link CircuitOpenException} while the circuit breaker of the
+ * endpoint of a request is open, recording the outcome of all other requests.
+ */
+public final class CircuitBreakingClient implements Client, AsyncClient<Object> {
+    private final Client client;
+    private final AsyncClient<Object> asyncClient;
+    private final Function<Request, CircuitBreaker> breakers;
+
+    /**
+     * Creates a decorator of the given clients.
+     *
+     * @param client      the client executing synchronous requests
+     * @param asyncClient the client executing asynchronous requests
+     * @param breakers    resolves the circuit breaker of a request
+     */
+    public CircuitBreakingClient(Client client, AsyncClient<Object> asyncClient,
+                                 Function<Request, CircuitBreaker> breakers) {
+        this.client = client;
+        this.asyncClient = asyncClient;
+        this.breakers = breakers;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        final CircuitBreaker breaker = acquire(request);
+        final long start = System.nanoTime();
+        final Response response;
+        try {
+            response = client.execute(request, options);
+        } catch (IOException | RuntimeException e) {
+            breaker.record(true, System.nanoTime() - start);
+            throw e;
+        }
+        breaker.record(isFailure(response), System.nanoTime() - start);
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(Request request, Request.Options options,
+                                               Optional<Object> requestContext) {
+        final CircuitBreaker breaker;
+        try {
+            breaker = acquire(request);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final long start = System.nanoTime();
+        return asyncClient.execute(request, options, requestContext).whenComplete((response, failure) ->
+                breaker.record(failure != null || isFailure(response), System.nanoTime() - start));
+    }
+
+    private CircuitBreaker acquire(Request request) {
+        final CircuitBreaker breaker = breakers.apply(request);
+        if (!breaker.tryAcquire()) {
+            throw new CircuitOpenException(breaker.endpoint());
+        }
+        return breaker;
+    }
+
+    private static boolean isFailure(Response response) {
+        return response.status() >= 500;
+    }
+}
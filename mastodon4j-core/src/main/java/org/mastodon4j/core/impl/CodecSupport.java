@@ -0,0 +1,432 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import jakarta.json.Json;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParserFactory;
+import org.mastodon4j.core.Projection;
+import org.mastodon4j.core.spi.EntityCodec;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Support methods used by the generated {@link EntityCodec} implementations.
+ * <p>
+ * All {@code read} methods expect the parser to be positioned on the event of the value to be read and leave it on
+ * the last event of that value. JSON values not matching the expected type are converted the same way the default
+ * JSON binding does for the basic types, or rejected otherwise.
+ */
+public final class CodecSupport {
+    private static final JsonParserFactory PARSER_FACTORY = Json.createParserFactory(Map.of());
+    private static final JsonGeneratorFactory GENERATOR_FACTORY = Json.createGeneratorFactory(Map.of());
+    private static final ThreadLocal<Map<Object, Object>> CANONICAL_INSTANCES = new ThreadLocal<>();
+    private static final ThreadLocal<Projection> PROJECTION = new ThreadLocal<>();
+
+    private CodecSupport() {
+    }
+
+    /**
+     * Reads a single value from the parser.
+     *
+     * @param <T> the value type
+     */
+    @FunctionalInterface
+    public interface ValueReader<T> {
+        T read(JsonParser parser);
+    }
+
+    /**
+     * Writes a single non {@code null} value to the generator.
+     *
+     * @param <T> the value type
+     */
+    @FunctionalInterface
+    public interface ValueWriter<T> {
+        void write(JsonGenerator generator, T value);
+    }
+
+    public static <T> EntityCodec<T> codec(Class<T> type, ValueReader<T> reader, ValueWriter<T> writer) {
+        return new EntityCodec<>() {
+            @Override
+            public Class<T> type() {
+                return type;
+            }
+
+            @Override
+            public T read(JsonParser parser) {
+                return reader.read(parser);
+            }
+
+            @Override
+            public void write(JsonGenerator generator, T value) {
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    writer.write(generator, value);
+                }
+            }
+        };
+    }
+
+    static JsonParser createParser(Reader reader) {
+        return PARSER_FACTORY.createParser(reader);
+    }
+
+    static JsonParser createParser(InputStream inputStream) {
+        return PARSER_FACTORY.createParser(inputStream);
+    }
+
+    static JsonGenerator createGenerator(Writer writer) {
+        return GENERATOR_FACTORY.createGenerator(writer);
+    }
+
+    /**
+     * Runs the given decoding action on the current thread, letting {@link #deduplicate(Object)} share the equal
+     * instances using the given map of canonical instances.
+     *
+     * @param canonicalInstances the canonical instances, keyed by themselves
+     * @param action             the decoding action
+     * @param <T>                the decoded type
+     * @return the result of the action
+     */
+    public static <T> T deduplicating(Map<Object, Object> canonicalInstances, Supplier<T> action) {
+        final Map<Object, Object> previous = CANONICAL_INSTANCES.get();
+        CANONICAL_INSTANCES.set(canonicalInstances);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CANONICAL_INSTANCES.remove();
+            } else {
+                CANONICAL_INSTANCES.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Returns the canonical instance equal to the given decoded value when called within
+     * {@link #deduplicating(Map, Supplier)}, or the value itself otherwise.
+     *
+     * @param value the decoded value
+     * @param <T>   the value type
+     * @return the canonical instance
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T deduplicate(T value) {
+        final Map<Object, Object> canonicalInstances = CANONICAL_INSTANCES.get();
+        if (canonicalInstances == null) {
+            return value;
+        }
+        final Object canonical = canonicalInstances.putIfAbsent(value, value);
+        return canonical == null ? value : (T) canonical;
+    }
+
+    /**
+     * Runs the given decoding action on the current thread, applying the given projection to each decoded root
+     * value.
+     *
+     * @param projection the projection
+     * @param action     the decoding action
+     * @param <T>        the decoded type
+     * @return the result of the action
+     */
+    public static <T> T projecting(Projection projection, Supplier<T> action) {
+        final Projection previous = PROJECTION.get();
+        PROJECTION.set(projection.includesAll() ? null : projection);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PROJECTION.remove();
+            } else {
+                PROJECTION.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Reads a root value, restoring the projection of the root afterwards even if the value could not be read.
+     *
+     * @param parser the parser positioned on the start of the value
+     * @param reader the reader of the value
+     * @param <T>    the value type
+     * @return the value read
+     */
+    static <T> T readRoot(JsonParser parser, ValueReader<T> reader) {
+        final Projection projection = PROJECTION.get();
+        try {
+            return reader.read(parser);
+        } finally {
+            if (projection != PROJECTION.get()) {
+                PROJECTION.set(projection);
+            }
+        }
+    }
+
+    /**
+     * Returns the projection of the object to be read.
+     *
+     * @return the projection, or {@code null} if all fields are to be read
+     */
+    public static Projection projection() {
+        return PROJECTION.get();
+    }
+
+    /**
+     * Checks that the current event starts an object.
+     *
+     * @param parser the parser
+     * @return {@code true} if an object starts, {@code false} for a {@code null} value
+     */
+    public static boolean startObject(JsonParser parser) {
+        final JsonParser.Event event = parser.currentEvent();
+        if (event == JsonParser.Event.START_OBJECT) {
+            return true;
+        } else if (event == JsonParser.Event.VALUE_NULL) {
+            return false;
+        }
+        throw unexpected(event, "object");
+    }
+
+    /**
+     * Advances the parser to the value of the next object property.
+     *
+     * @param parser the parser positioned within an object
+     * @return the property name, or {@code null} at the end of the object
+     */
+    public static String nextKey(JsonParser parser) {
+        if (parser.next() == JsonParser.Event.END_OBJECT) {
+            return null;
+        }
+        final String key = parser.getString();
+        parser.next();
+        return key;
+    }
+
+    /**
+     * Advances the parser to the value of the next object property included in the given projection, skipping all
+     * other properties. The projection of the included property is made current while its value is read.
+     *
+     * @param parser     the parser positioned within an object
+     * @param projection the projection of the object, or {@code null} to include all properties
+     * @return the property name, or {@code null} at the end of the object
+     */
+    public static String nextKey(JsonParser parser, Projection projection) {
+        if (projection == null) {
+            return nextKey(parser);
+        }
+        while (parser.next() != JsonParser.Event.END_OBJECT) {
+            final String key = parser.getString();
+            parser.next();
+            final Projection field = projection.field(key);
+            if (field != null) {
+                PROJECTION.set(field.includesAll() ? null : field);
+                return key;
+            }
+            skipValue(parser);
+        }
+        PROJECTION.set(projection);
+        return null;
+    }
+
+    public static void skipValue(JsonParser parser) {
+        final JsonParser.Event event = parser.currentEvent();
+        if (event == JsonParser.Event.START_OBJECT) {
+            parser.skipObject();
+        } else if (event == JsonParser.Event.START_ARRAY) {
+            parser.skipArray();
+        }
+    }
+
+    public static String readString(JsonParser parser) {
+        final JsonParser.Event event = parser.currentEvent();
+        return switch (event) {
+            case VALUE_STRING, VALUE_NUMBER -> parser.getString();
+            case VALUE_TRUE -> "true";
+            case VALUE_FALSE -> "false";
+            case VALUE_NULL -> null;
+            default -> throw unexpected(event, "string");
+        };
+    }
+
+    public static Boolean readBoolean(JsonParser parser) {
+        final JsonParser.Event event = parser.currentEvent();
+        return switch (event) {
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_STRING -> Boolean.valueOf(parser.getString());
+            case VALUE_NULL -> null;
+            default -> throw unexpected(event, "boolean");
+        };
+    }
+
+    public static Integer readInteger(JsonParser parser) {
+        final JsonParser.Event event = parser.currentEvent();
+        return switch (event) {
+            case VALUE_NUMBER -> parser.getInt();
+            case VALUE_STRING -> Integer.valueOf(parser.getString());
+            case VALUE_NULL -> null;
+            default -> throw unexpected(event, "integer");
+        };
+    }
+
+    public static Long readLong(JsonParser parser) {
+        final JsonParser.Event event = parser.currentEvent();
+        return switch (event) {
+            case VALUE_NUMBER -> parser.getLong();
+            case VALUE_STRING -> Long.valueOf(parser.getString());
+            case VALUE_NULL -> null;
+            default -> throw unexpected(event, "long");
+        };
+    }
+
+    public static Double readDouble(JsonParser parser) {
+        final JsonParser.Event event = parser.currentEvent();
+        return switch (event) {
+            case VALUE_NUMBER -> parser.getBigDecimal().doubleValue();
+            case VALUE_STRING -> Double.valueOf(parser.getString());
+            case VALUE_NULL -> null;
+            default -> throw unexpected(event, "double");
+        };
+    }
+
+    public static ZonedDateTime readZonedDateTime(JsonParser parser) {
+        final JsonParser.Event event = parser.currentEvent();
+        return switch (event) {
+            case VALUE_STRING -> ZonedDateTime.parse(parser.getString(), DateTimeFormatter.ISO_ZONED_DATE_TIME);
+            case VALUE_NULL -> null;
+            default -> throw unexpected(event, "date time");
+        };
+    }
+
+    public static <T> List<T> readList(JsonParser parser, ValueReader<T> elementReader) {
+        final JsonParser.Event event = parser.currentEvent();
+        if (event == JsonParser.Event.VALUE_NULL) {
+            return null;
+        } else if (event != JsonParser.Event.START_ARRAY) {
+            throw unexpected(event, "array");
+        }
+        final List<T> list = new ArrayList<>();
+        while (parser.next() != JsonParser.Event.END_ARRAY) {
+            list.add(elementReader.read(parser));
+        }
+        return list;
+    }
+
+    public static <V> Map<String, V> readMap(JsonParser parser, ValueReader<V> valueReader) {
+        if (!startObject(parser)) {
+            return null;
+        }
+        final Map<String, V> map = new LinkedHashMap<>();
+        for (String key = nextKey(parser); key != null; key = nextKey(parser)) {
+            map.put(key, valueReader.read(parser));
+        }
+        return map;
+    }
+
+    /**
+     * Writes a named property, omitting {@code null} values.
+     *
+     * @param generator the generator
+     * @param name      the property name
+     * @param value     the property value
+     * @param writer    the writer for non {@code null} values
+     * @param <T>       the value type
+     */
+    public static <T> void writeProperty(JsonGenerator generator, String name, T value, ValueWriter<T> writer) {
+        if (value != null) {
+            generator.writeKey(name);
+            writer.write(generator, value);
+        }
+    }
+
+    public static void writeString(JsonGenerator generator, String value) {
+        generator.write(value);
+    }
+
+    public static void writeBoolean(JsonGenerator generator, Boolean value) {
+        generator.write(value);
+    }
+
+    public static void writeInteger(JsonGenerator generator, Integer value) {
+        generator.write(value);
+    }
+
+    public static void writeLong(JsonGenerator generator, Long value) {
+        generator.write(value);
+    }
+
+    public static void writeDouble(JsonGenerator generator, Double value) {
+        generator.write(value);
+    }
+
+    public static void writeZonedDateTime(JsonGenerator generator, ZonedDateTime value) {
+        generator.write(DateTimeFormatter.ISO_ZONED_DATE_TIME.format(value));
+    }
+
+    public static <T> void writeList(JsonGenerator generator, List<T> list, ValueWriter<T> elementWriter) {
+        generator.writeStartArray();
+        for (T element : list) {
+            if (element == null) {
+                generator.writeNull();
+            } else {
+                elementWriter.write(generator, element);
+            }
+        }
+        generator.writeEnd();
+    }
+
+    public static <V> void writeMap(JsonGenerator generator, Map<String, V> map, ValueWriter<V> valueWriter) {
+        generator.writeStartObject();
+        // null map values are kept, like Yasson does
+        map.forEach((key, value) -> {
+            if (value == null) {
+                generator.writeNull(key);
+            } else {
+                generator.writeKey(key);
+                valueWriter.write(generator, value);
+            }
+        });
+        generator.writeEnd();
+    }
+
+    private static JsonException unexpected(JsonParser.Event event, String expected) {
+        return new JsonException("Expected " + expected + " value, but got " + event);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.FilterInputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link Client} decorator limiting the number of concurrent requests. Requests exceeding the limit wait in
+ * arrival order, asynchronous requests without blocking a thread.
+ * <p>
+ * A request is running until its response body is closed, which for streamed responses is when the stream or page
+ * is closed. As each concurrent HTTP/1.1 request occupies a connection, the limit also bounds the number of
+ * connections.
+ */
+public final class ConcurrencyLimitingClient implements Client, AsyncClient<Object> {
+    private final Client client;
+    private final AsyncClient<Object> asyncClient;
+    private final Queue<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private int available;
+    private int active;
+    private long lastUsed = System.nanoTime();
+
+    /**
+     * Creates a decorator of the given clients.
+     *
+     * @param client      the client executing synchronous requests
+     * @param asyncClient the client executing asynchronous requests
+     * @param limit       the maximum number of concurrent requests
+     */
+    public ConcurrencyLimitingClient(Client client, AsyncClient<Object> asyncClient, int limit) {
+        this.client = client;
+        this.asyncClient = asyncClient;
+        this.available = limit;
+    }
+
+    /**
+     * Returns whether no request is running or waiting since the given number of nanoseconds, a request running
+     * until its response body is closed.
+     *
+     * @param nanos the idle time in nanoseconds
+     * @return {@code true} if idle for at least the given time
+     */
+    public synchronized boolean isIdle(long nanos) {
+        return active == 0 && System.nanoTime() - lastUsed >= nanos;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        final CompletableFuture<Void> permit = acquire();
+        try {
+            permit.get();
+        } catch (InterruptedException e) {
+            if (permit.cancel(false)) {
+                cancelled();
+            } else {
+                release();
+            }
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        Response response = null;
+        try {
+            response = client.execute(request, options);
+            return releasedOnClose(response);
+        } finally {
+            if (response == null) {
+                release();
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(Request request, Request.Options options,
+                                               Optional<Object> requestContext) {
+        return acquire().thenCompose(ignored -> asyncClient.execute(request, options, requestContext))
+                .handle((response, failure) -> {
+                    if (failure != null) {
+                        release();
+                        throw failure instanceof CompletionException completionException
+                                ? completionException : new CompletionException(failure);
+                    }
+                    return releasedOnClose(response);
+                });
+    }
+
+    private Response releasedOnClose(Response response) {
+        if (response.body() == null) {
+            release();
+            return response;
+        }
+        return response.toBuilder().body(new PermitBody(response.body())).build();
+    }
+
+    private synchronized CompletableFuture<Void> acquire() {
+        active++;
+        lastUsed = System.nanoTime();
+        if (available > 0) {
+            available--;
+            return CompletableFuture.completedFuture(null);
+        }
+        final CompletableFuture<Void> permit = new CompletableFuture<>();
+        waiting.add(permit);
+        return permit;
+    }
+
+    private synchronized void cancelled() {
+        active--;
+    }
+
+    private void release() {
+        synchronized (this) {
+            active--;
+            lastUsed = System.nanoTime();
+        }
+        // hand the permit over to the next waiting request, skipping cancelled ones
+        while (true) {
+            final CompletableFuture<Void> next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            }
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Body releasing the permit of its request once when closed, or when its input stream or reader is closed.
+     */
+    private final class PermitBody implements Response.Body {
+        private final Response.Body body;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitBody(Response.Body body) {
+            this.body = body;
+        }
+
+        @Override
+        public Integer length() {
+            return body.length();
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return body.isRepeatable();
+        }
+
+        @Override
+        public InputStream asInputStream() throws IOException {
+            return new FilterInputStream(body.asInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        releaseOnce();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public Reader asReader(Charset charset) throws IOException {
+            return new FilterReader(body.asReader(charset)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        releaseOnce();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                body.close();
+            } finally {
+                releaseOnce();
+            }
+        }
+
+        private void releaseOnce() {
+            if (released.compareAndSet(false, true)) {
+                release();
+            }
+        }
+    }
+}
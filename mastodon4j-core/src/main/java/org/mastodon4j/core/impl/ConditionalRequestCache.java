@@ -0,0 +1,246 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * {@link Client} decorator revalidating the responses of GET requests using their {@code ETag} and
+ * {@code Last-Modified} validators.
+ * <p>
+ * The decoded entity of a response providing a validator is kept per URL, authorization and result type of the
+ * called method, synchronous and asynchronous methods of the same result sharing it. Repeated requests are sent with
+ * {@code If-None-Match} and {@code If-Modified-Since} headers, a {@code 304 Not Modified} response is then answered
+ * by the {@link #decoder(Decoder) decoder} with the kept entity, which travels with the rewritten response. The
+ * number of kept entities is bounded, evicting the least recently used ones. The kept entities are shared by all
+ * callers and must not be modified.
+ */
+public final class ConditionalRequestCache implements Client, AsyncClient<Object> {
+    private final Client client;
+    private final AsyncClient<Object> asyncClient;
+    private final Map<String, Entry> entries;
+
+    private record Entry(Object value, String etag, String lastModified) {
+    }
+
+    /**
+     * Empty body of a not modified response, carrying the kept entity.
+     */
+    private record NotModifiedBody(Entry entry) implements Response.Body {
+        @Override
+        public Integer length() {
+            return 0;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public InputStream asInputStream() {
+            return InputStream.nullInputStream();
+        }
+
+        @Override
+        public Reader asReader(Charset charset) {
+            return Reader.nullReader();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Creates a decorator of the given clients.
+     *
+     * @param client      the client executing synchronous requests
+     * @param asyncClient the client executing asynchronous requests
+     * @param maxEntries  the maximum number of kept entities
+     */
+    public ConditionalRequestCache(Client client, AsyncClient<Object> asyncClient, int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.client = client;
+        this.asyncClient = asyncClient;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Returns the number of kept entities.
+     *
+     * @return the number of entities
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all kept entities.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        final Entry entry = entry(request);
+        return notModified(entry, client.execute(conditional(request, entry), options));
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(Request request, Request.Options options,
+                                               Optional<Object> requestContext) {
+        final Entry entry = entry(request);
+        return asyncClient.execute(conditional(request, entry), options, requestContext)
+                .thenApply(response -> notModified(entry, response));
+    }
+
+    /**
+     * Returns a decoder answering not modified responses with the kept entity and keeping the entities of
+     * responses providing validators, using the given decoder for all other responses.
+     *
+     * @param decoder the decoder of the responses
+     * @return the caching decoder
+     */
+    public Decoder decoder(Decoder decoder) {
+        return (response, type) -> {
+            if (response.body() instanceof NotModifiedBody notModified) {
+                return notModified.entry().value();
+            }
+            final Object value = decoder.decode(response, type);
+            store(response, type, value);
+            return value;
+        };
+    }
+
+    private static String key(Request request) {
+        final Collection<String> authorization = request.headers().get("Authorization");
+        // methods of the same URL decoding another type than the kept entity get their own entry
+        return request.url() + '\n' + (authorization == null ? "" : String.join(",", authorization)) + '\n'
+                + resultType(request.requestTemplate().methodMetadata().returnType()).getTypeName();
+    }
+
+    private static Type resultType(Type returnType) {
+        return returnType instanceof ParameterizedType parameterizedType
+                && CompletableFuture.class.equals(parameterizedType.getRawType())
+                ? parameterizedType.getActualTypeArguments()[0] : returnType;
+    }
+
+    private static boolean isStream(Type type) {
+        final Type rawType = type instanceof ParameterizedType parameterizedType
+                ? parameterizedType.getRawType() : type;
+        return Stream.class.equals(rawType);
+    }
+
+    private Entry entry(Request request) {
+        if (request.httpMethod() != Request.HttpMethod.GET || request.requestTemplate() == null
+                || request.requestTemplate().methodMetadata() == null
+                || isStream(request.requestTemplate().methodMetadata().returnType())
+                || CodecSupport.projection() != null) {
+            // partially decoded entities of a projection are neither served nor kept
+            return null;
+        }
+        return entries.get(key(request));
+    }
+
+    private static Request conditional(Request request, Entry entry) {
+        if (entry == null) {
+            return request;
+        }
+        final Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.headers());
+        if (entry.etag() != null) {
+            headers.put("If-None-Match", List.of(entry.etag()));
+        }
+        if (entry.lastModified() != null) {
+            headers.put("If-Modified-Since", List.of(entry.lastModified()));
+        }
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(),
+                request.requestTemplate());
+    }
+
+    private static Response notModified(Entry entry, Response response) {
+        if (entry == null || response.status() != 304) {
+            return response;
+        }
+        response.close();
+        return response.toBuilder()
+                .status(200)
+                .reason("OK")
+                .body(new NotModifiedBody(entry))
+                .build();
+    }
+
+    private void store(Response response, Type type, Object value) {
+        final Request request = response.request();
+        if (value == null || response.status() != 200 || request == null
+                || request.httpMethod() != Request.HttpMethod.GET || request.requestTemplate() == null
+                || request.requestTemplate().methodMetadata() == null || isStream(type)
+                || CodecSupport.projection() != null) {
+            return;
+        }
+        final String etag = header(response, "ETag");
+        final String lastModified = header(response, "Last-Modified");
+        final String cacheControl = header(response, "Cache-Control");
+        if (etag == null && lastModified == null || cacheControl != null && cacheControl.contains("no-store")) {
+            return;
+        }
+        entries.put(key(request), new Entry(value, etag, lastModified));
+    }
+
+    private static String header(Response response, String name) {
+        final Collection<String> values = response.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * {@link Client} decorator negotiating {@code gzip} and {@code deflate} compressed responses.
+ * <p>
+ * Compressed response bodies are inflated while being read, the resulting response no longer contains the
+ * {@code Content-Encoding} and {@code Content-Length} headers of the compressed body.
+ */
+public final class DecompressingClient implements Client, AsyncClient<Object> {
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private final Client client;
+    private final AsyncClient<Object> asyncClient;
+
+    /**
+     * Creates a decorator of the given clients.
+     *
+     * @param client      the client executing synchronous requests
+     * @param asyncClient the client executing asynchronous requests
+     */
+    public DecompressingClient(Client client, AsyncClient<Object> asyncClient) {
+        this.client = client;
+        this.asyncClient = asyncClient;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        return decompress(client.execute(acceptEncoding(request), options));
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(Request request, Request.Options options,
+                                               Optional<Object> requestContext) {
+        return asyncClient.execute(acceptEncoding(request), options, requestContext).thenApply(response -> {
+            try {
+                return decompress(response);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static Request acceptEncoding(Request request) {
+        if (request.headers().containsKey("Accept-Encoding")) {
+            return request;
+        }
+        final Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.headers());
+        headers.put("Accept-Encoding", List.of(ACCEPT_ENCODING));
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(),
+                request.requestTemplate());
+    }
+
+    static Response decompress(Response response) throws IOException {
+        final Collection<String> contentEncoding = response.headers().get("Content-Encoding");
+        if (response.body() == null || contentEncoding == null || contentEncoding.isEmpty()) {
+            return response;
+        }
+        final String encoding = contentEncoding.iterator().next().trim().toLowerCase(Locale.ROOT);
+        if (!encoding.equals("gzip") && !encoding.equals("x-gzip") && !encoding.equals("deflate")) {
+            return response;
+        }
+        final BufferedInputStream compressed = new BufferedInputStream(response.body().asInputStream());
+        compressed.mark(2);
+        final int first = compressed.read();
+        final int second = compressed.read();
+        compressed.reset();
+        final InputStream inputStream;
+        if (first == -1) {
+            inputStream = compressed;
+        } else if (encoding.equals("deflate")) {
+            // "deflate" should be zlib wrapped, but some servers send raw deflate data
+            final boolean zlib = (first & 0x0F) == 8 && second != -1 && ((first << 8) | second) % 31 == 0;
+            final Inflater inflater = new Inflater(!zlib);
+            inputStream = new InflaterInputStream(compressed, inflater) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inflater.end();
+                    }
+                }
+            };
+        } else {
+            inputStream = new GZIPInputStream(compressed);
+        }
+        final Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(response.headers());
+        headers.remove("Content-Encoding");
+        headers.remove("Content-Length");
+        return response.toBuilder()
+                .headers(headers)
+                .body(inputStream, null)
+                .build();
+    }
+}
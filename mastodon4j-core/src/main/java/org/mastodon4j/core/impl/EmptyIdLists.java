@@ -0,0 +1,74 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.InvocationHandlerFactory;
+import feign.RequestLine;
+import feign.Target;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link InvocationHandlerFactory} answering calls of multi-id methods like
+ * {@link org.mastodon4j.core.api.Accounts#get(List)} with an empty list of ids by an empty list without sending a
+ * request, as the query of such a request would be dropped, addressing a different endpoint.
+ */
+public final class EmptyIdLists implements InvocationHandlerFactory {
+    private final InvocationHandlerFactory delegate;
+
+    /**
+     * Creates a factory of handlers delegating all other calls to the handlers of the given factory.
+     *
+     * @param delegate the factory of the handlers of all other calls
+     */
+    public EmptyIdLists(InvocationHandlerFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public InvocationHandler create(Target target, Map<Method, MethodHandler> dispatch) {
+        final InvocationHandler handler = delegate.create(target, dispatch);
+        return (proxy, method, arguments) -> {
+            if (arguments != null && arguments.length == 1 && arguments[0] instanceof List<?> ids && ids.isEmpty()
+                    && isMultipleIds(method)) {
+                return CompletableFuture.class.equals(method.getReturnType())
+                        ? CompletableFuture.completedFuture(List.of()) : List.of();
+            }
+            return handler.invoke(proxy, method, arguments);
+        };
+    }
+
+    private static boolean isMultipleIds(Method method) {
+        final RequestLine requestLine = method.getAnnotation(RequestLine.class);
+        return requestLine != null && requestLine.value().startsWith("GET ")
+                && requestLine.value().contains("id[]={");
+    }
+}
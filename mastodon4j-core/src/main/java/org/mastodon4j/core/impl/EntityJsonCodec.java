@@ -0,0 +1,133 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import org.mastodon4j.core.spi.EntityCodec;
+import org.mastodon4j.core.spi.JsonCodec;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link JsonCodec} using generated {@link EntityCodec entity codecs} for entity types and lists of them, all other
+ * types are handled by a fallback codec.
+ */
+public final class EntityJsonCodec implements JsonCodec {
+    private final Map<Class<?>, EntityCodec<?>> codecs;
+    private final JsonCodec fallback;
+
+    /**
+     * Creates a codec for the given entity codecs.
+     *
+     * @param codecs   the entity codecs
+     * @param fallback the codec used for types without an entity codec
+     */
+    public EntityJsonCodec(List<EntityCodec<?>> codecs, JsonCodec fallback) {
+        this.codecs = new HashMap<>();
+        this.fallback = fallback;
+        codecs.forEach(codec -> this.codecs.put(codec.type(), codec));
+    }
+
+    private CodecSupport.ValueReader<?> reader(Type runtimeType) {
+        if (runtimeType instanceof Class<?> type) {
+            final EntityCodec<?> codec = codecs.get(type);
+            return codec == null ? null : codec::read;
+        } else if (runtimeType instanceof ParameterizedType parameterizedType
+                && List.class.equals(parameterizedType.getRawType())) {
+            final CodecSupport.ValueReader<?> elementReader = reader(parameterizedType.getActualTypeArguments()[0]);
+            return elementReader == null ? null : parser -> CodecSupport.readList(parser, elementReader);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T read(JsonParser parser, CodecSupport.ValueReader<?> reader) {
+        try (parser) {
+            parser.next();
+            return (T) CodecSupport.readRoot(parser, reader);
+        }
+    }
+
+    @Override
+    public <T> T fromJson(String json, Type runtimeType) {
+        final CodecSupport.ValueReader<?> reader = reader(runtimeType);
+        if (reader == null) {
+            return fallback.fromJson(json, runtimeType);
+        }
+        return read(CodecSupport.createParser(new StringReader(json)), reader);
+    }
+
+    @Override
+    public <T> T fromJson(Reader reader, Type runtimeType) {
+        final CodecSupport.ValueReader<?> valueReader = reader(runtimeType);
+        if (valueReader == null) {
+            return fallback.fromJson(reader, runtimeType);
+        }
+        return read(CodecSupport.createParser(reader), valueReader);
+    }
+
+    @Override
+    public <T> T fromJson(InputStream inputStream, Type runtimeType) {
+        final CodecSupport.ValueReader<?> reader = reader(runtimeType);
+        if (reader == null) {
+            return fallback.fromJson(inputStream, runtimeType);
+        }
+        return read(CodecSupport.createParser(inputStream), reader);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T fromJson(JsonParser parser, Type runtimeType) {
+        final CodecSupport.ValueReader<?> reader = reader(runtimeType);
+        if (reader == null) {
+            return fallback.fromJson(parser, runtimeType);
+        }
+        return (T) CodecSupport.readRoot(parser, reader);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public String toJson(Object object) {
+        final EntityCodec<Object> codec = object == null ? null : (EntityCodec<Object>) codecs.get(object.getClass());
+        if (codec == null) {
+            return fallback.toJson(object);
+        }
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = CodecSupport.createGenerator(writer)) {
+            codec.write(generator, object);
+        }
+        return writer.toString();
+    }
+}
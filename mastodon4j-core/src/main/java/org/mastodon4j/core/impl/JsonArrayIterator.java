@@ -0,0 +1,172 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonParser;
+import org.mastodon4j.core.spi.JsonCodec;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the elements of a JSON array, decoding one element at a time while the input is read.
+ * <p>
+ * The underlying input is closed when the last element has been read, or when the iterator or the stream returned by
+ * {@code stream} is closed.
+ */
+public final class JsonArrayIterator<T> implements Iterator<T>, AutoCloseable {
+    private final JsonCodec jsonCodec;
+    private final JsonParser parser;
+    private final Type elementType;
+    private boolean ready;
+    private boolean closed;
+
+    private JsonArrayIterator(JsonCodec jsonCodec, JsonParser parser, Type elementType) {
+        this.jsonCodec = jsonCodec;
+        this.parser = parser;
+        this.elementType = elementType;
+    }
+
+    /**
+     * Creates a lazily decoded stream of all elements of the JSON array provided by the given reader.
+     *
+     * @param jsonCodec   the codec used to decode the elements
+     * @param reader      the reader providing the JSON array
+     * @param elementType the type of the array elements
+     * @param <T>         the element type
+     * @return a stream of array elements, to be closed by the caller
+     */
+    public static <T> Stream<T> stream(JsonCodec jsonCodec, Reader reader, Type elementType) {
+        return stream(open(jsonCodec, reader, elementType));
+    }
+
+    /**
+     * Creates a lazily decoded stream of all elements of the JSON array provided by the given UTF-8 encoded input
+     * stream.
+     *
+     * @param jsonCodec   the codec used to decode the elements
+     * @param inputStream the input stream providing the JSON array
+     * @param elementType the type of the array elements
+     * @param <T>         the element type
+     * @return a stream of array elements, to be closed by the caller
+     */
+    public static <T> Stream<T> stream(JsonCodec jsonCodec, InputStream inputStream, Type elementType) {
+        return stream(open(jsonCodec, inputStream, elementType));
+    }
+
+    /**
+     * Creates a lazily decoding iterator over all elements of the JSON array provided by the given reader.
+     *
+     * @param jsonCodec   the codec used to decode the elements
+     * @param reader      the reader providing the JSON array
+     * @param elementType the type of the array elements
+     * @param <T>         the element type
+     * @return an iterator over the array elements, to be closed by the caller if not fully consumed
+     */
+    public static <T> JsonArrayIterator<T> open(JsonCodec jsonCodec, Reader reader, Type elementType) {
+        return open(jsonCodec, CodecSupport.createParser(reader), elementType);
+    }
+
+    /**
+     * Creates a lazily decoding iterator over all elements of the JSON array provided by the given UTF-8 encoded
+     * input stream.
+     *
+     * @param jsonCodec   the codec used to decode the elements
+     * @param inputStream the input stream providing the JSON array
+     * @param elementType the type of the array elements
+     * @param <T>         the element type
+     * @return an iterator over the array elements, to be closed by the caller if not fully consumed
+     */
+    public static <T> JsonArrayIterator<T> open(JsonCodec jsonCodec, InputStream inputStream, Type elementType) {
+        return open(jsonCodec, CodecSupport.createParser(inputStream), elementType);
+    }
+
+    private static <T> JsonArrayIterator<T> open(JsonCodec jsonCodec, JsonParser parser, Type elementType) {
+        final JsonArrayIterator<T> iterator = new JsonArrayIterator<>(jsonCodec, parser, elementType);
+        try {
+            iterator.start();
+        } catch (RuntimeException e) {
+            iterator.close();
+            throw e;
+        }
+        return iterator;
+    }
+
+    private static <T> Stream<T> stream(JsonArrayIterator<T> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    private void start() {
+        final JsonParser.Event event = parser.hasNext() ? parser.next() : null;
+        if (event != JsonParser.Event.START_ARRAY) {
+            throw new JsonException("Expected start of a JSON array, but got " + event);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!ready && !closed) {
+            if (parser.hasNext() && parser.next() != JsonParser.Event.END_ARRAY) {
+                ready = true;
+            } else {
+                close();
+            }
+        }
+        return ready;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        try {
+            return jsonCodec.fromJson(parser, elementType);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            ready = false;
+            parser.close();
+        }
+    }
+}
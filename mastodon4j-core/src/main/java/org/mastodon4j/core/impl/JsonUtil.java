@@ -25,47 +25,59 @@
  */
 package org.mastodon4j.core.impl;
 
-import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbBuilder;
-import jakarta.json.bind.JsonbException;
+import org.mastodon4j.core.spi.EntityCodec;
+import org.mastodon4j.core.spi.JsonCodec;
 
 import java.io.Reader;
 import java.lang.reflect.Type;
+import java.util.List;
+import java.util.ServiceLoader;
 
 public final class JsonUtil {
+    /**
+     * The class generated from the {@link org.mastodon4j.core.spi.GenerateCodecs} annotation of the entities package.
+     */
+    static final String GENERATED_CODECS = "org.mastodon4j.core.impl.EntityCodecs";
+
+    private static final JsonCodec DEFAULT_CODEC = ServiceLoader.load(JsonCodec.class)
+            .findFirst()
+            .orElseGet(JsonUtil::createDefaultCodec);
+
     private JsonUtil() {
     }
 
-    public static <T> T fromJson(CharSequence charSequence, Class<T> typeClass) {
-        try (Jsonb jsonb = JsonbBuilder.create()) {
-            return jsonb.fromJson(charSequence.toString(), typeClass);
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(ie);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+    @SuppressWarnings("unchecked")
+    private static JsonCodec createDefaultCodec() {
+        try {
+            final List<EntityCodec<?>> codecs = (List<EntityCodec<?>>) Class.forName(GENERATED_CODECS)
+                    .getMethod("codecs")
+                    .invoke(null);
+            return new EntityJsonCodec(codecs, new JsonbCodec(JsonbBuilder.create(), false));
+        } catch (ReflectiveOperationException e) {
+            return new JsonbCodec();
         }
     }
 
+    /**
+     * Returns the shared codec, being either the first registered {@link JsonCodec} service or the built-in codec.
+     * The built-in codec uses the generated entity codecs when available and falls back to {@link JsonbCodec}.
+     *
+     * @return the shared default codec
+     */
+    public static JsonCodec defaultCodec() {
+        return DEFAULT_CODEC;
+    }
+
+    public static <T> T fromJson(CharSequence charSequence, Class<T> typeClass) {
+        return DEFAULT_CODEC.fromJson(charSequence.toString(), typeClass);
+    }
+
     public static <T> T fromJson(Reader reader, Type runtimeType) {
-        try (Jsonb jsonb = JsonbBuilder.create()) {
-            return jsonb.fromJson(reader, runtimeType);
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(ie);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return DEFAULT_CODEC.fromJson(reader, runtimeType);
     }
 
     public static String toJson(Object object) {
-        try (Jsonb jsonb = JsonbBuilder.create()) {
-            return jsonb.toJson(object);
-        } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException(ie);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return DEFAULT_CODEC.toJson(object);
     }
 }
@@ -0,0 +1,142 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbException;
+import jakarta.json.stream.JsonParser;
+import org.eclipse.yasson.YassonJsonb;
+import org.mastodon4j.core.api.entities.AccessToken;
+import org.mastodon4j.core.api.entities.Account;
+import org.mastodon4j.core.api.entities.ClientApplication;
+import org.mastodon4j.core.api.entities.CustomEmoji;
+import org.mastodon4j.core.api.entities.ErrorState;
+import org.mastodon4j.core.api.entities.Event;
+import org.mastodon4j.core.api.entities.Field;
+import org.mastodon4j.core.api.entities.Filter;
+import org.mastodon4j.core.api.entities.FilterKeyword;
+import org.mastodon4j.core.api.entities.FilterResult;
+import org.mastodon4j.core.api.entities.FilterStatus;
+import org.mastodon4j.core.api.entities.History;
+import org.mastodon4j.core.api.entities.Instance;
+import org.mastodon4j.core.api.entities.MList;
+import org.mastodon4j.core.api.entities.MediaAttachment;
+import org.mastodon4j.core.api.entities.Poll;
+import org.mastodon4j.core.api.entities.PreviewCard;
+import org.mastodon4j.core.api.entities.Rule;
+import org.mastodon4j.core.api.entities.Search;
+import org.mastodon4j.core.api.entities.Status;
+import org.mastodon4j.core.api.entities.Subscription;
+import org.mastodon4j.core.api.entities.Tag;
+import org.mastodon4j.core.spi.JsonCodec;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Default {@link JsonCodec} backed by a single long-lived {@link Jsonb} instance.
+ * <p>
+ * {@link Jsonb} instances are thread safe and cache the binding metadata of all types they have seen. The metadata
+ * of all entity records is resolved up front, so that the first responses do not pay for the introspection.
+ */
+public final class JsonbCodec implements JsonCodec {
+    static final List<Class<?>> ENTITY_TYPES = List.of(
+            AccessToken.class, Account.class, ClientApplication.class, CustomEmoji.class, ErrorState.class,
+            Event.class, Field.class, Filter.class, FilterKeyword.class, FilterResult.class, FilterStatus.class,
+            History.class, Instance.class, Instance.Usage.class, Instance.Usage.Users.class,
+            Instance.Thumbnail.class, Instance.Configuration.class, Instance.Configuration.Urls.class,
+            Instance.Configuration.Accounts.class, Instance.Configuration.Statuses.class,
+            Instance.Configuration.MediaAttachments.class, Instance.Configuration.Polls.class,
+            Instance.Configuration.Translation.class, Instance.Registrations.class, Instance.Contact.class,
+            MList.class, MediaAttachment.class, Poll.class, PreviewCard.class, Rule.class, Search.class,
+            Status.class, Status.Application.class, Status.Mention.class, Status.Tag.class, Subscription.class,
+            Tag.class);
+
+    private final Jsonb jsonb;
+
+    /**
+     * Creates a codec using a default {@link Jsonb} instance.
+     */
+    public JsonbCodec() {
+        this(JsonbBuilder.create());
+    }
+
+    /**
+     * Creates a codec using the given {@link Jsonb} instance, which must not be closed as long as this codec is used.
+     *
+     * @param jsonb the JSON binding instance to be used
+     */
+    public JsonbCodec(Jsonb jsonb) {
+        this(jsonb, true);
+    }
+
+    JsonbCodec(Jsonb jsonb, boolean warmUp) {
+        this.jsonb = jsonb;
+        if (warmUp) {
+            ENTITY_TYPES.forEach(this::warmUp);
+        }
+    }
+
+    private void warmUp(Class<?> entityType) {
+        try {
+            jsonb.fromJson("{}", entityType);
+        } catch (JsonbException e) {
+            // the type metadata will be resolved on first use instead
+        }
+    }
+
+    @Override
+    public <T> T fromJson(String json, Type runtimeType) {
+        return jsonb.fromJson(json, runtimeType);
+    }
+
+    @Override
+    public <T> T fromJson(Reader reader, Type runtimeType) {
+        return jsonb.fromJson(reader, runtimeType);
+    }
+
+    @Override
+    public <T> T fromJson(InputStream inputStream, Type runtimeType) {
+        return jsonb.fromJson(inputStream, runtimeType);
+    }
+
+    @Override
+    public <T> T fromJson(JsonParser parser, Type runtimeType) {
+        if (jsonb instanceof YassonJsonb yassonJsonb) {
+            // Yasson expects the parser to be in front of the value, so the current event is handed out once more
+            return yassonJsonb.fromJson(new ReplayingJsonParser(parser), runtimeType);
+        }
+        return JsonCodec.super.fromJson(parser, runtimeType);
+    }
+
+    @Override
+    public String toJson(Object object) {
+        return jsonb.toJson(object);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import org.mastodon4j.core.api.TypedEvent;
+import org.mastodon4j.core.api.entities.Event;
+import org.mastodon4j.core.api.entities.Status;
+import org.mastodon4j.core.spi.JsonCodec;
+
+import java.util.Optional;
+
+/**
+ * Typed event decoding its payload on first access, the decoded value is kept for later calls.
+ */
+final class LazyTypedEvent implements TypedEvent {
+    private final Event event;
+    private final Type type;
+    private final JsonCodec jsonCodec;
+    private Class<?> decodedType;
+    private Object decoded;
+
+    LazyTypedEvent(Event event, JsonCodec jsonCodec) {
+        this.event = event;
+        this.type = Type.ofValue(event.event());
+        this.jsonCodec = jsonCodec;
+    }
+
+    @Override
+    public Event event() {
+        return event;
+    }
+
+    @Override
+    public Type type() {
+        return type;
+    }
+
+    @Override
+    public Optional<Status> status() {
+        if (type == Type.UPDATE || type == Type.STATUS_UPDATE) {
+            return Optional.ofNullable(payload(Status.class));
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<String> deletedStatusId() {
+        if (type == Type.DELETE) {
+            // the delete payload is the plain status id and not a JSON value
+            return Optional.ofNullable(event.payload());
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized <T> T payload(Class<T> payloadType) {
+        if (payloadType != decodedType) {
+            final String payload = event.payload();
+            decoded = payload == null ? null : jsonCodec.fromJson(payload, payloadType);
+            decodedType = payloadType;
+        }
+        return payloadType.cast(decoded);
+    }
+
+    @Override
+    public String toString() {
+        return "TypedEvent[" + event + "]";
+    }
+}
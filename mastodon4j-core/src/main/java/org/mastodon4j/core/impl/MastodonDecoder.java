@@ -0,0 +1,99 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+import org.mastodon4j.core.spi.JsonCodec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Decodes REST responses using a {@link JsonCodec}.
+ * <p>
+ * UTF-8 encoded bodies, being the norm for JSON, are parsed directly from the response bytes. {@link Stream} return
+ * types are decoded element by element while the body is read, such a stream takes over the ownership of the
+ * response body.
+ */
+public final class MastodonDecoder implements Decoder {
+    private final JsonCodec jsonCodec;
+
+    public MastodonDecoder(JsonCodec jsonCodec) {
+        this.jsonCodec = jsonCodec;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (response.status() == 404 || response.status() == 204) {
+            response.close();
+            return Util.emptyValueOf(type);
+        }
+        final Response.Body body = response.body();
+        if (body == null) {
+            response.close();
+            return null;
+        }
+        final Charset charset = response.charset();
+        // special handling for basic java types
+        if (String.class.equals(type)) {
+            try (InputStream inputStream = body.asInputStream()) {
+                return new String(inputStream.readAllBytes(), charset);
+            }
+        }
+        final Type elementType = streamElementType(type);
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            final InputStream inputStream = body.asInputStream();
+            if (elementType != null) {
+                return JsonArrayIterator.stream(jsonCodec, inputStream, elementType);
+            }
+            try (inputStream) {
+                return jsonCodec.fromJson(inputStream, type);
+            }
+        }
+        final Reader reader = body.asReader(charset);
+        if (elementType != null) {
+            return JsonArrayIterator.stream(jsonCodec, reader, elementType);
+        }
+        try (reader) {
+            return jsonCodec.fromJson(reader, type);
+        }
+    }
+
+    private static Type streamElementType(Type type) {
+        if (type instanceof ParameterizedType parameterizedType && Stream.class.equals(parameterizedType.getRawType())) {
+            return parameterizedType.getActualTypeArguments()[0];
+        }
+        return null;
+    }
+}
@@ -27,8 +27,10 @@ package org.mastodon4j.core.impl;
 
 import org.mastodon4j.core.MastodonException;
 import org.mastodon4j.core.api.EventStream;
+import org.mastodon4j.core.api.TypedEvent;
 import org.mastodon4j.core.api.entities.Event;
 import org.mastodon4j.core.api.entities.Subscription;
+import org.mastodon4j.core.spi.JsonCodec;
 
 import java.net.http.WebSocket;
 import java.util.Objects;
@@ -39,12 +41,16 @@ import java.util.function.Consumer;
 
 public class MastodonEventStream implements EventStream, WebSocket.Listener {
     private final CopyOnWriteArrayList<Consumer<Event>> eventConsumers;
+    private final CopyOnWriteArrayList<Consumer<TypedEvent>> typedEventConsumers;
     private final StringBuilder buffer;
     private final AtomicReference<WebSocket> webSocketReference;
+    private final JsonCodec jsonCodec;
 
-    MastodonEventStream() {
+    MastodonEventStream(JsonCodec jsonCodec) {
+        this.jsonCodec = jsonCodec;
         this.buffer = new StringBuilder();
         this.eventConsumers = new CopyOnWriteArrayList<>();
+        this.typedEventConsumers = new CopyOnWriteArrayList<>();
         this.webSocketReference = new AtomicReference<>();
     }
 
@@ -67,8 +73,12 @@ public class MastodonEventStream implements EventStream, WebSocket.Listener {
         if (last) {
             final String eventContent = buffer.toString();
             buffer.setLength(0);
-            final Event event = JsonUtil.fromJson(eventContent, Event.class);
+            final Event event = jsonCodec.fromJson(eventContent, Event.class);
             eventConsumers.forEach(statusConsumer -> statusConsumer.accept(event));
+            if (!typedEventConsumers.isEmpty()) {
+                final TypedEvent typedEvent = new LazyTypedEvent(event, jsonCodec);
+                typedEventConsumers.forEach(eventConsumer -> eventConsumer.accept(typedEvent));
+            }
         }
         webSocket.request(1);
         return null;
@@ -79,9 +89,14 @@ public class MastodonEventStream implements EventStream, WebSocket.Listener {
         eventConsumers.add(Objects.requireNonNull(statusConsumer, "statusConsumer must not be null"));
     }
 
+    @Override
+    public void registerTypedConsumer(Consumer<TypedEvent> eventConsumer) {
+        typedEventConsumers.add(Objects.requireNonNull(eventConsumer, "eventConsumer must not be null"));
+    }
+
     @Override
     public void changeSubscription(Subscription subscription) {
-        final String message = JsonUtil.toJson(Objects.requireNonNull(subscription, "subscription must not be null"));
+        final String message = jsonCodec.toJson(Objects.requireNonNull(subscription, "subscription must not be null"));
         withWebsocket(webSocket -> webSocket.sendText(message, true).join());
     }
 
@@ -28,6 +28,7 @@ package org.mastodon4j.core.impl;
 import org.mastodon4j.core.api.BaseStreaming;
 import org.mastodon4j.core.api.EventStream;
 import org.mastodon4j.core.api.Streaming;
+import org.mastodon4j.core.spi.JsonCodec;
 
 import java.net.URI;
 import java.net.http.WebSocket;
@@ -36,11 +37,14 @@ public class MastodonStreaming implements Streaming {
     private final BaseStreaming baseStreaming;
     private final WebSocket.Builder websocketBuilder;
     private final URI socketUri;
+    private final JsonCodec jsonCodec;
 
-    public MastodonStreaming(BaseStreaming baseStreaming, WebSocket.Builder websocketBuilder, String baseStreamingUri) {
+    public MastodonStreaming(BaseStreaming baseStreaming, WebSocket.Builder websocketBuilder, String baseStreamingUri,
+                             JsonCodec jsonCodec) {
         this.baseStreaming = baseStreaming;
         this.websocketBuilder = websocketBuilder;
         this.socketUri = URI.create(baseStreamingUri + "/api/v1/streaming");
+        this.jsonCodec = jsonCodec;
     }
 
     @Override
@@ -50,7 +54,7 @@ public class MastodonStreaming implements Streaming {
 
     @Override
     public EventStream stream() {
-        final MastodonEventStream mastodonEventStream = new MastodonEventStream();
+        final MastodonEventStream mastodonEventStream = new MastodonEventStream(jsonCodec);
         websocketBuilder.buildAsync(socketUri, mastodonEventStream).join();
         return mastodonEventStream;
     }
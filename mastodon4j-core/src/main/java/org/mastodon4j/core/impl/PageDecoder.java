@@ -0,0 +1,173 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.FeignException;
+import feign.RequestLine;
+import feign.Response;
+import feign.codec.Decoder;
+import org.mastodon4j.core.api.Page;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decodes {@link Page} return types, using a delegate decoder for the items and all other types.
+ * <p>
+ * The adjacent pages are taken from the {@code Link} response header and fetched using the {@link Requests}
+ * set after the clients have been built, on behalf of the access token of the original request. Only pages on the
+ * scheme, host and port of the original request are fetched, so the access token is not sent elsewhere.
+ */
+public final class PageDecoder implements Decoder {
+    private static final Pattern LINK = Pattern.compile("<([^>]*)>\\s*;\\s*rel=\"?([^\";]*)\"?");
+
+    private final Decoder decoder;
+    private volatile Requests requests;
+
+    /**
+     * Fetches a page by its URI.
+     */
+    public interface Requests {
+        @RequestLine("GET")
+        CompletableFuture<Response> get(URI uri);
+    }
+
+    private record ListType(Type elementType) implements ParameterizedType {
+        @Override
+        public Type[] getActualTypeArguments() {
+            return new Type[]{elementType};
+        }
+
+        @Override
+        public Type getRawType() {
+            return List.class;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a page decoder.
+     *
+     * @param decoder the decoder of the page items and all other types
+     */
+    public PageDecoder(Decoder decoder) {
+        this.decoder = decoder;
+    }
+
+    /**
+     * Sets the client fetching the adjacent pages.
+     *
+     * @param requests the page requests
+     */
+    public void requests(Requests requests) {
+        this.requests = requests;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (!(type instanceof ParameterizedType parameterizedType)
+                || !Page.class.equals(parameterizedType.getRawType())) {
+            return decoder.decode(response, type);
+        }
+        final Map<String, URI> links = links(response.headers().get("Link"));
+        final URI origin = URI.create(response.request().url());
+        final String authorization = first(response.request().headers().get("Authorization"));
+        final List<?> items = (List<?>) decoder.decode(response,
+                new ListType(parameterizedType.getActualTypeArguments()[0]));
+        return new Page<>(items == null ? List.of() : items, links.get("next"), links.get("prev"),
+                uri -> fetch(origin, uri, type, authorization));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<Page<T>> fetch(URI origin, URI uri, Type type, String authorization) {
+        final Requests requests = this.requests;
+        if (requests == null) {
+            throw new IllegalStateException("No page requests set");
+        }
+        if (!sameOrigin(origin, uri)) {
+            // never send the authorization to another server
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Page URI " + uri
+                    + " is not on the server of " + origin));
+        }
+        return AuthorizationContext.call(authorization, () -> requests.get(uri)).thenApply(response -> {
+            if (response.status() >= 300) {
+                throw FeignException.errorStatus("Page#get(URI)", response);
+            }
+            try {
+                return (Page<T>) decode(response, type);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    static boolean sameOrigin(URI origin, URI uri) {
+        return origin.getScheme() != null && origin.getScheme().equalsIgnoreCase(uri.getScheme())
+                && origin.getHost() != null && origin.getHost().equalsIgnoreCase(uri.getHost())
+                && port(origin) == port(uri);
+    }
+
+    private static int port(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    static Map<String, URI> links(Collection<String> headers) {
+        final Map<String, URI> links = new HashMap<>();
+        if (headers != null) {
+            for (String header : headers) {
+                final Matcher matcher = LINK.matcher(header);
+                while (matcher.find()) {
+                    final URI uri = URI.create(matcher.group(1).trim());
+                    for (String rel : matcher.group(2).trim().split("\\s+")) {
+                        links.putIfAbsent(rel, uri);
+                    }
+                }
+            }
+        }
+        return links;
+    }
+
+    private static String first(Collection<String> values) {
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+}
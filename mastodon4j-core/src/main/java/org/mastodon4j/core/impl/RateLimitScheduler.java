@@ -0,0 +1,244 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.Request;
+import feign.Response;
+import org.mastodon4j.core.RateLimits.Budget;
+import org.mastodon4j.core.RateLimits.Category;
+
+import java.net.URI;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the request budgets announced by the {@code X-RateLimit-*} response headers per authorization and
+ * category and computes the delay of each request.
+ * <p>
+ * Each budget is a token bucket: the remaining requests are spread evenly until the reset of the budget, while up
+ * to {@code burst} requests are sent without delay. An exhausted budget delays all requests until its reset. Budgets
+ * are only known after the first response, until then requests are not delayed.
+ */
+public final class RateLimitScheduler {
+    private static final String LIMIT = "X-RateLimit-Limit";
+    private static final String REMAINING = "X-RateLimit-Remaining";
+    private static final String RESET = "X-RateLimit-Reset";
+
+    private final int burst;
+    private final LongSupplier nanoTime;
+    private final Supplier<Instant> now;
+    private final Map<Key, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private record Key(String authorization, Category category) {
+    }
+
+    /**
+     * Creates a scheduler allowing bursts of the given number of requests.
+     *
+     * @param burst the number of requests sent without delay
+     */
+    public RateLimitScheduler(int burst) {
+        this(burst, System::nanoTime, Instant::now);
+    }
+
+    RateLimitScheduler(int burst, LongSupplier nanoTime, Supplier<Instant> now) {
+        this.burst = burst;
+        this.nanoTime = nanoTime;
+        this.now = now;
+    }
+
+    /**
+     * Returns the category of the rate limit applied to the given request.
+     *
+     * @param request the request
+     * @return the category of the request
+     */
+    public static Category category(Request request) {
+        final String path = URI.create(request.url()).getPath();
+        if (request.httpMethod() == Request.HttpMethod.POST
+                && (path.startsWith("/api/v1/media") || path.startsWith("/api/v2/media"))) {
+            return Category.MEDIA_UPLOADS;
+        } else if (request.httpMethod() == Request.HttpMethod.DELETE && path.startsWith("/api/v1/statuses/")
+                || request.httpMethod() == Request.HttpMethod.POST && path.startsWith("/api/v1/statuses/")
+                && path.endsWith("/unreblog")) {
+            return Category.STATUS_DELETIONS;
+        }
+        return Category.DEFAULT;
+    }
+
+    /**
+     * Reserves the sending of the given request and returns the time to wait before sending it.
+     *
+     * @param request the request to be sent
+     * @return the delay in nanoseconds
+     */
+    public long reserve(Request request) {
+        final Bucket bucket = buckets.get(key(request));
+        return bucket == null ? 0 : bucket.reserve(nanoTime.getAsLong());
+    }
+
+    /**
+     * Updates the budget of the request of the given response using its rate limit headers.
+     *
+     * @param response the received response
+     */
+    public void update(Response response) {
+        final Request request = response.request();
+        final Integer limit = intHeader(response, LIMIT);
+        final Integer remaining = intHeader(response, REMAINING);
+        final Instant reset = instantHeader(response, RESET);
+        if (request == null || limit == null || reset == null
+                || remaining == null && response.status() != 429) {
+            return;
+        }
+        final long nanos = nanoTime.getAsLong();
+        final Instant date = dateHeader(response);
+        final long untilReset = Duration.between(date == null ? now.get() : date, reset).toNanos();
+        buckets.computeIfAbsent(key(request), key -> new Bucket(burst))
+                .update(limit, remaining == null ? 0 : remaining, reset, nanos + untilReset, nanos);
+    }
+
+    /**
+     * Returns the current budget of the given authorization and category.
+     *
+     * @param authorization the authorization header value of the requests
+     * @param category      the category of the requests
+     * @return the budget or an empty optional if it is not known yet
+     */
+    public Optional<Budget> budget(String authorization, Category category) {
+        final Bucket bucket = buckets.get(new Key(authorization, category));
+        return bucket == null ? Optional.empty() : Optional.of(bucket.budget(nanoTime.getAsLong()));
+    }
+
+    private static Key key(Request request) {
+        final Collection<String> authorization = request.headers().get("Authorization");
+        return new Key(authorization == null ? "" : String.join(",", authorization), category(request));
+    }
+
+    private static String header(Response response, String name) {
+        final Collection<String> values = response.headers().get(name);
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+
+    private static Integer intHeader(Response response, String name) {
+        final String value = header(response, name);
+        try {
+            return value == null ? null : Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Instant instantHeader(Response response, String name) {
+        final String value = header(response, name);
+        try {
+            return value == null ? null : ZonedDateTime.parse(value.trim()).toInstant();
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static Instant dateHeader(Response response) {
+        final String value = header(response, "Date");
+        try {
+            return value == null ? null : ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant();
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static final class Bucket {
+        private final int burst;
+        private int limit;
+        private int remaining;
+        private int deferred;
+        private Instant reset;
+        private long resetNanos;
+        private boolean paced;
+        private long interval;
+        private long theoreticalArrival;
+
+        Bucket(int burst) {
+            this.burst = burst;
+        }
+
+        synchronized void update(int limit, int remaining, Instant reset, long resetNanos, long now) {
+            if (!paced || !reset.equals(this.reset)) {
+                this.remaining = remaining - deferred;
+                this.deferred = 0;
+            } else {
+                this.remaining = Math.min(this.remaining, remaining);
+            }
+            if (!paced) {
+                theoreticalArrival = now;
+            }
+            this.limit = limit;
+            this.reset = reset;
+            this.resetNanos = resetNanos;
+            this.paced = resetNanos - now > 0;
+            this.interval = paced ? (resetNanos - now) / Math.max(this.remaining, 1) : 0;
+        }
+
+        synchronized long reserve(long now) {
+            if (paced && now - resetNanos >= 0) {
+                // the period ended without a newer announcement, the full budget is available again
+                paced = false;
+                remaining = limit - deferred;
+                deferred = 0;
+            }
+            if (!paced) {
+                remaining--;
+                return 0;
+            }
+            if (remaining <= 0) {
+                deferred++;
+                return resetNanos - now;
+            }
+            final long earliest = theoreticalArrival - interval * (burst - 1);
+            final long start = earliest - now > 0 ? earliest : now;
+            theoreticalArrival = (theoreticalArrival - start > 0 ? theoreticalArrival : start) + interval;
+            remaining--;
+            return start - now;
+        }
+
+        synchronized Budget budget(long now) {
+            if (paced && now - resetNanos >= 0) {
+                return new Budget(limit, Math.max(limit - deferred, 0), reset);
+            }
+            return new Budget(limit, Math.max(remaining, 0), reset);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Client} decorator delaying the requests as scheduled by a {@link RateLimitScheduler} and updating its
+ * budgets with the rate limit headers of the responses.
+ */
+public final class RateLimitingClient implements Client, AsyncClient<Object> {
+    private final Client client;
+    private final AsyncClient<Object> asyncClient;
+    private final RateLimitScheduler scheduler;
+
+    /**
+     * Creates a decorator of the given clients.
+     *
+     * @param client      the client executing synchronous requests
+     * @param asyncClient the client executing asynchronous requests
+     * @param scheduler   the scheduler of the requests
+     */
+    public RateLimitingClient(Client client, AsyncClient<Object> asyncClient, RateLimitScheduler scheduler) {
+        this.client = client;
+        this.asyncClient = asyncClient;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        final long delay = scheduler.reserve(request);
+        if (delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the rate limit");
+            }
+        }
+        final Response response = client.execute(request, options);
+        scheduler.update(response);
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(Request request, Request.Options options,
+                                               Optional<Object> requestContext) {
+        final long delay = scheduler.reserve(request);
+        final CompletableFuture<Response> future = delay > 0
+                ? CompletableFuture.runAsync(() -> {
+                }, CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS))
+                .thenCompose(ignored -> asyncClient.execute(request, options, requestContext))
+                : asyncClient.execute(request, options, requestContext);
+        return future.thenApply(response -> {
+            scheduler.update(response);
+            return response;
+        });
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonLocation;
+import jakarta.json.stream.JsonParser;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Parser view returning the current event of the underlying parser once more on the first call to {@link #next()}.
+ * Closing the view leaves the underlying parser open.
+ */
+final class ReplayingJsonParser implements JsonParser {
+    private final JsonParser delegate;
+    private boolean replay;
+
+    ReplayingJsonParser(JsonParser delegate) {
+        this.delegate = delegate;
+        this.replay = true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return replay || delegate.hasNext();
+    }
+
+    @Override
+    public Event next() {
+        if (replay) {
+            replay = false;
+            return delegate.currentEvent();
+        }
+        return delegate.next();
+    }
+
+    @Override
+    public Event currentEvent() {
+        return delegate.currentEvent();
+    }
+
+    @Override
+    public String getString() {
+        return delegate.getString();
+    }
+
+    @Override
+    public boolean isIntegralNumber() {
+        return delegate.isIntegralNumber();
+    }
+
+    @Override
+    public int getInt() {
+        return delegate.getInt();
+    }
+
+    @Override
+    public long getLong() {
+        return delegate.getLong();
+    }
+
+    @Override
+    public BigDecimal getBigDecimal() {
+        return delegate.getBigDecimal();
+    }
+
+    @Override
+    public JsonLocation getLocation() {
+        return delegate.getLocation();
+    }
+
+    @Override
+    public JsonObject getObject() {
+        replay = false;
+        return delegate.getObject();
+    }
+
+    @Override
+    public JsonValue getValue() {
+        replay = false;
+        return delegate.getValue();
+    }
+
+    @Override
+    public JsonArray getArray() {
+        replay = false;
+        return delegate.getArray();
+    }
+
+    @Override
+    public Stream<JsonValue> getArrayStream() {
+        replay = false;
+        return delegate.getArrayStream();
+    }
+
+    @Override
+    public Stream<Map.Entry<String, JsonValue>> getObjectStream() {
+        replay = false;
+        return delegate.getObjectStream();
+    }
+
+    @Override
+    public Stream<JsonValue> getValueStream() {
+        return delegate.getValueStream();
+    }
+
+    @Override
+    public void skipArray() {
+        replay = false;
+        delegate.skipArray();
+    }
+
+    @Override
+    public void skipObject() {
+        replay = false;
+        delegate.skipObject();
+    }
+
+    @Override
+    public void close() {
+        // the underlying parser is owned by the caller
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link Client} decorator retrying failed GET requests with jittered exponential backoff and optionally hedging
+ * slow ones with a second request.
+ */
+public final class ResilientClient implements Client, AsyncClient<Object> {
+    private static final Set<Integer> RETRYABLE_STATUS = Set.of(429, 502, 503, 504);
+    private static final int LATENCY_SAMPLES = 100;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    private final Client client;
+    private final AsyncClient<Object> asyncClient;
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final long minHedgeDelay;
+    private final Map<String, Latencies> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a decorator of the given clients.
+     *
+     * @param client         the client executing synchronous requests
+     * @param asyncClient    the client executing asynchronous requests
+     * @param maxAttempts    the maximum number of attempts of a request
+     * @param initialBackoff the upper bound of the delay before the first retry
+     * @param maxBackoff     the maximum delay before a retry
+     * @param minHedgeDelay  the minimum delay before a hedged request, {@code null} to disable hedging
+     */
+    public ResilientClient(Client client, AsyncClient<Object> asyncClient, int maxAttempts, Duration initialBackoff,
+                           Duration maxBackoff, Duration minHedgeDelay) {
+        this.client = client;
+        this.asyncClient = asyncClient;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff.toNanos();
+        this.maxBackoff = maxBackoff.toNanos();
+        this.minHedgeDelay = minHedgeDelay == null ? -1 : minHedgeDelay.toNanos();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (!isIdempotent(request)) {
+            return client.execute(request, options);
+        } else if (minHedgeDelay >= 0) {
+            return await(execute(request, options, Optional.empty()));
+        }
+        for (int attempt = 1; ; attempt++) {
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = client.execute(request, options);
+            } catch (IOException e) {
+                failure = e;
+            }
+            final long delay = retryDelay(attempt, response, failure);
+            if (delay < 0) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+            close(response);
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a retry");
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<Response> execute(Request request, Request.Options options,
+                                               Optional<Object> requestContext) {
+        if (!isIdempotent(request)) {
+            return asyncClient.execute(request, options, requestContext);
+        }
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        attempt(request, options, requestContext, 1, result);
+        return result;
+    }
+
+    private void attempt(Request request, Request.Options options, Optional<Object> requestContext, int attempt,
+                         CompletableFuture<Response> result) {
+        hedged(request, options, requestContext).whenComplete((response, failure) -> {
+            final long delay = retryDelay(attempt, response, failure);
+            if (delay < 0) {
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else {
+                    result.complete(response);
+                }
+                return;
+            }
+            close(response);
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS)
+                    .execute(() -> attempt(request, options, requestContext, attempt + 1, result));
+        });
+    }
+
+    private CompletableFuture<Response> hedged(Request request, Request.Options options,
+                                               Optional<Object> requestContext) {
+        final Latencies endpoint = latencies.computeIfAbsent(endpoint(request), key -> new Latencies());
+        final CompletableFuture<Response> primary = timed(endpoint, request, options, requestContext);
+        final long hedgeDelay = minHedgeDelay < 0 ? -1 : endpoint.percentile95();
+        if (hedgeDelay < 0) {
+            return primary;
+        }
+        final Race race = new Race();
+        primary.whenComplete(race::complete);
+        CompletableFuture.delayedExecutor(Math.max(hedgeDelay, minHedgeDelay), TimeUnit.NANOSECONDS).execute(() -> {
+            if (race.hedge()) {
+                timed(endpoint, request, options, requestContext).whenComplete(race::complete);
+            }
+        });
+        return race.result;
+    }
+
+    private CompletableFuture<Response> timed(Latencies endpoint, Request request, Request.Options options,
+                                              Optional<Object> requestContext) {
+        final long start = System.nanoTime();
+        return asyncClient.execute(request, options, requestContext).thenApply(response -> {
+            endpoint.add(System.nanoTime() - start);
+            return response;
+        });
+    }
+
+    private long retryDelay(int attempt, Response response, Throwable failure) {
+        if (attempt >= maxAttempts) {
+            return -1;
+        } else if (failure != null) {
+            return unwrap(failure) instanceof IOException ? backoff(attempt) : -1;
+        } else if (!RETRYABLE_STATUS.contains(response.status())) {
+            return -1;
+        }
+        final long retryAfter = retryAfter(response);
+        return retryAfter > maxBackoff ? -1 : Math.max(backoff(attempt), retryAfter);
+    }
+
+    private long backoff(int attempt) {
+        final long bound = initialBackoff << Math.min(attempt - 1, 30);
+        final long cappedBound = bound < 0 || bound > maxBackoff ? maxBackoff : bound;
+        return ThreadLocalRandom.current().nextLong(cappedBound + 1);
+    }
+
+    static long retryAfter(Response response) {
+        final Collection<String> values = response.headers().get("Retry-After");
+        if (values == null || values.isEmpty()) {
+            return 0;
+        }
+        final String value = values.iterator().next().trim();
+        try {
+            return Duration.ofSeconds(Long.parseLong(value)).toNanos();
+        } catch (NumberFormatException e) {
+            // not delay seconds but a HTTP date
+        }
+        try {
+            final Instant date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return Math.max(Duration.between(Instant.now(), date).toNanos(), 0);
+        } catch (DateTimeException e) {
+            return 0;
+        }
+    }
+
+    private static boolean isIdempotent(Request request) {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return false;
+        } else if (request.requestTemplate() == null || request.requestTemplate().methodMetadata() == null) {
+            return true;
+        }
+        final Type type = request.requestTemplate().methodMetadata().returnType();
+        final Type rawType = type instanceof ParameterizedType parameterizedType
+                ? parameterizedType.getRawType() : type;
+        return !Stream.class.equals(rawType);
+    }
+
+    private static String endpoint(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().methodMetadata() != null) {
+            return request.requestTemplate().methodMetadata().configKey();
+        }
+        final int query = request.url().indexOf('?');
+        return query < 0 ? request.url() : request.url().substring(0, query);
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private static void close(Response response) {
+        if (response != null) {
+            response.close();
+        }
+    }
+
+    private static Response await(CompletableFuture<Response> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a response");
+        } catch (ExecutionException e) {
+            final Throwable cause = unwrap(e.getCause());
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * The first successful response of the primary and the hedged request, or the outcome of the last one.
+     */
+    private static final class Race {
+        private final CompletableFuture<Response> result = new CompletableFuture<>();
+        private int pending = 1;
+        private boolean done;
+
+        synchronized boolean hedge() {
+            if (done) {
+                return false;
+            }
+            pending++;
+            return true;
+        }
+
+        void complete(Response response, Throwable failure) {
+            final boolean won;
+            synchronized (this) {
+                pending--;
+                won = !done && (pending == 0 || failure == null && !RETRYABLE_STATUS.contains(response.status()));
+                done |= won;
+            }
+            if (!won) {
+                close(response);
+            } else if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(response);
+            }
+        }
+    }
+
+    /**
+     * The recent response times of an endpoint.
+     */
+    private static final class Latencies {
+        private final long[] samples = new long[LATENCY_SAMPLES];
+        private int count;
+
+        synchronized void add(long nanos) {
+            samples[count++ % LATENCY_SAMPLES] = nanos;
+            if (count == 2 * LATENCY_SAMPLES) {
+                count = LATENCY_SAMPLES;
+            }
+        }
+
+        synchronized long percentile95() {
+            if (count < MIN_LATENCY_SAMPLES) {
+                return -1;
+            }
+            final long[] sorted = Arrays.copyOf(samples, Math.min(count, LATENCY_SAMPLES));
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(sorted.length * 0.95) - 1];
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.InvocationHandlerFactory;
+import feign.RequestLine;
+import feign.Target;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * {@link InvocationHandlerFactory} collapsing concurrent identical GET calls into a single upstream request.
+ * <p>
+ * A call is identical to one in flight, if it invokes the same GET method of the same target URL with equal
+ * arguments, the same authorization and the same {@link org.mastodon4j.core.Projection projection}, i.e. if it
+ * results in the same request and the same decoded entity. The callers arriving while the call is in flight wait
+ * for it and share its decoded result or failure, which must therefore not be modified. Methods returning a
+ * {@link CompletableFuture} share the future of the call in flight, streamed results are never shared. A waiting
+ * caller being interrupted fails with an {@link IllegalStateException}, keeping its interrupt status.
+ */
+public final class SingleFlight implements InvocationHandlerFactory {
+    private final InvocationHandlerFactory delegate = new InvocationHandlerFactory.Default();
+    private final Supplier<String> authorizationSupplier;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private record Key(String url, Method method, List<Object> arguments, String authorization, Object projection) {
+    }
+
+    /**
+     * Creates a factory for handlers sharing the calls made with the given authorization.
+     *
+     * @param authorizationSupplier supplies the authorization header value sent with the calls
+     */
+    public SingleFlight(Supplier<String> authorizationSupplier) {
+        this.authorizationSupplier = authorizationSupplier;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public InvocationHandler create(Target target, Map<Method, MethodHandler> dispatch) {
+        final InvocationHandler handler = delegate.create(target, dispatch);
+        return (proxy, method, arguments) -> {
+            if (!isShared(method)) {
+                return handler.invoke(proxy, method, arguments);
+            }
+            final Key key = new Key(target.url(), method, arguments == null ? List.of() : Arrays.asList(arguments),
+                    authorizationSupplier.get(), CodecSupport.projection());
+            if (CompletableFuture.class.equals(method.getReturnType())) {
+                return invokeAsync(key, () -> handler.invoke(proxy, method, arguments));
+            }
+            return invoke(key, () -> handler.invoke(proxy, method, arguments));
+        };
+    }
+
+    /**
+     * Returns the number of calls currently in flight.
+     *
+     * @return the number of distinct calls in flight
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Returns the number of synchronous callers waiting for a call in flight started by another caller.
+     *
+     * @return the number of waiting callers
+     */
+    public int waiting() {
+        return waiting.get();
+    }
+
+    private Object invoke(Key key, Call call) throws Throwable {
+        final CompletableFuture<Object> created = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            waiting.incrementAndGet();
+            try {
+                return await(existing);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+        try {
+            final Object result = call.invoke();
+            inFlight.remove(key, created);
+            created.complete(result);
+            return result;
+        } catch (Throwable e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object invokeAsync(Key key, Call call) throws Throwable {
+        final CompletableFuture<Object> created = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.thenApply(result -> result);
+        }
+        final CompletableFuture<?> future;
+        try {
+            future = (CompletableFuture<?>) call.invoke();
+        } catch (Throwable e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+        future.whenComplete((result, failure) -> {
+            inFlight.remove(key, created);
+            if (failure == null) {
+                created.complete(result);
+            } else {
+                created.completeExceptionally(failure);
+            }
+        });
+        return created.thenApply(result -> result);
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a call in flight", e);
+        }
+    }
+
+    private static boolean isShared(Method method) {
+        final RequestLine requestLine = method.getAnnotation(RequestLine.class);
+        return requestLine != null && requestLine.value().startsWith("GET ")
+                && !Stream.class.isAssignableFrom(method.getReturnType())
+                && !void.class.equals(method.getReturnType());
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Object invoke() throws Throwable;
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Size bounded cache expiring its entries after a fixed time to live.
+ * <p>
+ * The keys are spread over lock striped segments, each evicting its least recently used entries once its share of
+ * the maximum size is exceeded. Values are loaded outside the segment locks, concurrent loads of the same key may
+ * therefore happen. A value whose segment was invalidated while it was loaded is returned but not cached, as it may
+ * predate the invalidation. {@code null} values are not cached.
+ *
+ * @param <V> the value type
+ */
+public final class TtlLruCache<V> {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<V>[] segments;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    /**
+     * Segment of the entries, counting its invalidations to detect the loads racing with them.
+     */
+    private static final class Segment<V> extends LinkedHashMap<String, Entry<V>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final LongAdder evictions;
+        private long invalidations;
+
+        Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Creates a cache with the given bounds.
+     *
+     * @param maximumSize the maximum number of entries
+     * @param ttl         the time to live of an entry
+     */
+    public TtlLruCache(int maximumSize, Duration ttl) {
+        this(maximumSize, ttl, System::nanoTime);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TtlLruCache(int maximumSize, Duration ttl, LongSupplier nanoTime) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        final int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maximumSize));
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(maximumSize / segmentCount, evictions);
+        }
+    }
+
+    private Segment<V> segment(String key) {
+        final int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    /**
+     * Returns the cached value of the given key, loading and caching it if absent or expired.
+     *
+     * @param key    the key
+     * @param loader the loader of missing values
+     * @return the value, or {@code null} if loaded as {@code null}
+     */
+    public V get(String key, Function<String, ? extends V> loader) {
+        final Entry<V> entry = lookup(key);
+        if (entry != null) {
+            return entry.value();
+        }
+        final long invalidations = invalidations(key);
+        final V value = loader.apply(key);
+        put(key, value, invalidations);
+        return value;
+    }
+
+    /**
+     * Returns the cached values of the given keys, loading and caching all absent or expired ones at once.
+     *
+     * @param keys   the keys
+     * @param loader the loader of the missing values, omitting the keys without value
+     * @return the values by key in key order, omitting the keys without value
+     */
+    public Map<String, V> getAll(Collection<String> keys, Function<List<String>, Map<String, ? extends V>> loader) {
+        final Map<String, V> values = new LinkedHashMap<>();
+        final List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            if (values.containsKey(key)) {
+                continue;
+            }
+            final Entry<V> entry = lookup(key);
+            values.put(key, entry == null ? null : entry.value());
+            if (entry == null) {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            final long[] invalidations = new long[missing.size()];
+            for (int i = 0; i < invalidations.length; i++) {
+                invalidations[i] = invalidations(missing.get(i));
+            }
+            final Map<String, ? extends V> loaded = loader.apply(missing);
+            for (int i = 0; i < invalidations.length; i++) {
+                final String key = missing.get(i);
+                final V value = loaded.get(key);
+                put(key, value, invalidations[i]);
+                values.put(key, value);
+            }
+        }
+        values.values().removeIf(Objects::isNull);
+        return values;
+    }
+
+    private Entry<V> lookup(String key) {
+        final Segment<V> segment = segment(key);
+        final long now = nanoTime.getAsLong();
+        synchronized (segment) {
+            final Entry<V> entry = segment.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() - now > 0) {
+                    hits.increment();
+                    return entry;
+                }
+                segment.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    private long invalidations(String key) {
+        final Segment<V> segment = segment(key);
+        synchronized (segment) {
+            return segment.invalidations;
+        }
+    }
+
+    private void put(String key, V value, long invalidations) {
+        if (value != null) {
+            final Entry<V> entry = new Entry<>(value, nanoTime.getAsLong() + ttlNanos);
+            final Segment<V> segment = segment(key);
+            synchronized (segment) {
+                if (segment.invalidations == invalidations) {
+                    segment.put(key, entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the entry of the given key.
+     *
+     * @param key the key
+     */
+    public void invalidate(String key) {
+        final Segment<V> segment = segment(key);
+        synchronized (segment) {
+            segment.invalidations++;
+            segment.remove(key);
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void invalidateAll() {
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                segment.invalidations++;
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the current number of entries, including expired entries not yet removed.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+}
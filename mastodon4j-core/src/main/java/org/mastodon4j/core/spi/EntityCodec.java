@@ -0,0 +1,61 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.spi;
+
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+
+/**
+ * Reads and writes the JSON representation of a single entity type without reflection.
+ *
+ * @param <T> the entity type
+ * @see GenerateCodecs
+ */
+public interface EntityCodec<T> {
+    /**
+     * Returns the entity type handled by this codec.
+     *
+     * @return the entity type
+     */
+    Class<T> type();
+
+    /**
+     * Reads an entity from the given parser, which is positioned on the start event of the value to be read. After
+     * the call the parser is positioned on the last event of that value.
+     *
+     * @param parser the parser positioned on the start of the value
+     * @return the entity read, or {@code null} for a JSON {@code null} value
+     */
+    T read(JsonParser parser);
+
+    /**
+     * Writes the given entity as JSON value to the given generator.
+     *
+     * @param generator the generator to write to
+     * @param value     the entity to be written
+     */
+    void write(JsonGenerator generator, T value);
+}
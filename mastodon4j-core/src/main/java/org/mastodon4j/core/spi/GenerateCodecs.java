@@ -0,0 +1,60 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.spi;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.PACKAGE;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+/**
+ * Requests the generation of {@link EntityCodec} implementations for all records of the annotated package,
+ * including their nested records.
+ * <p>
+ * The codecs are generated at build time by the {@code mastodon4j-processor} annotation processor into a single
+ * class providing them through a static {@code codecs()} method.
+ */
+@Documented
+@Retention(SOURCE)
+@Target(PACKAGE)
+public @interface GenerateCodecs {
+    /**
+     * Returns the fully qualified name of the class to be generated.
+     *
+     * @return the generated class name
+     */
+    String value();
+
+    /**
+     * Returns the records whose decoded instances may be shared when equal to an already decoded instance, see
+     * {@link org.mastodon4j.core.DeduplicatingJsonCodec}.
+     *
+     * @return the records to be deduplicated
+     */
+    Class<?>[] deduplicate() default {};
+}
@@ -0,0 +1,104 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.spi;
+
+import jakarta.json.stream.JsonParser;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Service provider interface for the JSON codec used to convert REST responses, request bodies and streaming
+ * events.
+ * <p>
+ * A codec is created once and shared by all calls of a client and all of its event streams, implementations must
+ * therefore be thread safe. A custom instance can be passed to
+ * {@link org.mastodon4j.core.MastodonClient#create(String, org.mastodon4j.core.api.entities.AccessToken, JsonCodec)}
+ * or registered as a {@link java.util.ServiceLoader service} to replace the built-in default.
+ */
+public interface JsonCodec {
+    /**
+     * Reads a value of the given type from the given JSON text.
+     *
+     * @param json        the JSON text
+     * @param runtimeType the type of the value to read
+     * @param <T>         the result type
+     * @return the value read
+     */
+    <T> T fromJson(String json, Type runtimeType);
+
+    /**
+     * Reads a value of the given type from the given reader.
+     *
+     * @param reader      the reader providing the JSON text
+     * @param runtimeType the type of the value to read
+     * @param <T>         the result type
+     * @return the value read
+     */
+    <T> T fromJson(Reader reader, Type runtimeType);
+
+    /**
+     * Reads a value of the given type from the given UTF-8 encoded input stream.
+     * <p>
+     * The default implementation decodes the bytes using a reader, codecs able to parse bytes directly should
+     * override it.
+     *
+     * @param inputStream the input stream providing the JSON text
+     * @param runtimeType the type of the value to read
+     * @param <T>         the result type
+     * @return the value read
+     */
+    default <T> T fromJson(InputStream inputStream, Type runtimeType) {
+        return fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), runtimeType);
+    }
+
+    /**
+     * Reads a single value of the given type from the given parser, which is positioned on the start event of the
+     * value to be read. After the call the parser is positioned on the last event of that value.
+     * <p>
+     * This is used to decode the elements of large JSON arrays one by one. The default implementation materializes
+     * the value as JSON text, codecs able to bind directly from a parser should override it.
+     *
+     * @param parser      the parser positioned on the start of the value
+     * @param runtimeType the type of the value to read
+     * @param <T>         the result type
+     * @return the value read
+     */
+    default <T> T fromJson(JsonParser parser, Type runtimeType) {
+        return fromJson(parser.getValue().toString(), runtimeType);
+    }
+
+    /**
+     * Writes the given object as JSON text.
+     *
+     * @param object the object to be written
+     * @return the JSON text
+     */
+    String toJson(Object object);
+}
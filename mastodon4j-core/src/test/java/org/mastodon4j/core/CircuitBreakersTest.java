@@ -0,0 +1,154 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.MastodonApi;
+import org.mastodon4j.core.api.Page;
+import org.mastodon4j.core.api.entities.AccessToken;
+import org.mastodon4j.core.api.entities.Account;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+
+class CircuitBreakersTest {
+    CircuitBreakers circuitBreakers = CircuitBreakers.builder()
+            .windowSize(2)
+            .minimumCalls(2)
+            .build();
+
+    static Request request(String restUrl) {
+        return Request.create(Request.HttpMethod.GET, restUrl + "/api/v1/timelines/home", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+    }
+
+    @Test
+    void serversAreIndependent() throws Exception {
+        final Client client = circuitBreakers.client((request, options) -> Response.builder()
+                .request(request)
+                .status(request.url().startsWith("https://down.example") ? 503 : 200)
+                .headers(Map.of())
+                .build(), null);
+        final Request.Options options = new Request.Options();
+        client.execute(request("https://down.example"), options);
+        client.execute(request("https://down.example"), options);
+        client.execute(request("https://up.example"), options);
+        assertThatExceptionOfType(CircuitOpenException.class)
+                .isThrownBy(() -> client.execute(request("https://down.example"), options))
+                .extracting(CircuitOpenException::endpoint)
+                .isEqualTo("GET https://down.example/api/v1/timelines/home");
+        assertThat(client.execute(request("https://up.example"), options).status()).isEqualTo(200);
+        assertThat(circuitBreakers.states()).containsExactly(
+                entry("GET https://down.example/api/v1/timelines/home", CircuitBreakers.State.OPEN),
+                entry("GET https://up.example/api/v1/timelines/home", CircuitBreakers.State.CLOSED));
+    }
+
+    @Test
+    void client() {
+        final List<CircuitBreakers.Transition> transitions = new ArrayList<>();
+        circuitBreakers.addListener(transitions::add);
+        final Client client = (request, options) -> response(request);
+        final AsyncClient<Object> asyncClient = (request, options, context) ->
+                CompletableFuture.completedFuture(response(request));
+        final MastodonApi api = MastodonClient.builder()
+                .restUrl("https://localhost")
+                .accessToken(AccessToken.create("token"))
+                .circuitBreakers(circuitBreakers)
+                .transport(HttpClient.newHttpClient(), client, asyncClient)
+                .build();
+        assertThatExceptionOfType(FeignException.class).isThrownBy(() -> api.timelines().home());
+        assertThat(api.statuses().get("1").id()).isEqualTo("1");
+        assertThatExceptionOfType(FeignException.class).isThrownBy(() -> api.timelines().home());
+        assertThatExceptionOfType(CircuitOpenException.class).isThrownBy(() -> api.timelines().home())
+                .extracting(CircuitOpenException::endpoint).isEqualTo("GET https://localhost/api/v1/timelines/home");
+        assertThat(api.async().timelines().home()).failsWithin(Duration.ofSeconds(5))
+                .withThrowableOfType(ExecutionException.class).withCauseInstanceOf(CircuitOpenException.class);
+        assertThat(circuitBreakers.states()).containsExactly(
+                entry("GET https://localhost/api/v1/statuses/{id}", CircuitBreakers.State.CLOSED),
+                entry("GET https://localhost/api/v1/timelines/home", CircuitBreakers.State.OPEN));
+        assertThat(transitions).extracting(CircuitBreakers.Transition::to)
+                .containsExactly(CircuitBreakers.State.OPEN);
+    }
+
+    @Test
+    void pages() {
+        final Client client = (request, options) -> page(request);
+        final AsyncClient<Object> asyncClient = (request, options, context) ->
+                CompletableFuture.completedFuture(page(request));
+        final MastodonApi api = MastodonClient.builder()
+                .restUrl("https://localhost")
+                .accessToken(AccessToken.create("token"))
+                .circuitBreakers(circuitBreakers)
+                .transport(HttpClient.newHttpClient(), client, asyncClient)
+                .build();
+        final Page<Account> first = api.lists().accountsPage("7");
+        assertThat(first.next().items()).extracting(Account::id).containsExactly("2");
+        assertThat(circuitBreakers.states()).containsOnlyKeys("GET https://localhost/api/v1/lists/{id}/accounts",
+                "GET https://localhost/api/v1/lists/7/accounts");
+    }
+
+    static Response page(Request request) {
+        final Response.Builder response = Response.builder()
+                .request(request)
+                .status(200);
+        if (request.url().endsWith("?max_id=2")) {
+            return response
+                    .headers(Map.of("Content-Type", List.of("application/json; charset=utf-8")))
+                    .body("[{\"id\":\"2\"}]", StandardCharsets.UTF_8)
+                    .build();
+        }
+        return response
+                .headers(Map.of("Content-Type", List.of("application/json; charset=utf-8"),
+                        "Link", List.of("<https://localhost/api/v1/lists/7/accounts?max_id=2>; rel=\"next\"")))
+                .body("[{\"id\":\"3\"}]", StandardCharsets.UTF_8)
+                .build();
+    }
+
+    static Response response(Request request) {
+        final Response.Builder response = Response.builder()
+                .request(request)
+                .headers(Map.of("Content-Type", List.of("application/json; charset=utf-8")));
+        if (request.url().endsWith("/api/v1/timelines/home")) {
+            return response.status(503).build();
+        }
+        return response.status(200).body("{\"id\":\"1\"}", StandardCharsets.UTF_8).build();
+    }
+}
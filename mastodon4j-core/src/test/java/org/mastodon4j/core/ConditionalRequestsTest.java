@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.MastodonApi;
+import org.mastodon4j.core.api.entities.AccessToken;
+import org.mastodon4j.core.api.entities.Instance;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalRequestsTest {
+    LocalServer server;
+    AtomicInteger notModified = new AtomicInteger();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = LocalServer.start().handle("/api/v2/instance", exchange -> {
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                LocalServer.respond(exchange, 304);
+            } else {
+                LocalServer.respond(exchange, "{\"domain\":\"localhost\"}");
+            }
+        });
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    MastodonClient.Builder builder() {
+        return MastodonClient.builder()
+                .restUrl(server.url())
+                .accessToken(AccessToken.create("token"));
+    }
+
+    @Test
+    void conditionalRequests() {
+        final MastodonApi api = builder()
+                .conditionalRequests(10)
+                .build();
+        final Instance instance = api.instance();
+        assertThat(instance.domain()).isEqualTo("localhost");
+        assertThat(notModified).hasValue(0);
+        assertThat(api.instance()).isSameAs(instance);
+        assertThat(api.async().instance().join()).isSameAs(instance);
+        assertThat(notModified).hasValue(2);
+    }
+
+    @Test
+    void conditionalRequestsDisabled() {
+        final MastodonApi api = builder().build();
+        assertThat(api.instance()).isEqualTo(api.instance()).isNotSameAs(api.instance());
+        assertThat(notModified).hasValue(0);
+    }
+}
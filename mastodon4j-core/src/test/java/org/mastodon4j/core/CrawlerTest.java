@@ -0,0 +1,174 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mastodon4j.core.api.Page;
+import org.mastodon4j.core.api.entities.Account;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class CrawlerTest {
+    static final int PAGES = 3;
+
+    ScheduledExecutorService executor = Executors.newScheduledThreadPool(8);
+    Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+    Map<String, AtomicInteger> maxRunning = new ConcurrentHashMap<>();
+    AtomicInteger requests = new AtomicInteger();
+    List<String> order = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    CompletableFuture<Page<Account>> fetch(String host, String id, int page) {
+        requests.incrementAndGet();
+        order.add(host);
+        final AtomicInteger counter = running.computeIfAbsent(host, key -> new AtomicInteger());
+        maxRunning.computeIfAbsent(host, key -> new AtomicInteger()).accumulateAndGet(counter.incrementAndGet(),
+                Math::max);
+        final CompletableFuture<Page<Account>> result = new CompletableFuture<>();
+        executor.schedule(() -> {
+            counter.decrementAndGet();
+            final URI next = page + 1 < PAGES ? URI.create("page:" + (page + 1)) : null;
+            result.complete(new Page<>(List.of(account(id + "-" + page)), next, null,
+                    uri -> fetch(host, id, Integer.parseInt(uri.getSchemeSpecificPart()))));
+        }, 5, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    static Account account(String id) {
+        return new Account(id, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, null);
+    }
+
+    CompletableFuture<Void> crawl(Crawler crawler, String host, List<String> ids, Crawler.Sink<Account> sink) {
+        return crawler.crawl(host, ids.stream().map(Crawler.Target::followers).toList(),
+                target -> fetch(host, target.accountId(), 0), sink);
+    }
+
+    @Test
+    void boundedAndFair() {
+        final Crawler crawler = Crawler.builder().maxInFlight(3).maxInFlightPerHost(2).build();
+        final Map<String, List<String>> received = new ConcurrentHashMap<>();
+        final Crawler.Sink<Account> sink = (target, items) -> received
+                .computeIfAbsent(target.accountId(), id -> new ArrayList<>()).add(items.get(0).id());
+        final List<String> ids = IntStream.range(0, 10).mapToObj(String::valueOf).toList();
+
+        CompletableFuture.allOf(crawl(crawler, "a", ids, sink), crawl(crawler, "b", List.of("b"), sink)).join();
+
+        assertThat(received).hasSize(11).containsEntry("3", List.of("3-0", "3-1", "3-2"));
+        assertThat(maxRunning.get("a")).hasValue(2);
+        assertThat(maxRunning.get("b")).hasValue(1);
+        assertThat(order.lastIndexOf("b")).isLessThan(12);
+        assertThat(crawler.inFlight()).isZero();
+    }
+
+    @Test
+    void resumesFromCheckpoints(@TempDir Path directory) {
+        final Path file = directory.resolve("crawl.properties");
+        final List<String> received = new ArrayList<>();
+        final Crawler.Sink<Account> failing = (target, items) -> {
+            if (items.get(0).id().equals("2-1")) {
+                throw new IllegalStateException("sink failure");
+            }
+            synchronized (received) {
+                received.add(items.get(0).id());
+            }
+        };
+        final Crawler crawler = Crawler.builder()
+                .checkpoints(Crawler.Checkpoints.file(file, Duration.ofHours(1)))
+                .build();
+        assertThatExceptionOfType(CompletionException.class)
+                .isThrownBy(() -> crawl(crawler, "a", List.of("1", "2"), failing).join())
+                .withRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(received).containsExactlyInAnyOrder("1-0", "1-1", "1-2", "2-0");
+
+        received.clear();
+        requests.set(0);
+        final Crawler resumed = Crawler.builder().checkpoints(Crawler.Checkpoints.file(file)).build();
+        crawl(resumed, "a", List.of("1", "2"), (target, items) -> received.add(items.get(0).id())).join();
+        assertThat(received).containsExactly("2-1", "2-2");
+        assertThat(requests).hasValue(3);
+        assertThat(Crawler.Checkpoints.file(file).load(Crawler.key("a", Crawler.Target.followers("2"))))
+                .contains("");
+    }
+
+    @Test
+    void fileCheckpointsDebounceWrites(@TempDir Path directory) {
+        final Path file = directory.resolve("crawl.properties");
+        final Crawler.Checkpoints checkpoints = Crawler.Checkpoints.file(file, Duration.ofHours(1));
+        checkpoints.store("a", "1");
+        checkpoints.store("b", "2");
+        assertThat(Crawler.Checkpoints.file(file).load("a")).contains("1");
+        assertThat(Crawler.Checkpoints.file(file).load("b")).isEmpty();
+
+        checkpoints.flush();
+        assertThat(Crawler.Checkpoints.file(file).load("b")).contains("2");
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> Crawler.Checkpoints.file(file, Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void sinkExecutor() {
+        final ExecutorService sinkExecutor = Executors.newSingleThreadExecutor(
+                runnable -> new Thread(runnable, "sink"));
+        try {
+            final Crawler crawler = Crawler.builder().sinkExecutor(sinkExecutor).build();
+            final List<String> threads = new CopyOnWriteArrayList<>();
+            crawl(crawler, "a", List.of("1", "2"), (target, items) -> threads.add(Thread.currentThread().getName()))
+                    .join();
+            assertThat(threads).hasSize(2 * PAGES).containsOnly("sink");
+
+            sinkExecutor.shutdown();
+            assertThatExceptionOfType(CompletionException.class)
+                    .isThrownBy(() -> crawl(crawler, "b", List.of("1"), (target, items) -> { }).join());
+        } finally {
+            sinkExecutor.shutdownNow();
+        }
+    }
+}
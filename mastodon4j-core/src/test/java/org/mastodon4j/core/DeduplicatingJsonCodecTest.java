@@ -0,0 +1,77 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.Timelines;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeduplicatingJsonCodecTest {
+    static final String ACCOUNT = """
+            {"id":"1","username":"reinhapa","followers_count":%d,
+             "emojis":[{"shortcode":"java","url":"https://x/java.png"}]}""";
+    static final String STATUS = """
+            {"id":"%s","account":%s,"tags":[{"name":"java","url":"https://x/tags/java"}],
+             "emojis":[{"shortcode":"java","url":"https://x/java.png"}],"reblog":%s}""";
+
+    static String status(String id, int followers, String reblog) {
+        return STATUS.formatted(id, ACCOUNT.formatted(followers), reblog);
+    }
+
+    static Type statusList() throws Exception {
+        return Timelines.class.getMethod("home").getGenericReturnType();
+    }
+
+    @Test
+    void withinValue() throws Exception {
+        final String json = "[" + status("1", 10, status("2", 10, "null")) + "," + status("3", 11, "null") + "]";
+        final List<Status> statuses = new DeduplicatingJsonCodec().fromJson(json, statusList());
+
+        final Status first = statuses.get(0);
+        final Status reblog = first.reblog();
+        assertThat(first.account()).isSameAs(reblog.account());
+        assertThat(first.tags().get(0)).isSameAs(reblog.tags().get(0));
+        assertThat(first.emojis().get(0)).isSameAs(first.account().emojis().get(0));
+        assertThat(statuses.get(1).account()).isNotSameAs(first.account()).isNotEqualTo(first.account());
+        assertThat(statuses.get(1).account().emojis().get(0)).isSameAs(first.emojis().get(0));
+    }
+
+    @Test
+    void acrossValues() {
+        final DeduplicatingJsonCodec perValue = new DeduplicatingJsonCodec();
+        final DeduplicatingJsonCodec windowed = new DeduplicatingJsonCodec(100);
+
+        assertThat(perValue.<Status>fromJson(status("1", 10, "null"), Status.class).account())
+                .isNotSameAs(perValue.<Status>fromJson(status("2", 10, "null"), Status.class).account());
+        assertThat(windowed.<Status>fromJson(status("1", 10, "null"), Status.class).tags().get(0))
+                .isSameAs(windowed.<Status>fromJson(status("2", 10, "null"), Status.class).tags().get(0));
+    }
+}
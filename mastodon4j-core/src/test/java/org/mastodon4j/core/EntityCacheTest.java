@@ -0,0 +1,110 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.EventStream;
+import org.mastodon4j.core.api.Statuses;
+import org.mastodon4j.core.api.TypedEvent;
+import org.mastodon4j.core.api.entities.Status;
+import org.mastodon4j.core.impl.JsonUtil;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EntityCacheTest {
+    EntityCache entityCache = EntityCache.builder().build();
+    Statuses target = mock(Statuses.class);
+    Statuses statuses = new CachingStatuses(target, entityCache);
+
+    static Status status(String id) {
+        return JsonUtil.fromJson("{\"id\":\"" + id + "\"}", Status.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    Consumer<TypedEvent> attach() {
+        final EventStream eventStream = mock(EventStream.class);
+        entityCache.attach(eventStream);
+        final ArgumentCaptor<Consumer<TypedEvent>> consumer = ArgumentCaptor.forClass(Consumer.class);
+        verify(eventStream).registerTypedConsumer(consumer.capture());
+        return consumer.getValue();
+    }
+
+    static TypedEvent event(TypedEvent.Type type, Status status, String deletedStatusId) {
+        final TypedEvent event = mock(TypedEvent.class);
+        when(event.type()).thenReturn(type);
+        when(event.status()).thenReturn(Optional.ofNullable(status));
+        when(event.deletedStatusId()).thenReturn(Optional.ofNullable(deletedStatusId));
+        return event;
+    }
+
+    @Test
+    void get() {
+        when(target.get("1")).thenReturn(status("1"));
+        assertThat(statuses.get("1")).isSameAs(statuses.get("1"));
+        verify(target, times(1)).get("1");
+        assertThat(entityCache.statusStats()).isEqualTo(new EntityCache.Stats(1, 1, 0, 1));
+        assertThat(entityCache.statusStats().hitRate()).isEqualTo(0.5);
+        assertThat(entityCache.accountStats().hitRate()).isZero();
+    }
+
+    @Test
+    void invalidatedByEvents() {
+        final Consumer<TypedEvent> consumer = attach();
+        when(target.get("1")).thenReturn(status("1"));
+        when(target.get("2")).thenReturn(status("2"));
+        statuses.get("1");
+        statuses.get("2");
+
+        consumer.accept(event(TypedEvent.Type.UPDATE, status("1"), null));
+        assertThat(entityCache.statusStats().size()).isEqualTo(2);
+        consumer.accept(event(TypedEvent.Type.DELETE, null, "1"));
+        assertThat(entityCache.statusStats().size()).isEqualTo(1);
+        consumer.accept(event(TypedEvent.Type.STATUS_UPDATE, status("2"), null));
+        assertThat(entityCache.statusStats().size()).isZero();
+
+        statuses.get("1");
+        verify(target, times(2)).get("1");
+    }
+
+    @Test
+    void projected() {
+        when(target.get("1")).thenAnswer(invocation -> JsonUtil.fromJson("{\"id\":\"1\",\"content\":\"Hello\"}",
+                Status.class));
+        assertThat(Projection.of("id").apply(() -> statuses.get("1")).content()).isNull();
+        assertThat(statuses.get("1").content()).isEqualTo("Hello");
+        assertThat(Projection.of("id").apply(() -> statuses.get("1")).content()).isNull();
+        verify(target, times(3)).get("1");
+        assertThat(entityCache.statusStats().size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.MastodonApi;
+import org.mastodon4j.core.api.entities.AccessToken;
+import org.mastodon4j.core.api.entities.Account;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.mastodon4j.core.LocalServer.respond;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityLoaderTest {
+    LocalServer server;
+    MastodonApi client;
+    String version = "4.3.2";
+    List<String> requests = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = LocalServer.start().handle("/api/v2/instance", exchange -> respond(exchange,
+                "{\"domain\":\"localhost\",\"version\":\"" + version + "\"}"));
+        server.handle("/api/v1/accounts", exchange -> {
+            final String path = exchange.getRequestURI().getPath();
+            final String query = URLDecoder.decode(exchange.getRequestURI().getRawQuery() == null ? ""
+                    : exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8);
+            requests.add(path + (query.isEmpty() ? "" : "?" + query));
+            if (path.equals("/api/v1/accounts/404")) {
+                respond(exchange, 404);
+            } else if (path.startsWith("/api/v1/accounts/")) {
+                respond(exchange, "{\"id\":\"" + path.substring("/api/v1/accounts/".length()) + "\"}");
+            } else {
+                respond(exchange, Arrays.stream(query.split("&"))
+                        .map(parameter -> parameter.substring("id[]=".length()))
+                        .filter(id -> !id.equals("404"))
+                        .map(id -> "{\"id\":\"" + id + "\"}")
+                        .collect(Collectors.joining(",", "[", "]")));
+            }
+        });
+        server.handle("/api/v1/statuses", exchange -> {
+            requests.add(exchange.getRequestURI().getPath());
+            respond(exchange, "[{\"id\":\"1\"},{\"id\":\"2\"}]");
+        });
+        client = MastodonClient.create(server.url(), AccessToken.create("token"));
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    @Test
+    void batch() {
+        assertThat(client.accounts().get(List.of("1", "2"))).extracting(Account::id).containsExactly("1", "2");
+        assertThat(client.async().statuses().get(List.of("1", "2")).join()).extracting(Status::id)
+                .containsExactly("1", "2");
+        assertThat(requests).containsExactly("/api/v1/accounts?id[]=1&id[]=2", "/api/v1/statuses");
+    }
+
+    @Test
+    void batchWithoutIds() {
+        assertThat(client.accounts().get(List.of())).isEmpty();
+        assertThat(client.async().statuses().get(List.of()).join()).isEmpty();
+        assertThat(requests).isEmpty();
+    }
+
+    @Test
+    void loaderBatchesWithinWindow() {
+        final EntityLoader loader = EntityLoader.builder(client).window(Duration.ofMillis(50)).build();
+        final List<CompletableFuture<Account>> accounts = List.of(loader.account("1"), loader.account("2"),
+                loader.account("1"), loader.account("404"));
+        CompletableFuture.allOf(accounts.toArray(CompletableFuture<?>[]::new)).join();
+
+        assertThat(accounts.get(0).join().id()).isEqualTo("1");
+        assertThat(accounts.get(1).join().id()).isEqualTo("2");
+        assertThat(accounts.get(2)).isSameAs(accounts.get(0));
+        assertThat(accounts.get(3).join()).isNull();
+        assertThat(requests).containsExactly("/api/v1/accounts?id[]=1&id[]=2&id[]=404");
+    }
+
+    @Test
+    void loaderSplitsBatches() {
+        final EntityLoader loader = EntityLoader.builder(client).window(Duration.ofSeconds(10)).maxBatchSize(2)
+                .build();
+        final CompletableFuture<Account> first = loader.account("1");
+        final CompletableFuture<Account> second = loader.account("2");
+        assertThat(first.join().id()).isEqualTo("1");
+        assertThat(second.join().id()).isEqualTo("2");
+        assertThat(requests).containsExactly("/api/v1/accounts?id[]=1&id[]=2");
+    }
+
+    @Test
+    void loaderFallsBackToSingleGets() {
+        version = "4.2.10+glitch";
+        final EntityLoader loader = EntityLoader.builder(client).build();
+        assertThat(CompletableFuture.allOf(loader.account("1"), loader.account("2")))
+                .succeedsWithin(Duration.ofSeconds(5));
+        assertThat(requests).containsExactlyInAnyOrder("/api/v1/accounts/1", "/api/v1/accounts/2");
+    }
+
+    @Test
+    void loaderFallbackCompletesUnknownIdsWithNull() {
+        version = "4.2.10";
+        final EntityLoader loader = EntityLoader.builder(client).build();
+        final CompletableFuture<Account> known = loader.account("1");
+        final CompletableFuture<Account> unknown = loader.account("404");
+        assertThat(known).succeedsWithin(Duration.ofSeconds(5)).extracting(Account::id).isEqualTo("1");
+        assertThat(unknown).succeedsWithin(Duration.ofSeconds(5)).isNull();
+        assertThat(requests).containsExactlyInAnyOrder("/api/v1/accounts/1", "/api/v1/accounts/404");
+    }
+
+    @Test
+    void supportsMultipleIds() {
+        assertThat(EntityLoader.supportsMultipleIds("4.3.0")).isTrue();
+        assertThat(EntityLoader.supportsMultipleIds("4.3.0-beta.1")).isTrue();
+        assertThat(EntityLoader.supportsMultipleIds("5.0.0")).isTrue();
+        assertThat(EntityLoader.supportsMultipleIds("4.2.10")).isFalse();
+        assertThat(EntityLoader.supportsMultipleIds("2.7.2 (compatible; Pleroma 2.5.0)")).isFalse();
+        assertThat(EntityLoader.supportsMultipleIds(null)).isFalse();
+    }
+}
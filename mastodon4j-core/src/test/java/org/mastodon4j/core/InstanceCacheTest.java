@@ -0,0 +1,144 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mastodon4j.core.api.entities.Instance;
+import org.mastodon4j.core.impl.JsonUtil;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstanceCacheTest {
+    static final String REST_URL = "https://Mastodon.Social";
+
+    AtomicInteger loads = new AtomicInteger();
+
+    Instance load() {
+        return JsonUtil.defaultCodec().fromJson("{\"domain\":\"mastodon.social\",\"version\":\"4.3."
+                + loads.incrementAndGet() + "\"}", Instance.class);
+    }
+
+    @Test
+    void loadedOnce() {
+        try (InstanceCache cache = InstanceCache.builder().build()) {
+            assertThat(cache.cached(REST_URL)).isEmpty();
+            final Instance instance = cache.instance(REST_URL, this::load);
+            assertThat(cache.instance(REST_URL, this::load)).isSameAs(instance);
+            assertThat(cache.cached(REST_URL)).containsSame(instance);
+            assertThat(loads).hasValue(1);
+        }
+    }
+
+    @Test
+    void loadedOnceAsync() {
+        try (InstanceCache cache = InstanceCache.builder().build()) {
+            final Instance instance = cache.instanceAsync(REST_URL, this::load,
+                    () -> CompletableFuture.supplyAsync(this::load)).join();
+            assertThat(cache.instanceAsync(REST_URL, this::load, () -> CompletableFuture.supplyAsync(this::load)))
+                    .isCompletedWithValueMatching(cached -> cached == instance);
+            assertThat(cache.instance(REST_URL, this::load)).isSameAs(instance);
+            assertThat(loads).hasValue(1);
+        }
+    }
+
+    @Test
+    void snapshot(@TempDir Path directory) {
+        try (InstanceCache cache = InstanceCache.builder().snapshotDirectory(directory).build()) {
+            assertThat(cache.instance(REST_URL, this::load).version()).isEqualTo("4.3.1");
+        }
+        assertThat(directory.resolve("mastodon.social.json")).exists();
+        try (InstanceCache cache = InstanceCache.builder().snapshotDirectory(directory).build()) {
+            final Instance instance = cache.instance(REST_URL, this::load);
+            assertThat(instance.domain()).isEqualTo("mastodon.social");
+            assertThat(instance.version()).isEqualTo("4.3.1");
+            assertThat(loads).hasValue(1);
+        }
+    }
+
+    @Test
+    void refresh(@TempDir Path directory) throws Exception {
+        try (InstanceCache cache = InstanceCache.builder()
+                .refreshInterval(Duration.ofMillis(50))
+                .snapshotDirectory(directory)
+                .build()) {
+            assertThat(cache.instance(REST_URL, this::load).version()).isEqualTo("4.3.1");
+            final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (loads.get() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(cache.instance(REST_URL, this::load).version()).isNotEqualTo("4.3.1");
+        }
+        assertThat(Files.readString(directory.resolve("mastodon.social.json"))).doesNotContain("4.3.1\"");
+    }
+
+    @Test
+    void failedRefreshReplacesLoader() throws Exception {
+        try (InstanceCache cache = InstanceCache.builder().refreshInterval(Duration.ofMillis(20)).build()) {
+            final AtomicBoolean closed = new AtomicBoolean();
+            cache.instance(REST_URL, () -> {
+                if (closed.get()) {
+                    throw new IllegalStateException("closed");
+                }
+                return load();
+            });
+            closed.set(true);
+            final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (cache.lastFailure(REST_URL).isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(cache.lastFailure(REST_URL)).get().extracting(Throwable::getMessage).isEqualTo("closed");
+
+            cache.instance(REST_URL, this::load);
+            while (loads.get() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(loads.get()).isGreaterThanOrEqualTo(2);
+            assertThat(cache.lastFailure(REST_URL)).isEmpty();
+        }
+    }
+
+    @Test
+    void nullSnapshot(@TempDir Path directory) throws Exception {
+        final Path snapshot = directory.resolve("mastodon.social.json");
+        Files.writeString(snapshot, "null");
+        Files.setLastModifiedTime(snapshot, FileTime.from(Instant.EPOCH));
+        try (InstanceCache cache = InstanceCache.builder().snapshotDirectory(directory).build()) {
+            assertThat(cache.instance(REST_URL, this::load).version()).isEqualTo("4.3.1");
+            Thread.sleep(100);
+        }
+        assertThat(loads).hasValue(1);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.AsyncMastodonApi;
+import org.mastodon4j.core.api.MastodonApi;
+import org.mastodon4j.core.api.entities.AccessToken;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LocalMastodonClientTest {
+    LocalServer server;
+    MastodonApi client;
+    AtomicInteger retries = new AtomicInteger();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = LocalServer.start().handle("/api/v1/statuses/", exchange -> {
+            final String id = exchange.getRequestURI().getPath().substring("/api/v1/statuses/".length());
+            exchange.getResponseHeaders().add("X-RateLimit-Limit", "300");
+            exchange.getResponseHeaders().add("X-RateLimit-Remaining", "299");
+            exchange.getResponseHeaders().add("X-RateLimit-Reset", Instant.now().plusSeconds(300).toString());
+            LocalServer.respond(exchange, "{\"id\":\"" + id + "\",\"content\":\""
+                    + exchange.getRequestHeaders().getFirst("Authorization") + "\"}");
+        });
+        server.handle("/api/v1/statuses/retried", exchange -> {
+            if (retries.getAndIncrement() == 0) {
+                exchange.getResponseHeaders().add("Retry-After", "0");
+                LocalServer.respond(exchange, 503);
+            } else {
+                LocalServer.respond(exchange, "{\"id\":\"retried\",\"content\":\""
+                        + exchange.getRequestHeaders().get("Authorization") + "\"}");
+            }
+        });
+        client = MastodonClient.create(restUrl(), AccessToken.create("token"));
+    }
+
+    String restUrl() {
+        return server.url();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    @Test
+    void async() {
+        assertThat(client.async()).isSameAs(client.async());
+        assertThat(client.async().statuses()).isSameAs(client.async().statuses());
+    }
+
+    @Test
+    void statuses() {
+        final AsyncMastodonApi async = client.async();
+        final List<CompletableFuture<Status>> futures = IntStream.range(0, 20)
+                .mapToObj(id -> async.statuses().get(String.valueOf(id)))
+                .toList();
+        assertThat(futures).extracting(CompletableFuture::join)
+                .extracting(Status::id, Status::content)
+                .containsExactlyElementsOf(IntStream.range(0, 20)
+                        .mapToObj(id -> tuple(String.valueOf(id), "Bearer token"))
+                        .toList());
+    }
+
+    @Test
+    void builderWithExecutor() {
+        final AtomicInteger tasks = new AtomicInteger();
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final MastodonApi api = MastodonClient.builder()
+                    .restUrl(restUrl())
+                    .accessToken(AccessToken.create("other"))
+                    .executor(task -> {
+                        tasks.incrementAndGet();
+                        executor.execute(task);
+                    })
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .requestTimeout(Duration.ofSeconds(5))
+                    .build();
+            assertThat(api.async().statuses().get("1").join().content()).isEqualTo("Bearer other");
+            assertThat(api.statuses().get("2").content()).isEqualTo("Bearer other");
+            assertThat(tasks).hasPositiveValue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void builderWithVirtualThreads() {
+        final MastodonApi api = MastodonClient.builder()
+                .restUrl(restUrl())
+                .accessToken(AccessToken.create("token"))
+                .virtualThreads(true)
+                .build();
+        assertThat(api.async().statuses().get("1").join().id()).isEqualTo("1");
+    }
+
+    @Test
+    void builderRequiresUrlAndToken() {
+        assertThatNullPointerException().isThrownBy(() -> MastodonClient.builder().build())
+                .withMessage("restUrl must not be null");
+        assertThatNullPointerException().isThrownBy(() -> MastodonClient.builder().restUrl(restUrl()).build())
+                .withMessage("accessToken must not be null");
+    }
+
+    @Test
+    void withToken() {
+        final RateLimits rateLimits = new RateLimits();
+        final MastodonApi api = MastodonClient.builder()
+                .restUrl(restUrl())
+                .accessToken(AccessToken.create("token"))
+                .rateLimits(rateLimits)
+                .build();
+        final AccessToken other = AccessToken.create("other");
+        final MastodonApi view = api.withToken(other);
+        assertThat(view.statuses().get("1").content()).isEqualTo("Bearer other");
+        assertThat(view.async().statuses().get("2").join().content()).isEqualTo("Bearer other");
+        assertThat(api.withToken(AccessToken.create("third")).statuses().get("3").content())
+                .isEqualTo("Bearer third");
+        assertThat(rateLimits.budget(other)).map(RateLimits.Budget::limit).contains(300);
+        assertThat(rateLimits.budget(AccessToken.create("token"))).isEmpty();
+
+        assertThat(api.statuses().get("4").content()).isEqualTo("Bearer token");
+        assertThat(api.async().statuses().get("5").join().content()).isEqualTo("Bearer token");
+        assertThat(rateLimits.budget(AccessToken.create("token"))).isPresent();
+    }
+
+    @Test
+    void withTokenRetried() {
+        final RateLimits rateLimits = new RateLimits();
+        final MastodonApi api = MastodonClient.builder()
+                .restUrl(restUrl())
+                .accessToken(AccessToken.create("token"))
+                .rateLimits(rateLimits)
+                .build();
+        final AccessToken other = AccessToken.create("other");
+        assertThat(api.withToken(other).async().statuses().get("retried").join().content())
+                .isEqualTo("[Bearer other]");
+        assertThat(retries).hasValue(2);
+
+        retries.set(0);
+        assertThat(api.withToken(other).statuses().get("retried").content()).isEqualTo("[Bearer other]");
+        assertThat(retries).hasValue(2);
+        assertThat(rateLimits.budget(AccessToken.create("token"))).isEmpty();
+    }
+}
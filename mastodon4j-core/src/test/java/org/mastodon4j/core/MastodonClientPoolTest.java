@@ -0,0 +1,119 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.MastodonApi;
+import org.mastodon4j.core.api.entities.AccessToken;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MastodonClientPoolTest {
+    LocalServer server;
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = LocalServer.start().handle("/api/v1/statuses/", exchange -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            final String id = exchange.getRequestURI().getPath().substring("/api/v1/statuses/".length());
+            running.decrementAndGet();
+            LocalServer.respond(exchange, "{\"id\":\"" + id + "\",\"content\":\""
+                    + exchange.getRequestHeaders().getFirst("Authorization") + "\"}");
+        });
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    String restUrl(String host) {
+        return server.url(host);
+    }
+
+    @Test
+    void client() {
+        final MastodonClientPool pool = MastodonClientPool.builder()
+                .configure(builder -> builder.compression(false))
+                .build();
+        final MastodonApi client = pool.client(restUrl("localhost"), AccessToken.create("first"));
+        assertThat(pool.client(restUrl("localhost"), AccessToken.create("first"))).isSameAs(client);
+        final MastodonApi other = pool.client(restUrl("localhost"), AccessToken.create("second"));
+        assertThat(other).isNotSameAs(client);
+        assertThat(pool.size()).isEqualTo(1);
+        pool.client(restUrl("127.0.0.1"), AccessToken.create("first"));
+        assertThat(pool.size()).isEqualTo(2);
+
+        assertThat(client.statuses().get("1").content()).isEqualTo("Bearer first");
+        assertThat(other.statuses().get("2").content()).isEqualTo("Bearer second");
+        assertThat(other.async().statuses().get("3").join().content()).isEqualTo("Bearer second");
+    }
+
+    @Test
+    void maxConcurrentRequestsPerHost() {
+        final MastodonClientPool pool = MastodonClientPool.builder()
+                .maxConcurrentRequestsPerHost(2)
+                .build();
+        final MastodonApi first = pool.client(restUrl("localhost"), AccessToken.create("first"));
+        final MastodonApi second = pool.client(restUrl("localhost"), AccessToken.create("second"));
+        final List<CompletableFuture<Status>> futures = IntStream.range(0, 10)
+                .mapToObj(id -> (id % 2 == 0 ? first : second).async().statuses().get(String.valueOf(id)))
+                .toList();
+        assertThat(futures).extracting(CompletableFuture::join).extracting(Status::id)
+                .containsExactlyElementsOf(IntStream.range(0, 10).mapToObj(String::valueOf).toList());
+        assertThat(maxRunning).hasValueBetween(1, 2);
+    }
+
+    @Test
+    void evictIdle() {
+        final MastodonClientPool pool = MastodonClientPool.builder()
+                .idleTimeout(Duration.ZERO)
+                .build();
+        final MastodonApi client = pool.client(restUrl("localhost"), AccessToken.create("first"));
+        assertThat(client.statuses().get("1").id()).isEqualTo("1");
+        assertThat(pool.evictIdle()).isEqualTo(1);
+        assertThat(pool.size()).isZero();
+        assertThat(pool.client(restUrl("localhost"), AccessToken.create("first"))).isNotSameAs(client);
+        assertThat(client.statuses().get("2").id()).isEqualTo("2");
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.MastodonApi;
+import org.mastodon4j.core.api.Page;
+import org.mastodon4j.core.api.entities.AccessToken;
+import org.mastodon4j.core.api.entities.Account;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class PagesTest {
+    LocalServer server;
+    MastodonApi client;
+    List<String> pageAuthorizations = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = LocalServer.start().handle("/api/v1/lists/", exchange -> {
+            final String query = exchange.getRequestURI().getQuery();
+            final int maxId = query == null ? 6 : Integer.parseInt(query.substring("max_id=".length()));
+            pageAuthorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            final String path = restUrl() + exchange.getRequestURI().getPath();
+            String link = "<" + path + "?min_id=" + maxId + ">; rel=\"prev\"";
+            if (maxId > 2) {
+                link = "<" + path + "?max_id=" + (maxId - 2) + ">; rel=\"next\", " + link;
+            }
+            exchange.getResponseHeaders().add("Link", link);
+            LocalServer.respond(exchange, "[{\"id\":\"" + maxId + "\"},{\"id\":\"" + (maxId - 1) + "\"}]");
+        });
+        client = MastodonClient.create(restUrl(), AccessToken.create("token"));
+    }
+
+    String restUrl() {
+        return server.url();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    @Test
+    void pages() {
+        final Page<Account> first = client.lists().accountsPage("7");
+        assertThat(first.items()).extracting(Account::id).containsExactly("6", "5");
+        assertThat(first.previousUri()).contains(URI.create(restUrl() + "/api/v1/lists/7/accounts?min_id=6"));
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.next().items()).extracting(Account::id).containsExactly("4", "3");
+
+        try (Stream<Account> accounts = first.stream(2)) {
+            assertThat(accounts).extracting(Account::id).containsExactly("6", "5", "4", "3", "2", "1");
+        }
+        try (Stream<Page<Account>> pages = first.pages(0, 0)) {
+            assertThat(pages).hasSize(3).last().satisfies(last -> {
+                assertThat(last.hasNext()).isFalse();
+                assertThatExceptionOfType(NoSuchElementException.class).isThrownBy(last::next);
+            });
+        }
+
+        pageAuthorizations.clear();
+        try (Stream<Account> accounts = client.withToken(AccessToken.create("other")).lists()
+                .accountsPage("7").stream(1)) {
+            assertThat(accounts).hasSize(6);
+        }
+        assertThat(pageAuthorizations).hasSize(3).containsOnly("Bearer other");
+    }
+}
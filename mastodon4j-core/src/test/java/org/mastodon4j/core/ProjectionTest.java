@@ -0,0 +1,99 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.Timelines;
+import org.mastodon4j.core.api.entities.Account;
+import org.mastodon4j.core.api.entities.Status;
+import org.mastodon4j.core.impl.JsonUtil;
+import org.mastodon4j.core.spi.JsonCodec;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ProjectionTest {
+    static final String STATUS = """
+            {"id":"1","created_at":"2023-03-05T18:31:40.000Z","language":"en","content":"<p>Hello</p>",
+             "account":{"id":"7","username":"reinhapa","emojis":[{"shortcode":"java","url":"https://x/java.png"}]},
+             "tags":[{"name":"java","url":"https://x/tags/java"}],"card":{"url":"https://x","title":"Card"},
+             "media_attachments":[{"id":"3","type":"image"}],"reblog":null}""";
+
+    JsonCodec codec = JsonUtil.defaultCodec();
+    Projection projection = Projection.of("id", "created_at", "account.id", "tags", "language");
+
+    @Test
+    void of() {
+        assertThat(projection.field("content")).isNull();
+        assertThat(projection.field("tags").includesAll()).isTrue();
+        assertThat(projection.field("account").includesAll()).isFalse();
+        assertThat(projection.field("account").field("id").includesAll()).isTrue();
+        assertThat(Projection.of("account.id", "account").field("account").includesAll()).isTrue();
+        assertThat(Projection.of("account", "account.id").field("account").includesAll()).isTrue();
+        assertThatIllegalArgumentException().isThrownBy(() -> Projection.of("account..id"));
+    }
+
+    @Test
+    void apply() throws Exception {
+        final Type statusList = Timelines.class.getMethod("home").getGenericReturnType();
+        final List<Status> statuses = projection.apply(() -> codec.fromJson("[" + STATUS + "," + STATUS + "]",
+                statusList));
+        final Status full = codec.fromJson(STATUS, Status.class);
+
+        assertThat(statuses).hasSize(2).allSatisfy(status -> {
+            assertThat(status.id()).isEqualTo("1");
+            assertThat(status.created_at()).isEqualTo(full.created_at());
+            assertThat(status.language()).isEqualTo("en");
+            assertThat(status.tags()).isEqualTo(full.tags());
+            assertThat(status.account().id()).isEqualTo("7");
+            assertThat(status.account().username()).isNull();
+            assertThat(status.account().emojis()).isNull();
+            assertThat(status.content()).isNull();
+            assertThat(status.card()).isNull();
+            assertThat(status.media_attachments()).isNull();
+        });
+        assertThat(full.account().username()).isEqualTo("reinhapa");
+    }
+
+    @Test
+    void applyAfterFailure() {
+        final Account account = Projection.of("id", "moved").apply(() -> {
+            try {
+                codec.fromJson("{\"id\":\"1\",\"moved\":{\"id\":\"2\",\"created_at\":\"invalid\"}}", Account.class);
+            } catch (RuntimeException e) {
+                // expected
+            }
+            return codec.fromJson("{\"id\":\"1\",\"username\":\"reinhapa\"}", Account.class);
+        });
+        assertThat(account.id()).isEqualTo("1");
+        assertThat(account.username()).isNull();
+        assertThat(codec.<Account>fromJson("{\"username\":\"reinhapa\"}", Account.class).username())
+                .isEqualTo("reinhapa");
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.TimelineSync.Timeline;
+import org.mastodon4j.core.api.entities.AccessToken;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimelineSyncTest {
+    LocalServer server;
+    TimelineSync sync;
+    volatile long newest = 100;
+    AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = LocalServer.start().handle("/api/v1/timelines/home", exchange -> {
+            requests.incrementAndGet();
+            final Map<String, String> query = new HashMap<>();
+            final String rawQuery = exchange.getRequestURI().getQuery();
+            if (rawQuery != null) {
+                for (String parameter : rawQuery.split("&")) {
+                    final String[] pair = parameter.split("=", 2);
+                    query.put(pair[0], pair[1]);
+                }
+            }
+            final long since = Long.parseLong(query.getOrDefault("since_id", "0"));
+            final long max = Long.parseLong(query.getOrDefault("max_id", String.valueOf(Long.MAX_VALUE)));
+            final int limit = Integer.parseInt(query.getOrDefault("limit", "20"));
+            LocalServer.respond(exchange, LongStream.iterate(Math.min(newest, max - 1), id -> id > since, id -> id - 1)
+                    .limit(limit)
+                    .mapToObj(id -> "{\"id\":\"" + id + "\"}")
+                    .collect(Collectors.joining(",", "[", "]")));
+        });
+        sync = TimelineSync.builder(MastodonClient.create(server.url(), AccessToken.create("token")))
+                .pageSize(10)
+                .backfillParallelism(3)
+                .build();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    static List<String> ids(int first, int last) {
+        return IntStream.rangeClosed(first, last).mapToObj(String::valueOf).toList();
+    }
+
+    @Test
+    void sync() {
+        final Timeline home = Timeline.home();
+        assertThat(sync.sync(home).map(Status::id)).containsExactlyElementsOf(ids(91, 100));
+        assertThat(sync.newestId(home)).contains("100");
+        assertThat(requests).hasValue(1);
+
+        newest = 105;
+        assertThat(sync.sync(home).map(Status::id)).containsExactlyElementsOf(ids(101, 105));
+        assertThat(requests).hasValue(2);
+
+        assertThat(sync.sync(home)).isEmpty();
+        assertThat(sync.newestId(home)).contains("105");
+    }
+
+    @Test
+    void backfillsGaps() {
+        final Timeline home = Timeline.home();
+        sync.newestId(home, "100");
+        newest = 250;
+        assertThat(sync.sync(home).map(Status::id)).containsExactlyElementsOf(ids(101, 250));
+        assertThat(sync.newestId(home)).contains("250");
+    }
+
+    @Test
+    void limitsBackfill() {
+        final TimelineSync limited = TimelineSync.builder(MastodonClient.create(server.url(),
+                AccessToken.create("token"))).pageSize(10).maxBackfill(30).build();
+        final Timeline home = Timeline.home();
+        limited.newestId(home, "100");
+        newest = 200;
+        final List<String> first = limited.sync(home).map(Status::id).toList();
+        assertThat(first).hasSizeBetween(40, 50).contains("191", "200");
+        assertThat(limited.newestId(home)).contains("200");
+        assertThat(limited.hasGaps(home)).isTrue();
+
+        final List<String> synced = new ArrayList<>(first);
+        for (int i = 0; i < 5 && limited.hasGaps(home); i++) {
+            synced.addAll(limited.sync(home).map(Status::id).toList());
+        }
+        assertThat(limited.hasGaps(home)).isFalse();
+        assertThat(synced).containsExactlyInAnyOrderElementsOf(ids(101, 200));
+        assertThat(limited.newestId(home)).contains("200");
+    }
+
+    @Test
+    void slices() {
+        assertThat(TimelineSync.slices("100", "190", 3)).containsExactly("100", "130", "160", "190");
+        assertThat(TimelineSync.slices("100", "102", 3)).containsExactly("100", "102");
+        assertThat(TimelineSync.slices("9fX", "9fZ", 3)).containsExactly("9fX", "9fZ");
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class MastodonIdTest {
+    static final String ID = "113587391839578112";
+    static final Instant CREATED = Instant.parse("2024-12-03T14:48:32.123Z");
+
+    @Test
+    void parse() {
+        assertThat(MastodonId.parse(ID)).isEqualTo(113587391839578112L);
+        assertThat(MastodonId.parse(String.valueOf(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+        assertThat(MastodonId.of(ID)).isEqualTo(new MastodonId(113587391839578112L)).hasToString(ID);
+        assertThatExceptionOfType(NumberFormatException.class).isThrownBy(() -> MastodonId.parse(""));
+        assertThatExceptionOfType(NumberFormatException.class).isThrownBy(() -> MastodonId.parse("-1"));
+        assertThatExceptionOfType(NumberFormatException.class).isThrownBy(() -> MastodonId.parse("9fX"));
+        assertThatExceptionOfType(NumberFormatException.class)
+                .isThrownBy(() -> MastodonId.parse("9223372036854775808"));
+    }
+
+    @Test
+    void compare() {
+        assertThat(Stream.of("110", "99", ID, "1000", "100").sorted(MastodonId.ORDER))
+                .containsExactly("99", "100", "110", "1000", ID);
+        assertThat(MastodonId.compare(ID, ID)).isZero();
+        assertThat(MastodonId.of("99")).isLessThan(MastodonId.of("100"));
+    }
+
+    @Test
+    void time() {
+        final long id = CREATED.toEpochMilli() << 16 | 42;
+        assertThat(MastodonId.epochMilli(id)).isEqualTo(CREATED.toEpochMilli());
+        assertThat(MastodonId.epochMilli(Long.toString(id))).isEqualTo(CREATED.toEpochMilli());
+        assertThat(new MastodonId(id).instant()).isEqualTo(CREATED);
+        assertThat(MastodonId.of(CREATED).value()).isEqualTo(id - 42);
+    }
+
+    @Test
+    void cursors() {
+        final String created = Long.toString(CREATED.toEpochMilli() << 16 | 42);
+        assertThat(MastodonId.compare(MastodonId.maxId(CREATED), created)).isNegative();
+        assertThat(MastodonId.compare(MastodonId.maxId(CREATED.plusMillis(1)), created)).isPositive();
+        assertThat(MastodonId.compare(MastodonId.minId(CREATED), created)).isNegative();
+        assertThat(MastodonId.compare(MastodonId.minId(CREATED.plusMillis(1)), created)).isPositive();
+    }
+
+    @Test
+    void instantRange() {
+        final Instant last = Instant.ofEpochMilli(Long.MAX_VALUE >>> 16);
+        assertThat(MastodonId.minId(Instant.EPOCH)).isEqualTo("0");
+        assertThat(MastodonId.maxId(Instant.EPOCH)).isEqualTo("0");
+        assertThat(MastodonId.of(last).instant()).isEqualTo(last);
+        assertThat(MastodonId.maxId(last.plusNanos(999_999))).isEqualTo(Long.toString(Long.MAX_VALUE & ~0xFFFFL));
+        for (Instant instant : new Instant[]{Instant.EPOCH.minusMillis(1), last.plusMillis(1), Instant.MAX}) {
+            assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> MastodonId.of(instant));
+            assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> MastodonId.maxId(instant));
+            assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> MastodonId.minId(instant));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class PageTest {
+    AtomicInteger fetches = new AtomicInteger();
+
+    CompletableFuture<Page<Integer>> completed(URI uri) {
+        fetches.incrementAndGet();
+        return CompletableFuture.completedFuture(page(Integer.parseInt(uri.getSchemeSpecificPart()),
+                this::completed));
+    }
+
+    static Page<Integer> page(int number, Function<URI, CompletableFuture<Page<Integer>>> fetcher) {
+        return new Page<>(List.of(number), number < 3 ? URI.create("page:" + (number + 1)) : null, null, fetcher);
+    }
+
+    @Test
+    void completedFetches() {
+        assertThat(page(1, this::completed).stream(1)).containsExactly(1, 2, 3);
+        assertThat(page(1, this::completed).stream(0)).containsExactly(1, 2, 3);
+        assertThat(fetches).hasValue(4);
+    }
+
+    @Test
+    void failedFetches() {
+        final Page<Integer> first = page(1, uri -> {
+            fetches.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("circuit open"));
+        });
+        assertThatIllegalStateException().isThrownBy(() -> first.stream(1).toList()).withMessage("circuit open");
+        assertThatIllegalStateException().isThrownBy(() -> first.stream(0).toList()).withMessage("circuit open");
+        assertThat(fetches).hasValue(3);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.CircuitBreakers.State;
+import org.mastodon4j.core.CircuitBreakers.Transition;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+    static final long FAST = Duration.ofMillis(10).toNanos();
+    static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+    AtomicLong now = new AtomicLong();
+    List<Transition> transitions = new ArrayList<>();
+    CircuitBreaker breaker = new CircuitBreaker("GET /api/v1/accounts/{id}", 4, 4, 0.5, Duration.ofSeconds(1), 0.75,
+            Duration.ofSeconds(30), 2, transitions::add, now::get);
+
+    void call(boolean failed, long duration) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.record(failed, duration);
+    }
+
+    List<State> states() {
+        return transitions.stream().map(Transition::to).toList();
+    }
+
+    @Test
+    void opensOnFailureRate() {
+        call(true, FAST);
+        call(false, FAST);
+        call(false, FAST);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        call(true, FAST);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(transitions).singleElement()
+                .extracting(Transition::endpoint, Transition::from, Transition::to)
+                .containsExactly("GET /api/v1/accounts/{id}", State.CLOSED, State.OPEN);
+    }
+
+    @Test
+    void opensOnSlowCallRate() {
+        call(false, FAST);
+        call(false, SLOW);
+        call(false, FAST);
+        call(false, SLOW);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        call(false, SLOW);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void closesAfterTrialCalls() {
+        for (int i = 0; i < 4; i++) {
+            call(true, FAST);
+        }
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertThat(breaker.tryAcquire()).isFalse();
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+        breaker.record(false, FAST);
+        breaker.record(false, FAST);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        assertThat(states()).containsExactly(State.OPEN, State.HALF_OPEN, State.CLOSED);
+        call(true, FAST);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void reopensOnFailedTrialCall() {
+        for (int i = 0; i < 4; i++) {
+            call(true, FAST);
+        }
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        call(true, FAST);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(states()).containsExactly(State.OPEN, State.HALF_OPEN, State.OPEN);
+    }
+}
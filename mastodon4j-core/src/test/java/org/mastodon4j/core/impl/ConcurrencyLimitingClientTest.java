@@ -0,0 +1,92 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitingClientTest {
+    Request request = Request.create(Request.HttpMethod.GET, "https://localhost/api/v1/timelines/public", Map.of(),
+            null, StandardCharsets.UTF_8, null);
+    Request.Options options = new Request.Options();
+
+    static Response response(Request request) {
+        return Response.builder()
+                .request(request)
+                .status(200)
+                .headers(Map.of())
+                .body(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)), 2)
+                .build();
+    }
+
+    static ConcurrencyLimitingClient client() {
+        final Client client = (request, options) -> response(request);
+        final AsyncClient<Object> asyncClient = (request, options, context) ->
+                CompletableFuture.completedFuture(response(request));
+        return new ConcurrencyLimitingClient(client, asyncClient, 1);
+    }
+
+    @Test
+    void permitHeldUntilBodyClosed() throws Exception {
+        final ConcurrencyLimitingClient client = client();
+        final Response first = client.execute(request, options);
+        final CompletableFuture<Response> second = client.execute(request, options, Optional.empty());
+        assertThat(second).isNotDone();
+        assertThat(client.isIdle(0)).isFalse();
+
+        first.close();
+        first.close();
+        assertThat(second).succeedsWithin(Duration.ofSeconds(1));
+        assertThat(client.isIdle(0)).isFalse();
+
+        try (InputStream body = second.join().body().asInputStream()) {
+            assertThat(body.readAllBytes()).isEqualTo("[]".getBytes(StandardCharsets.UTF_8));
+        }
+        assertThat(client.isIdle(0)).isTrue();
+    }
+
+    @Test
+    void permitReleasedOnFailure() {
+        final ConcurrencyLimitingClient client = new ConcurrencyLimitingClient((request, options) -> {
+            throw new IllegalStateException("failed");
+        }, (request, options, context) -> CompletableFuture.failedFuture(new IllegalStateException("failed")), 1);
+        assertThat(client.execute(request, options, Optional.empty())).isCompletedExceptionally();
+        assertThat(client.isIdle(0)).isTrue();
+    }
+}
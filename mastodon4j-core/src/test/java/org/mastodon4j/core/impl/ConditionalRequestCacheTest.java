@@ -0,0 +1,100 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.Feign;
+import feign.RequestLine;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.Projection;
+import org.mastodon4j.core.api.entities.Instance;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalRequestCacheTest {
+    static final String JSON = "{\"domain\":\"localhost\",\"title\":\"Local\"}";
+
+    List<String> validators = new CopyOnWriteArrayList<>();
+
+    interface Api {
+        @RequestLine("GET /api/v2/instance")
+        Instance instance();
+
+        @RequestLine("GET /api/v2/instance")
+        String raw();
+    }
+
+    Client client() {
+        return (request, options) -> {
+            final String validator = request.headers().containsKey("If-None-Match")
+                    ? request.headers().get("If-None-Match").iterator().next() : "none";
+            validators.add(validator);
+            final Response.Builder response = Response.builder()
+                    .request(request)
+                    .headers(Map.of("ETag", List.of("\"v1\""), "Content-Type",
+                            List.of("application/json; charset=utf-8")));
+            if (validator.equals("\"v1\"")) {
+                return response.status(304).build();
+            }
+            return response.status(200).body(JSON, StandardCharsets.UTF_8).build();
+        };
+    }
+
+    Api api(ConditionalRequestCache cache) {
+        return Feign.builder()
+                .client(cache)
+                .decoder(cache.decoder(new MastodonDecoder(JsonUtil.defaultCodec())))
+                .target(Api.class, "https://localhost");
+    }
+
+    @Test
+    void notModified() {
+        final Api api = api(new ConditionalRequestCache(client(), (AsyncClient<Object>) null, 10));
+
+        final Instance instance = api.instance();
+        assertThat(api.instance()).isSameAs(instance);
+        assertThat(api.raw()).isEqualTo(JSON);
+        assertThat(api.raw()).isEqualTo(JSON);
+        assertThat(validators).containsExactly("none", "\"v1\"", "none", "\"v1\"");
+    }
+
+    @Test
+    void projected() {
+        final Api api = api(new ConditionalRequestCache(client(), (AsyncClient<Object>) null, 10));
+
+        assertThat(Projection.of("domain").apply(api::instance).title()).isNull();
+        assertThat(api.instance().title()).isEqualTo("Local");
+        assertThat(Projection.of("domain").apply(api::instance).title()).isNull();
+        assertThat(validators).containsExactly("none", "none", "none");
+    }
+}
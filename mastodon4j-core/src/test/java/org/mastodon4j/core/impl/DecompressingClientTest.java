@@ -0,0 +1,137 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DecompressingClientTest {
+    static final String JSON = "{\"id\":\"1\",\"content\":\"" + "compressible ".repeat(100) + "\"}";
+
+    AtomicReference<Request> executed = new AtomicReference<>();
+
+    static Request request(Map<String, Collection<String>> headers) {
+        return Request.create(Request.HttpMethod.GET, "https://mastodon.social/api/v1/statuses/1", headers, null,
+                StandardCharsets.UTF_8, null);
+    }
+
+    static byte[] compress(String encoding, boolean nowrap) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = encoding.equals("gzip") ? new GZIPOutputStream(bytes)
+                : new DeflaterOutputStream(bytes, new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap))) {
+            out.write(JSON.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    Client client(String encoding, byte[] body) {
+        return (request, options) -> {
+            executed.set(request);
+            return Response.builder()
+                    .status(200)
+                    .request(request)
+                    .headers(encoding == null ? Map.of() : Map.of("Content-Encoding", List.of(encoding),
+                            "Content-Length", List.of(String.valueOf(body.length))))
+                    .body(body)
+                    .build();
+        };
+    }
+
+    static String body(Response response) throws IOException {
+        try (InputStream in = response.body().asInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    Response execute(String encoding, byte[] body) throws IOException {
+        return new DecompressingClient(client(encoding, body), null).execute(request(Map.of()),
+                new Request.Options());
+    }
+
+    @Test
+    void gzip() throws IOException {
+        final Response response = execute("gzip", compress("gzip", false));
+        assertThat(executed.get().headers()).containsEntry("Accept-Encoding", List.of("gzip, deflate"));
+        assertThat(response.headers()).doesNotContainKeys("Content-Encoding", "Content-Length");
+        assertThat(body(response)).isEqualTo(JSON);
+    }
+
+    @Test
+    void deflate() throws IOException {
+        assertThat(body(execute("deflate", compress("deflate", false)))).isEqualTo(JSON);
+        assertThat(body(execute("Deflate", compress("deflate", true)))).isEqualTo(JSON);
+    }
+
+    @Test
+    void uncompressed() throws IOException {
+        assertThat(body(execute(null, JSON.getBytes(StandardCharsets.UTF_8)))).isEqualTo(JSON);
+        assertThat(body(execute("identity", JSON.getBytes(StandardCharsets.UTF_8)))).isEqualTo(JSON);
+        assertThat(body(execute("gzip", new byte[0]))).isEmpty();
+    }
+
+    @Test
+    void keepsRequestedEncoding() throws IOException {
+        new DecompressingClient(client(null, new byte[0]), null)
+                .execute(request(Map.of("Accept-Encoding", List.of("identity"))), new Request.Options());
+        assertThat(executed.get().headers()).containsEntry("Accept-Encoding", List.of("identity"));
+    }
+
+    @Test
+    void async() throws Exception {
+        final byte[] body = compress("gzip", false);
+        final Client client = client("gzip", body);
+        final AsyncClient<Object> asyncClient = (request, options, context) -> {
+            try {
+                return CompletableFuture.completedFuture(client.execute(request, options));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        };
+        final Response response = new DecompressingClient(null, asyncClient)
+                .execute(request(Map.of()), new Request.Options(), Optional.empty()).get();
+        assertThat(body(response)).isEqualTo(JSON);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.Timelines;
+import org.mastodon4j.core.api.entities.Instance;
+import org.mastodon4j.core.api.entities.Status;
+import org.mastodon4j.core.api.entities.Subscription;
+import org.mastodon4j.core.spi.JsonCodec;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EntityJsonCodecTest {
+    static final String STATUS = """
+            {"id":"109967065377609606","created_at":"2023-03-05T18:31:40.000Z","in_reply_to_id":null,
+             "sensitive":false,"spoiler_text":"","visibility":"public","language":"en","replies_count":2,
+             "content":"<p>Finally got some preparations done 😅</p>","filtered":[],"unknown":{"a":[1,{"b":2}]},
+             "application":{"name":"Web","website":null},"media_attachments":[],"card":null,"poll":null,
+             "account":{"id":"1","username":"reinhapa","locked":false,"created_at":"2022-11-01T00:00:00.000Z",
+                        "followers_count":412,"last_status_at":"2023-03-04",
+                        "emojis":[{"shortcode":"java","url":"https://x/java.png","visible_in_picker":true}],
+                        "fields":[{"name":"Website","value":"reini.net","verified_at":"2022-11-02T08:15:27.301+00:00"},
+                                  {"name":"GitHub","value":"reinhapa","verified_at":null}]},
+             "mentions":[{"id":"2","username":"java","url":"https://x/@java","acct":"java"}],
+             "tags":[{"name":"vdz23","url":"https://x/tags/vdz23"}],"emojis":[],
+             "reblog":{"id":"42","account":{"id":"3"}}}
+            """;
+    static final String INSTANCE = """
+            {"domain":"mastodon.social","usage":{"users":{"active_month":252836}},
+             "thumbnail":{"url":"https://x/1.png","versions":{"@1x":"https://x/1.png","@2x":"https://x/2.png"}},
+             "languages":["en"],"configuration":{"urls":{"streaming":"wss://streaming.mastodon.social"},
+             "statuses":{"max_characters":500},"translation":{"enabled":true}},
+             "registrations":{"enabled":false,"message":null},"rules":[{"id":"1","text":"Be nice"}]}
+            """;
+
+    JsonCodec jsonbCodec = new JsonbCodec();
+    JsonCodec codec = JsonUtil.defaultCodec();
+
+    @Test
+    void generatedCodecsAreUsed() {
+        assertThat(codec).isInstanceOf(EntityJsonCodec.class);
+    }
+
+    @Test
+    void readStatus() {
+        Status status = codec.fromJson(STATUS, Status.class);
+        assertThat(status).isEqualTo(jsonbCodec.fromJson(STATUS, Status.class));
+        assertThat(status.account().emojis().get(0).visible_in_picker()).isEqualTo("true");
+        assertThat(status.reblog().account().id()).isEqualTo("3");
+    }
+
+    @Test
+    void readInstance() {
+        Instance instance = codec.fromJson(new ByteArrayInputStream(INSTANCE.getBytes(StandardCharsets.UTF_8)),
+                Instance.class);
+        assertThat(instance).isEqualTo(jsonbCodec.fromJson(INSTANCE, Instance.class));
+        assertThat(instance.thumbnail().versions()).containsEntry("@2x", "https://x/2.png");
+    }
+
+    @Test
+    void readList() throws Exception {
+        Type type = Timelines.class.getMethod("home").getGenericReturnType();
+        List<Status> statuses = codec.fromJson("[" + STATUS + ", null]", type);
+        assertThat(statuses).containsExactly(jsonbCodec.fromJson(STATUS, Status.class), null);
+    }
+
+    @Test
+    void writeAndReadStatus() {
+        Status status = codec.fromJson(STATUS, Status.class);
+        assertThat(codec.<Status>fromJson(codec.toJson(status), Status.class)).isEqualTo(status);
+    }
+
+    @Test
+    void writeMatchesJsonb() {
+        Status status = codec.fromJson(STATUS, Status.class);
+        Instance instance = codec.fromJson(INSTANCE, Instance.class);
+        Subscription subscription = new Subscription("token", "subscribe", "public", null, null);
+        assertThat(codec.toJson(status)).isEqualTo(jsonbCodec.toJson(status));
+        assertThat(codec.toJson(instance)).isEqualTo(jsonbCodec.toJson(instance));
+        assertThat(codec.toJson(subscription)).isEqualTo(jsonbCodec.toJson(subscription))
+                .isEqualTo("{\"access_token\":\"token\",\"stream\":\"public\",\"type\":\"subscribe\"}");
+        assertThat(jsonbCodec.<Status>fromJson(codec.toJson(status), Status.class)).isEqualTo(status);
+    }
+}
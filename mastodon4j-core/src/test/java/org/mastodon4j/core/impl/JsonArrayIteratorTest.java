@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import jakarta.json.JsonException;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.io.StringReader;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class JsonArrayIteratorTest {
+    static final String STATUSES = "[{\"id\":\"1\",\"account\":{\"id\":\"10\",\"fields\":[]}},{\"id\":\"2\"},{\"id\":\"3\"}]";
+
+    @Test
+    void stream() {
+        try (Stream<Status> statuses = JsonArrayIterator.stream(JsonUtil.defaultCodec(), new StringReader(STATUSES),
+                Status.class)) {
+            assertThat(statuses).extracting(Status::id).containsExactly("1", "2", "3");
+        }
+    }
+
+    @Test
+    void nestedValuesAreDecoded() {
+        Iterator<Status> statuses = JsonArrayIterator.open(JsonUtil.defaultCodec(), new StringReader(STATUSES),
+                Status.class);
+        assertThat(statuses.next().account().id()).isEqualTo("10");
+    }
+
+    @Test
+    void emptyArray() {
+        Iterator<Status> statuses = JsonArrayIterator.open(JsonUtil.defaultCodec(), new StringReader("[]"),
+                Status.class);
+        assertThat(statuses.hasNext()).isFalse();
+    }
+
+    @Test
+    void closesReader() {
+        AtomicBoolean closed = new AtomicBoolean();
+        StringReader reader = new StringReader(STATUSES) {
+            @Override
+            public void close() {
+                closed.set(true);
+                super.close();
+            }
+        };
+        try (Stream<Status> statuses = JsonArrayIterator.stream(JsonUtil.defaultCodec(), reader, Status.class)) {
+            assertThat(statuses.findFirst()).isPresent();
+            assertThat(closed).isFalse();
+        }
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void noArray() {
+        assertThatExceptionOfType(JsonException.class).isThrownBy(() ->
+                JsonArrayIterator.open(JsonUtil.defaultCodec(), new StringReader("{}"), Status.class));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.entities.Event;
+import org.mastodon4j.core.api.entities.Status;
+import org.mastodon4j.core.api.entities.Subscription;
+import org.mastodon4j.core.spi.JsonCodec;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonbCodecTest {
+    JsonCodec codec = new JsonbCodec();
+
+    @Test
+    void defaultCodecIsShared() {
+        assertThat(JsonUtil.defaultCodec()).isSameAs(JsonUtil.defaultCodec());
+    }
+
+    @Test
+    void fromJson() {
+        Status status = codec.fromJson("{\"id\":\"109967065377609606\",\"language\":\"en\",\"unknown\":1}", Status.class);
+        assertThat(status.id()).isEqualTo("109967065377609606");
+        assertThat(status.language()).isEqualTo("en");
+        assertThat(status.account()).isNull();
+    }
+
+    @Test
+    void fromJsonEvent() {
+        Event event = codec.fromJson("{\"stream\":[\"public\"],\"event\":\"delete\",\"payload\":\"1234\"}", Event.class);
+        assertThat(event).isEqualTo(new Event(List.of("public"), "delete", "1234"));
+    }
+
+    @Test
+    void toJson() {
+        assertThat(codec.toJson(new Subscription("token", "subscribe", "public", null, null)))
+                .isEqualTo("{\"access_token\":\"token\",\"stream\":\"public\",\"type\":\"subscribe\"}");
+    }
+}
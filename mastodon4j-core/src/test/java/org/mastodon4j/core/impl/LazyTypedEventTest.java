@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.TypedEvent;
+import org.mastodon4j.core.api.entities.Event;
+import org.mastodon4j.core.api.entities.Status;
+import org.mastodon4j.core.spi.JsonCodec;
+
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyTypedEventTest {
+    AtomicInteger decodeCount = new AtomicInteger();
+    JsonCodec codec = new JsonCodec() {
+        @Override
+        public <T> T fromJson(String json, Type runtimeType) {
+            decodeCount.incrementAndGet();
+            return JsonUtil.defaultCodec().fromJson(json, runtimeType);
+        }
+
+        @Override
+        public <T> T fromJson(Reader reader, Type runtimeType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String toJson(Object object) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    @Test
+    void statusIsDecodedOnce() {
+        TypedEvent event = new LazyTypedEvent(new Event(List.of("public"), "update", "{\"id\":\"42\"}"), codec);
+        assertThat(decodeCount).hasValue(0);
+        assertThat(event.type()).isEqualTo(TypedEvent.Type.UPDATE);
+        assertThat(event.status()).map(Status::id).contains("42");
+        assertThat(event.status().orElseThrow()).isSameAs(event.payload(Status.class));
+        assertThat(event.deletedStatusId()).isEmpty();
+        assertThat(decodeCount).hasValue(1);
+    }
+
+    @Test
+    void delete() {
+        TypedEvent event = new LazyTypedEvent(new Event(List.of("public"), "delete", "42"), codec);
+        assertThat(event.type()).isEqualTo(TypedEvent.Type.DELETE);
+        assertThat(event.deletedStatusId()).contains("42");
+        assertThat(event.status()).isEmpty();
+        assertThat(decodeCount).hasValue(0);
+    }
+
+    @Test
+    void unknownType() {
+        TypedEvent event = new LazyTypedEvent(new Event(List.of("user"), "something.new", null), codec);
+        assertThat(event.type()).isEqualTo(TypedEvent.Type.UNKNOWN);
+        assertThat(event.payload(Status.class)).isNull();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.Timelines;
+import org.mastodon4j.core.api.entities.Status;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.list;
+
+class MastodonDecoderTest {
+    MastodonDecoder decoder = new MastodonDecoder(JsonUtil.defaultCodec());
+
+    static Response response(int status, String body, Map<String, Collection<String>> headers) {
+        return Response.builder()
+                .status(status)
+                .request(Request.create(Request.HttpMethod.GET, "https://mastodon.social/api/v1/timelines/home",
+                        Map.of(), null, StandardCharsets.UTF_8, null))
+                .headers(headers)
+                .body(body, StandardCharsets.UTF_8)
+                .build();
+    }
+
+    static Type returnType(String methodName) throws NoSuchMethodException {
+        return Timelines.class.getMethod(methodName).getGenericReturnType();
+    }
+
+    @Test
+    void decodeString() throws Exception {
+        assertThat(decoder.decode(response(200, "OK", Map.of()), String.class)).isEqualTo("OK");
+    }
+
+    @Test
+    void decodeEntity() throws Exception {
+        assertThat(decoder.decode(response(200, "{\"id\":\"1\",\"content\":\"ä\"}", Map.of()), Status.class))
+                .isInstanceOfSatisfying(Status.class, status -> assertThat(status.content()).isEqualTo("ä"));
+    }
+
+    @Test
+    void decodeLatin1Entity() throws Exception {
+        Response response = Response.builder()
+                .status(200)
+                .request(Request.create(Request.HttpMethod.GET, "https://mastodon.social/api/v1/statuses/1",
+                        Map.of(), null, StandardCharsets.UTF_8, null))
+                .headers(Map.of("Content-Type", List.of("application/json; charset=ISO-8859-1")))
+                .body("{\"id\":\"1\",\"content\":\"ä\"}".getBytes(StandardCharsets.ISO_8859_1))
+                .build();
+        assertThat(decoder.decode(response, Status.class))
+                .isInstanceOfSatisfying(Status.class, status -> assertThat(status.content()).isEqualTo("ä"));
+    }
+
+    @Test
+    void decodeList() throws Exception {
+        assertThat(decoder.decode(response(200, "[{\"id\":\"1\"},{\"id\":\"2\"}]", Map.of()), returnType("home")))
+                .asInstanceOf(list(Status.class))
+                .extracting(Status::id).containsExactly("1", "2");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void decodeStream() throws Exception {
+        try (Stream<Status> statuses = (Stream<Status>) decoder.decode(response(200, "[{\"id\":\"1\"},{\"id\":\"2\"}]",
+                Map.of()), returnType("homeStream"))) {
+            assertThat(statuses).extracting(Status::id).containsExactly("1", "2");
+        }
+    }
+
+    @Test
+    void decodeNotFound() throws Exception {
+        assertThat(decoder.decode(response(404, "", Map.of()), returnType("home"))).isEqualTo(List.of());
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.Lists;
+import org.mastodon4j.core.api.Page;
+import org.mastodon4j.core.api.entities.Account;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageDecoderTest {
+    static final String URL = "https://mastodon.social/api/v1/lists/7/accounts";
+
+    AtomicInteger requests = new AtomicInteger();
+    PageDecoder decoder = new PageDecoder(new MastodonDecoder(JsonUtil.defaultCodec()));
+
+    static Type pageType() throws NoSuchMethodException {
+        return Lists.class.getMethod("accountsPage", String.class).getGenericReturnType();
+    }
+
+    static Response response(int status, String link) {
+        return Response.builder()
+                .status(status)
+                .request(Request.create(Request.HttpMethod.GET, URL, Map.of("Authorization", List.of("Bearer token")),
+                        null, StandardCharsets.UTF_8, null))
+                .headers(Map.of("Link", List.of(link), "Content-Type", List.of("application/json; charset=utf-8")))
+                .body(status == 200 ? "[{\"id\":\"1\"}]" : "{\"error\":\"Record not found\"}", StandardCharsets.UTF_8)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    Page<Account> decode(String link, int nextStatus) throws Exception {
+        decoder.requests(uri -> {
+            requests.incrementAndGet();
+            return CompletableFuture.completedFuture(response(nextStatus, ""));
+        });
+        return (Page<Account>) decoder.decode(response(200, link), pageType());
+    }
+
+    @Test
+    void nextPage() throws Exception {
+        final Page<Account> page = decode("<" + URL + "?max_id=1>; rel=\"next\"", 200);
+        assertThat(page.items()).extracting(Account::id).containsExactly("1");
+        assertThat(page.next().items()).extracting(Account::id).containsExactly("1");
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void notFound() throws Exception {
+        final Page<Account> page = decode("<" + URL + "?max_id=1>; rel=\"next\"", 404);
+        assertThat(page.nextAsync()).failsWithin(Duration.ZERO).withThrowableThat()
+                .havingCause().isInstanceOf(FeignException.NotFound.class);
+    }
+
+    @Test
+    void rejectsOtherServers() throws Exception {
+        final Page<Account> page = decode("<https://evil.example/api/v1/lists/7/accounts?max_id=1>; rel=\"next\"",
+                200);
+        assertThat(page.nextAsync()).failsWithin(Duration.ZERO).withThrowableThat()
+                .havingCause().isInstanceOf(IllegalArgumentException.class);
+        assertThat(page.pageAsync(URI.create("http://mastodon.social/api/v1/lists/7/accounts")))
+                .isCompletedExceptionally();
+        assertThat(page.pageAsync(URI.create("https://mastodon.social:443/api/v1/lists/7/accounts")))
+                .isCompleted();
+        assertThat(requests).hasValue(1);
+    }
+}
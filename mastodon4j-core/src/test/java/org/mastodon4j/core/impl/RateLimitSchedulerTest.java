@@ -0,0 +1,112 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.RateLimits.Budget;
+import org.mastodon4j.core.RateLimits.Category;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitSchedulerTest {
+    static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    AtomicLong nanos = new AtomicLong();
+    RateLimitScheduler scheduler = new RateLimitScheduler(2, nanos::get, () -> NOW);
+
+    static Request request(Request.HttpMethod method, String path) {
+        return Request.create(method, "https://mastodon.social" + path,
+                Map.of("Authorization", List.of("Bearer token")), null, StandardCharsets.UTF_8, null);
+    }
+
+    static Response response(Request request, int status, int remaining, Instant reset) {
+        final Map<String, Collection<String>> headers = Map.of(
+                "X-RateLimit-Limit", List.of("300"),
+                "X-RateLimit-Remaining", List.of(String.valueOf(remaining)),
+                "X-RateLimit-Reset", List.of(reset.toString()));
+        return Response.builder().request(request).status(status).headers(headers).build();
+    }
+
+    @Test
+    void category() {
+        assertThat(RateLimitScheduler.category(request(Request.HttpMethod.GET, "/api/v1/statuses/1")))
+                .isEqualTo(Category.DEFAULT);
+        assertThat(RateLimitScheduler.category(request(Request.HttpMethod.POST, "/api/v2/media")))
+                .isEqualTo(Category.MEDIA_UPLOADS);
+        assertThat(RateLimitScheduler.category(request(Request.HttpMethod.DELETE, "/api/v1/statuses/1")))
+                .isEqualTo(Category.STATUS_DELETIONS);
+        assertThat(RateLimitScheduler.category(request(Request.HttpMethod.POST, "/api/v1/statuses/1/unreblog")))
+                .isEqualTo(Category.STATUS_DELETIONS);
+    }
+
+    @Test
+    void unknownBudget() {
+        final Request request = request(Request.HttpMethod.GET, "/api/v1/timelines/home");
+        assertThat(scheduler.reserve(request)).isZero();
+        assertThat(scheduler.budget("Bearer token", Category.DEFAULT)).isEmpty();
+    }
+
+    @Test
+    void pacing() {
+        final Request request = request(Request.HttpMethod.GET, "/api/v1/timelines/home");
+        scheduler.update(response(request, 200, 10, NOW.plusSeconds(10)));
+        assertThat(scheduler.budget("Bearer token", Category.DEFAULT))
+                .contains(new Budget(300, 10, NOW.plusSeconds(10)));
+        assertThat(scheduler.budget("Bearer token", Category.MEDIA_UPLOADS)).isEmpty();
+
+        // a burst of two requests, then one request per second
+        assertThat(scheduler.reserve(request)).isZero();
+        assertThat(scheduler.reserve(request)).isZero();
+        assertThat(scheduler.reserve(request)).isEqualTo(Duration.ofSeconds(1).toNanos());
+        assertThat(scheduler.budget("Bearer token", Category.DEFAULT).map(Budget::remaining)).contains(7);
+
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(scheduler.reserve(request)).isZero();
+    }
+
+    @Test
+    void exhausted() {
+        final Request request = request(Request.HttpMethod.GET, "/api/v1/timelines/home");
+        scheduler.update(response(request, 429, 0, NOW.plusSeconds(30)));
+        assertThat(scheduler.reserve(request)).isEqualTo(Duration.ofSeconds(30).toNanos());
+        assertThat(scheduler.reserve(request)).isEqualTo(Duration.ofSeconds(30).toNanos());
+
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(scheduler.budget("Bearer token", Category.DEFAULT).map(Budget::remaining)).contains(298);
+        assertThat(scheduler.reserve(request)).isZero();
+        assertThat(scheduler.budget("Bearer token", Category.DEFAULT).map(Budget::remaining)).contains(297);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.AsyncClient;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class ResilientClientTest {
+    static final Request.Options OPTIONS = new Request.Options();
+
+    AtomicInteger calls = new AtomicInteger();
+
+    static Request request(Request.HttpMethod method) {
+        return Request.create(method, "https://mastodon.social/api/v1/timelines/home", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+    }
+
+    static Response response(Request request, int status, Map<String, Collection<String>> headers) {
+        return Response.builder().request(request).status(status).headers(headers).build();
+    }
+
+    ResilientClient client(Client client, AsyncClient<Object> asyncClient, Duration minHedgeDelay) {
+        return new ResilientClient(client, asyncClient, 3, Duration.ofMillis(1), Duration.ofSeconds(1),
+                minHedgeDelay);
+    }
+
+    @Test
+    void retries() throws IOException {
+        final Client client = (request, options) -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new IOException("reset");
+            } else if (calls.get() == 2) {
+                return response(request, 503, Map.of("Retry-After", List.of("0")));
+            }
+            return response(request, 200, Map.of());
+        };
+        final ResilientClient resilientClient = client(client, null, null);
+        assertThat(resilientClient.execute(request(Request.HttpMethod.GET), OPTIONS).status()).isEqualTo(200);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void attemptsExhausted() {
+        final Client client = (request, options) -> {
+            calls.incrementAndGet();
+            throw new IOException("reset");
+        };
+        final ResilientClient resilientClient = client(client, null, null);
+        assertThatIOException().isThrownBy(() -> resilientClient.execute(request(Request.HttpMethod.GET), OPTIONS))
+                .withMessage("reset");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void notRetried() throws IOException {
+        final Client client = (request, options) -> {
+            calls.incrementAndGet();
+            return response(request, request.httpMethod() == Request.HttpMethod.GET ? 429 : 503,
+                    Map.of("Retry-After", List.of("60")));
+        };
+        final ResilientClient resilientClient = client(client, null, null);
+        assertThat(resilientClient.execute(request(Request.HttpMethod.GET), OPTIONS).status()).isEqualTo(429);
+        assertThat(resilientClient.execute(request(Request.HttpMethod.POST), OPTIONS).status()).isEqualTo(503);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void asyncRetries() {
+        final AsyncClient<Object> asyncClient = (request, options, context) -> calls.incrementAndGet() == 1
+                ? CompletableFuture.failedFuture(new IOException("reset"))
+                : CompletableFuture.completedFuture(response(request, 200, Map.of()));
+        final ResilientClient resilientClient = client(null, asyncClient, null);
+        assertThat(resilientClient.execute(request(Request.HttpMethod.GET), OPTIONS, Optional.empty()).join()
+                .status()).isEqualTo(200);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void hedging() throws IOException {
+        final CompletableFuture<Response> stalled = new CompletableFuture<>();
+        final AsyncClient<Object> asyncClient = (request, options, context) -> calls.incrementAndGet() == 21
+                ? stalled : CompletableFuture.completedFuture(response(request, 200, Map.of()));
+        final ResilientClient resilientClient = client(null, asyncClient, Duration.ofMillis(10));
+        for (int i = 0; i < 20; i++) {
+            assertThat(resilientClient.execute(request(Request.HttpMethod.GET), OPTIONS).status()).isEqualTo(200);
+        }
+        assertThat(calls).hasValue(20);
+        assertThat(resilientClient.execute(request(Request.HttpMethod.GET), OPTIONS).status()).isEqualTo(200);
+        assertThat(calls).hasValue(22);
+        assertThat(stalled).isNotDone();
+    }
+
+    @Test
+    void retryAfter() {
+        final Request request = request(Request.HttpMethod.GET);
+        assertThat(ResilientClient.retryAfter(response(request, 429, Map.of()))).isZero();
+        assertThat(ResilientClient.retryAfter(response(request, 429, Map.of("Retry-After", List.of("5")))))
+                .isEqualTo(Duration.ofSeconds(5).toNanos());
+        assertThat(ResilientClient.retryAfter(response(request, 429,
+                Map.of("Retry-After", List.of("Wed, 21 Oct 2015 07:28:00 GMT"))))).isZero();
+    }
+}
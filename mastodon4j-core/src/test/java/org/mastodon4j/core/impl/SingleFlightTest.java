@@ -0,0 +1,180 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import feign.AsyncClient;
+import feign.AsyncFeign;
+import feign.Client;
+import feign.Feign;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mastodon4j.core.api.Accounts;
+import org.mastodon4j.core.api.AsyncAccounts;
+import org.mastodon4j.core.api.entities.Account;
+
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+    static final String URL = "https://localhost";
+
+    SingleFlight singleFlight = new SingleFlight(() -> "Bearer token");
+    AtomicInteger requests = new AtomicInteger();
+    CountDownLatch responses = new CountDownLatch(1);
+    ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void stop() {
+        responses.countDown();
+        executor.shutdownNow();
+    }
+
+    Response respond(Request request) throws InterruptedIOException {
+        requests.incrementAndGet();
+        try {
+            responses.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        final String id = request.url().substring(request.url().lastIndexOf('/') + 1);
+        return Response.builder()
+                .request(request)
+                .status(200)
+                .headers(Map.of("Content-Type", List.of("application/json; charset=utf-8")))
+                .body("{\"id\":\"" + id + "\"}", StandardCharsets.UTF_8)
+                .build();
+    }
+
+    Accounts accounts() {
+        final Client client = (request, options) -> respond(request);
+        return Feign.builder()
+                .client(client)
+                .decoder(new MastodonDecoder(JsonUtil.defaultCodec()))
+                .invocationHandlerFactory(singleFlight)
+                .target(Accounts.class, URL);
+    }
+
+    static void await(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    void shared() throws Exception {
+        final Accounts accounts = accounts();
+        final List<Future<Account>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(executor.submit(() -> accounts.get("1")));
+        }
+        await(() -> singleFlight.waiting() == 4);
+        assertThat(singleFlight.inFlight()).isEqualTo(1);
+        responses.countDown();
+
+        final Account account = futures.get(0).get();
+        assertThat(account.id()).isEqualTo("1");
+        for (Future<Account> future : futures) {
+            assertThat(future.get()).isSameAs(account);
+        }
+        assertThat(requests).hasValue(1);
+        assertThat(singleFlight.inFlight()).isZero();
+        assertThat(singleFlight.waiting()).isZero();
+        assertThat(accounts.get("1")).isNotSameAs(account);
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void sharedAsync() {
+        final AsyncClient<Object> client = (request, options, context) ->
+                CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return respond(request);
+                    } catch (InterruptedIOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, executor);
+        final AsyncAccounts accounts = AsyncFeign.builder()
+                .client(client)
+                .decoder(new MastodonDecoder(JsonUtil.defaultCodec()))
+                .invocationHandlerFactory(singleFlight)
+                .target(AsyncAccounts.class, URL);
+        final CompletableFuture<Account> first = accounts.get("1");
+        final CompletableFuture<Account> second = accounts.get("1");
+        final CompletableFuture<Account> other = accounts.get("2");
+        assertThat(singleFlight.inFlight()).isEqualTo(2);
+        responses.countDown();
+        assertThat(second.join()).isSameAs(first.join());
+        assertThat(other.join().id()).isEqualTo("2");
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void interruptedWaiter() throws Exception {
+        final Accounts accounts = accounts();
+        final Future<Account> first = executor.submit(() -> accounts.get("1"));
+        await(() -> requests.get() == 1);
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        final CompletableFuture<Throwable> failure = new CompletableFuture<>();
+        final Thread waiter = new Thread(() -> {
+            try {
+                accounts.get("1");
+            } catch (RuntimeException e) {
+                interrupted.set(Thread.currentThread().isInterrupted());
+                failure.complete(e);
+            }
+        });
+        waiter.start();
+        await(() -> singleFlight.waiting() == 1);
+        waiter.interrupt();
+        waiter.join();
+
+        assertThat(failure).isCompletedWithValueMatching(IllegalStateException.class::isInstance);
+        assertThat(interrupted).isTrue();
+        assertThat(singleFlight.waiting()).isZero();
+        responses.countDown();
+        assertThat(first.get().id()).isEqualTo("1");
+    }
+}
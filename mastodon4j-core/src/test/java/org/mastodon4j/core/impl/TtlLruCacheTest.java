@@ -0,0 +1,157 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.core.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
+
+class TtlLruCacheTest {
+    AtomicLong now = new AtomicLong();
+    AtomicInteger loads = new AtomicInteger();
+
+    String load(String key) {
+        loads.incrementAndGet();
+        return key.equals("missing") ? null : key.toUpperCase();
+    }
+
+    @Test
+    void get() {
+        final TtlLruCache<String> cache = new TtlLruCache<>(10, Duration.ofSeconds(1), now::get);
+        assertThat(cache.get("a", this::load)).isEqualTo("A");
+        assertThat(cache.get("a", this::load)).isEqualTo("A");
+        assertThat(cache.get("missing", this::load)).isNull();
+        assertThat(cache.get("missing", this::load)).isNull();
+        assertThat(loads).hasValue(3);
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(3);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void getAll() {
+        final TtlLruCache<String> cache = new TtlLruCache<>(10, Duration.ofSeconds(1), now::get);
+        cache.get("a", this::load);
+        final List<List<String>> batches = new ArrayList<>();
+        final Map<String, String> values = cache.getAll(List.of("b", "a", "missing", "b"), keys -> {
+            batches.add(keys);
+            final Map<String, String> loaded = new HashMap<>();
+            keys.forEach(key -> loaded.put(key, load(key)));
+            return loaded;
+        });
+        assertThat(values).containsExactly(entry("b", "B"), entry("a", "A"));
+        assertThat(batches).containsExactly(List.of("b", "missing"));
+        assertThat(cache.get("b", this::load)).isEqualTo("B");
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void expiry() {
+        final TtlLruCache<String> cache = new TtlLruCache<>(10, Duration.ofSeconds(1), now::get);
+        cache.get("a", this::load);
+        now.addAndGet(Duration.ofMillis(999).toNanos());
+        cache.get("a", this::load);
+        now.addAndGet(Duration.ofMillis(1).toNanos());
+        cache.get("a", this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void eviction() {
+        final TtlLruCache<String> cache = new TtlLruCache<>(1, Duration.ofSeconds(1), now::get);
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        cache.get("a", this::load);
+        assertThat(loads).hasValue(3);
+        assertThat(cache.evictions()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+
+        final TtlLruCache<String> large = new TtlLruCache<>(1000, Duration.ofSeconds(1), now::get);
+        for (int i = 0; i < 2000; i++) {
+            large.get(String.valueOf(i), this::load);
+        }
+        assertThat(large.size()).isLessThanOrEqualTo(1000).isGreaterThan(900);
+    }
+
+    @Test
+    void invalidate() {
+        final TtlLruCache<String> cache = new TtlLruCache<>(10, Duration.ofSeconds(1), now::get);
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        cache.invalidate("a");
+        assertThat(cache.size()).isEqualTo(1);
+        cache.invalidateAll();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void invalidateDuringLoad() throws Exception {
+        final TtlLruCache<String> cache = new TtlLruCache<>(10, Duration.ofSeconds(1), now::get);
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch invalidated = new CountDownLatch(1);
+        final CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> cache.get("a", key -> {
+            loading.countDown();
+            try {
+                invalidated.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "stale";
+        }));
+        loading.await();
+        cache.invalidate("a");
+        invalidated.countDown();
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("a", this::load)).isEqualTo("A");
+
+        final Map<String, String> loaded = cache.getAll(List.of("b"), keys -> {
+            cache.invalidateAll();
+            return Map.of("b", "stale");
+        });
+        assertThat(loaded).containsExactly(entry("b", "stale"));
+        assertThat(cache.get("b", this::load)).isEqualTo("B");
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new TtlLruCache<>(0, Duration.ofSeconds(1)));
+        assertThatIllegalArgumentException().isThrownBy(() -> new TtlLruCache<>(1, Duration.ZERO));
+    }
+}
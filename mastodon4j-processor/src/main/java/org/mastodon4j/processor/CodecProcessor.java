@@ -0,0 +1,131 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates the entity codecs requested by {@code org.mastodon4j.core.spi.GenerateCodecs} package annotations.
+ */
+@SupportedAnnotationTypes(CodecProcessor.GENERATE_CODECS)
+public class CodecProcessor extends AbstractProcessor {
+    static final String GENERATE_CODECS = "org.mastodon4j.core.spi.GenerateCodecs";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof PackageElement packageElement) {
+                    generate(packageElement, annotationValues(packageElement));
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, AnnotationValue> annotationValues(PackageElement packageElement) {
+        final Map<String, AnnotationValue> values = new HashMap<>();
+        for (AnnotationMirror mirror : packageElement.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(GENERATE_CODECS)) {
+                mirror.getElementValues().forEach((key, value) -> values.put(key.getSimpleName().toString(), value));
+            }
+        }
+        return values;
+    }
+
+    private static Set<String> deduplicatedRecords(Map<String, AnnotationValue> values) {
+        final Set<String> records = new HashSet<>();
+        final AnnotationValue deduplicate = values.get("deduplicate");
+        if (deduplicate != null && deduplicate.getValue() instanceof List<?> types) {
+            for (Object type : types) {
+                if (((AnnotationValue) type).getValue() instanceof DeclaredType declaredType) {
+                    records.add(((TypeElement) declaredType.asElement()).getQualifiedName().toString());
+                }
+            }
+        }
+        return records;
+    }
+
+    private void generate(PackageElement packageElement, Map<String, AnnotationValue> values) {
+        if (values.get("value") == null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "No generated class name defined", packageElement);
+            return;
+        }
+        final String className = values.get("value").getValue().toString();
+        final List<TypeElement> records = new ArrayList<>();
+        packageElement.getEnclosedElements().forEach(element -> collectRecords(element, records));
+        final CodecWriter codecWriter = new CodecWriter(className, records, deduplicatedRecords(values));
+        if (!codecWriter.validate(processingEnv.getMessager())) {
+            return;
+        }
+        try {
+            final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(className,
+                    records.toArray(new Element[0]));
+            try (Writer writer = sourceFile.openWriter()) {
+                codecWriter.write(writer);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + className + ": " + e.getMessage(), packageElement);
+        }
+    }
+
+    private static void collectRecords(Element element, List<TypeElement> records) {
+        if (element.getKind() == ElementKind.RECORD) {
+            records.add((TypeElement) element);
+        }
+        if (element.getKind().isClass() || element.getKind().isInterface()) {
+            element.getEnclosedElements().forEach(enclosed -> collectRecords(enclosed, records));
+        }
+    }
+}
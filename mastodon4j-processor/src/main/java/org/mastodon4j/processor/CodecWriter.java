@@ -0,0 +1,267 @@
+/*
+ * SPDX-License-Identifier: MIT
+ *
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2023-2025 Mastodon4J
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.mastodon4j.processor;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the source of a class containing the codecs of a set of records.
+ */
+final class CodecWriter {
+    private static final String SUPPORT = "org.mastodon4j.core.impl.CodecSupport";
+    private static final Map<String, String> BASIC_TYPES = Map.of(
+            "java.lang.String", "String",
+            "java.lang.Boolean", "Boolean",
+            "java.lang.Integer", "Integer",
+            "java.lang.Long", "Long",
+            "java.lang.Double", "Double",
+            "java.time.ZonedDateTime", "ZonedDateTime");
+
+    private final String packageName;
+    private final String simpleName;
+    private final Map<String, TypeElement> records;
+    private final Set<String> deduplicated;
+    private final StringBuilder source;
+
+    CodecWriter(String className, List<TypeElement> records, Set<String> deduplicated) {
+        final int lastDot = className.lastIndexOf('.');
+        this.packageName = className.substring(0, lastDot);
+        this.simpleName = className.substring(lastDot + 1);
+        this.records = records.stream().collect(Collectors.toMap(record -> record.getQualifiedName().toString(),
+                record -> record, (first, second) -> first, LinkedHashMap::new));
+        this.deduplicated = deduplicated;
+        this.source = new StringBuilder();
+    }
+
+    /**
+     * Checks that all record components have a supported type.
+     *
+     * @param messager the messager to report unsupported types to
+     * @return {@code true} if all types are supported
+     */
+    boolean validate(Messager messager) {
+        boolean valid = true;
+        for (TypeElement record : records.values()) {
+            for (RecordComponentElement component : record.getRecordComponents()) {
+                if (!isSupported(component.asType())) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Unsupported codec type " + component.asType(),
+                            component);
+                    valid = false;
+                }
+            }
+        }
+        for (String name : deduplicated) {
+            if (!records.containsKey(name)) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Unable to deduplicate " + name
+                        + ", no record of the annotated package");
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    void write(Writer writer) throws IOException {
+        line("// Generated by org.mastodon4j.processor.CodecProcessor, do not edit");
+        line("package %s;", packageName);
+        line("");
+        line("import jakarta.json.stream.JsonGenerator;");
+        line("import jakarta.json.stream.JsonParser;");
+        line("import org.mastodon4j.core.Projection;");
+        line("import %s;", SUPPORT);
+        line("import org.mastodon4j.core.spi.EntityCodec;");
+        line("");
+        line("import java.util.List;");
+        line("");
+        line("public final class %s {", simpleName);
+        line("    private static final List<EntityCodec<?>> CODECS = List.of(");
+        line(records.values().stream()
+                .map(record -> String.format("            CodecSupport.codec(%s.class, %s::read%s, %s::write%s)",
+                        record.getQualifiedName(), simpleName, methodSuffix(record), simpleName, methodSuffix(record)))
+                .collect(Collectors.joining(",\n")) + ");");
+        line("");
+        line("    private %s() {", simpleName);
+        line("    }");
+        line("");
+        line("    public static List<EntityCodec<?>> codecs() {");
+        line("        return CODECS;");
+        line("    }");
+        for (TypeElement record : records.values()) {
+            writeReader(record);
+            writeWriter(record);
+        }
+        line("}");
+        writer.write(source.toString());
+    }
+
+    private void writeReader(TypeElement record) {
+        final List<? extends RecordComponentElement> components = record.getRecordComponents();
+        line("");
+        line("    static %s read%s(JsonParser parser) {", record.getQualifiedName(), methodSuffix(record));
+        line("        if (!CodecSupport.startObject(parser)) {");
+        line("            return null;");
+        line("        }");
+        for (RecordComponentElement component : components) {
+            line("        %s _%s = null;", typeName(component.asType()), component.getSimpleName());
+        }
+        line("        final Projection projection = CodecSupport.projection();");
+        line("        for (String key = CodecSupport.nextKey(parser, projection); key != null;");
+        line("             key = CodecSupport.nextKey(parser, projection)) {");
+        line("            switch (key) {");
+        for (RecordComponentElement component : components) {
+            line("                case \"%s\" -> _%s = %s;", component.getSimpleName(), component.getSimpleName(),
+                    readCall(component.asType(), "parser", 1));
+        }
+        line("                default -> CodecSupport.skipValue(parser);");
+        line("            }");
+        line("        }");
+        final String instance = String.format("new %s(%s)", record.getQualifiedName(), components.stream()
+                .map(component -> "_" + component.getSimpleName())
+                .collect(Collectors.joining(", ")));
+        if (deduplicated.contains(record.getQualifiedName().toString())) {
+            line("        return CodecSupport.deduplicate(%s);", instance);
+        } else {
+            line("        return %s;", instance);
+        }
+        line("    }");
+    }
+
+    private void writeWriter(TypeElement record) {
+        line("");
+        line("    static void write%s(JsonGenerator generator, %s value) {", methodSuffix(record),
+                record.getQualifiedName());
+        line("        generator.writeStartObject();");
+        // the properties are written in lexicographical order omitting null values, like Yasson does by default
+        record.getRecordComponents().stream()
+                .sorted(Comparator.comparing(component -> component.getSimpleName().toString()))
+                .forEach(component -> line("        CodecSupport.writeProperty(generator, \"%s\", value.%s(), %s);",
+                        component.getSimpleName(), component.getAccessor().getSimpleName(),
+                        writerReference(component.asType(), 1)));
+        line("        generator.writeEnd();");
+        line("    }");
+    }
+
+    private boolean isSupported(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        final String name = qualifiedName(type);
+        final List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        if ("java.util.List".equals(name)) {
+            return arguments.size() == 1 && isSupported(arguments.get(0));
+        } else if ("java.util.Map".equals(name)) {
+            return arguments.size() == 2 && "java.lang.String".equals(qualifiedName(arguments.get(0)))
+                    && isSupported(arguments.get(1));
+        }
+        return BASIC_TYPES.containsKey(name) || records.containsKey(name);
+    }
+
+    private String readCall(TypeMirror type, String parser, int depth) {
+        final String name = qualifiedName(type);
+        final List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        if ("java.util.List".equals(name)) {
+            return String.format("CodecSupport.readList(%s, %s)", parser, readerReference(arguments.get(0), depth));
+        } else if ("java.util.Map".equals(name)) {
+            return String.format("CodecSupport.readMap(%s, %s)", parser, readerReference(arguments.get(1), depth));
+        } else if (BASIC_TYPES.containsKey(name)) {
+            return String.format("CodecSupport.read%s(%s)", BASIC_TYPES.get(name), parser);
+        }
+        return String.format("read%s(%s)", methodSuffix(records.get(name)), parser);
+    }
+
+    private String readerReference(TypeMirror type, int depth) {
+        final String name = qualifiedName(type);
+        if (BASIC_TYPES.containsKey(name)) {
+            return "CodecSupport::read" + BASIC_TYPES.get(name);
+        } else if (records.containsKey(name)) {
+            return simpleName + "::read" + methodSuffix(records.get(name));
+        }
+        final String parser = "parser" + depth;
+        return parser + " -> " + readCall(type, parser, depth + 1);
+    }
+
+    private String writerReference(TypeMirror type, int depth) {
+        final String name = qualifiedName(type);
+        final List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        if (BASIC_TYPES.containsKey(name)) {
+            return "CodecSupport::write" + BASIC_TYPES.get(name);
+        } else if (records.containsKey(name)) {
+            return simpleName + "::write" + methodSuffix(records.get(name));
+        }
+        final String generator = "generator" + depth;
+        final String value = "value" + depth;
+        final String method = "java.util.List".equals(name) ? "writeList" : "writeMap";
+        final TypeMirror valueType = arguments.get(arguments.size() - 1);
+        return String.format("(%s, %s) -> CodecSupport.%s(%s, %s, %s)", generator, value, method, generator, value,
+                writerReference(valueType, depth + 1));
+    }
+
+    private String typeName(TypeMirror type) {
+        final List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        if (arguments.isEmpty()) {
+            return qualifiedName(type);
+        }
+        return qualifiedName(type) + arguments.stream()
+                .map(this::typeName)
+                .collect(Collectors.joining(", ", "<", ">"));
+    }
+
+    private static String qualifiedName(TypeMirror type) {
+        return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+    }
+
+    private static String methodSuffix(TypeElement record) {
+        final String packageName = packageOf(record).getQualifiedName().toString();
+        return record.getQualifiedName().toString().substring(packageName.length() + 1).replace(".", "");
+    }
+
+    private static PackageElement packageOf(Element element) {
+        Element current = element;
+        while (!(current instanceof PackageElement)) {
+            current = current.getEnclosingElement();
+        }
+        return (PackageElement) current;
+    }
+
+    private void line(String format, Object... arguments) {
+        source.append(arguments.length == 0 ? format : String.format(format, arguments)).append('\n');
+    }
+}